@@ -0,0 +1,151 @@
+package io.respondnow.benchmarks;
+
+import io.respondnow.model.incident.ChangeType;
+import io.respondnow.model.incident.Channel;
+import io.respondnow.model.incident.ChannelSource;
+import io.respondnow.model.incident.ChannelStatus;
+import io.respondnow.model.incident.Environment;
+import io.respondnow.model.incident.Incident;
+import io.respondnow.model.incident.IncidentChannel;
+import io.respondnow.model.incident.IncidentChannelType;
+import io.respondnow.model.incident.Role;
+import io.respondnow.model.incident.RoleType;
+import io.respondnow.model.incident.Service;
+import io.respondnow.model.incident.Severity;
+import io.respondnow.model.incident.Slack;
+import io.respondnow.model.incident.Status;
+import io.respondnow.model.incident.Timeline;
+import io.respondnow.model.incident.Type;
+import io.respondnow.model.user.UserDetails;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.bson.types.ObjectId;
+
+/** Builds incidents shaped like the ones created through Slack, with a configurable size. */
+final class Fixtures {
+
+  static final long CREATED_AT = 1_717_200_000L;
+
+  private static final ChangeType[] TIMELINE_TYPES = {
+    ChangeType.Comment, ChangeType.Status, ChangeType.Severity, ChangeType.Summary, ChangeType.Roles
+  };
+
+  private Fixtures() {}
+
+  static UserDetails user(int i) {
+    UserDetails user = new UserDetails();
+    user.setUserId("U" + String.format("%08d", i));
+    user.setUserName("responder" + i);
+    user.setEmail("responder" + i + "@example.com");
+    user.setName("Responder " + i);
+    user.setSource(ChannelSource.Slack);
+    return user;
+  }
+
+  /** Returns roles alternating between the role types, each held by a different user. */
+  static List<Role> roles(int count, int firstUser) {
+    RoleType[] types = RoleType.values();
+    List<Role> roles = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      roles.add(new Role(types[i % types.length], user(firstUser + i)));
+    }
+    return roles;
+  }
+
+  static Timeline timeline(int i) {
+    ChangeType type = TIMELINE_TYPES[i % TIMELINE_TYPES.length];
+    Timeline timeline = new Timeline();
+    timeline.setId(String.format("0H%011d", i));
+    timeline.setType(type);
+    timeline.setCreatedAt(CREATED_AT + i);
+    timeline.setUpdatedAt(CREATED_AT + i);
+    timeline.setUserDetails(user(i % 50));
+    switch (type) {
+      case Comment:
+        timeline.setMessage("Checked the dashboards of the checkout service, update " + i);
+        break;
+      case Status:
+        timeline.setPreviousState(Status.Investigating.getValue());
+        timeline.setCurrentState(Status.Identified.getValue());
+        break;
+      case Severity:
+        timeline.setPreviousState(Severity.SEV2.name());
+        timeline.setCurrentState(Severity.SEV1.name());
+        break;
+      case Roles:
+        Map<String, Object> details = new HashMap<>();
+        details.put("previousState", roles(2, i));
+        details.put("currentState", roles(2, i + 1));
+        timeline.setAdditionalDetails(details);
+        break;
+      default:
+        timeline.setPreviousState("Checkout requests are failing");
+        timeline.setCurrentState("Checkout requests are failing for card payments in EU");
+    }
+    return timeline;
+  }
+
+  static Incident incident(int timelines, int roles) {
+    Incident incident = new Incident();
+    incident.setId(new ObjectId().toHexString());
+    incident.setVersion(7L);
+    incident.setAccountIdentifier("default_account_id");
+    incident.setOrgIdentifier("default_org_id");
+    incident.setProjectIdentifier("default_project_id");
+    incident.setIdentifier("0H2J4M6P8R0T2");
+    incident.setNumber(42L);
+    incident.setName("Checkout failures");
+    incident.setDescription("Checkout requests are failing for card payments in EU");
+    incident.setSummary("Checkout requests are failing for card payments in EU");
+    incident.setTags(List.of("payments", "checkout", "eu-west-1"));
+    incident.setType(Type.Availability);
+    incident.setSeverity(Severity.SEV1);
+    incident.setStatus(Status.Identified);
+    incident.setComment(List.of("Rolled back the payments gateway"));
+    incident.setActive(true);
+
+    Service service = new Service();
+    service.setServiceId("payments-gateway");
+    service.setServiceName("Payments Gateway");
+    incident.setServices(List.of(service));
+    Environment environment = new Environment();
+    environment.setEnvironmentId("production");
+    environment.setEnvironmentName("Production");
+    incident.setEnvironments(List.of(environment));
+
+    Channel channel = new Channel();
+    channel.setId("C0123456789");
+    channel.setTeamId("T0123456789");
+    channel.setName("incident-checkout-failures");
+    channel.setSource(ChannelSource.Slack);
+    channel.setStatus(ChannelStatus.Operational);
+    incident.setChannels(List.of(channel));
+    Slack slack = new Slack();
+    slack.setTeamId("T0123456789");
+    slack.setTeamDomain("respondnow");
+    slack.setChannelId("C0123456789");
+    slack.setChannelName("incident-checkout-failures");
+    slack.setChannelStatus(ChannelStatus.Operational);
+    IncidentChannel incidentChannel = new IncidentChannel();
+    incidentChannel.setType(IncidentChannelType.Slack);
+    incidentChannel.setSlack(slack);
+    incident.setIncidentChannel(incidentChannel);
+
+    incident.setRoles(roles(roles, 0));
+    List<Timeline> entries = new ArrayList<>(timelines);
+    for (int i = 0; i < timelines; i++) {
+      entries.add(timeline(i));
+    }
+    incident.setTimelines(entries);
+    incident.setTimelinesBucketed(true);
+
+    incident.setCreatedAt(CREATED_AT);
+    incident.setUpdatedAt(CREATED_AT + timelines);
+    incident.setCreatedBy(user(0));
+    incident.setUpdatedBy(user(1));
+    incident.setRemoved(false);
+    return incident;
+  }
+}
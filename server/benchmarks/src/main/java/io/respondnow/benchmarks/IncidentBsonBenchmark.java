@@ -0,0 +1,80 @@
+package io.respondnow.benchmarks;
+
+import com.mongodb.MongoClientSettings;
+import io.respondnow.model.incident.Incident;
+import java.util.concurrent.TimeUnit;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+/**
+ * Mapping of an incident to and from BSON by the {@link MappingMongoConverter}, alone and together
+ * with the encoding done by the driver, which is what every incident read and save costs besides
+ * the round trip.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class IncidentBsonBenchmark {
+
+  @Param({"10", "1000", "10000"})
+  private int timelines;
+
+  private MappingMongoConverter converter;
+  private Codec<Document> documentCodec;
+  private Incident incident;
+  private Document document;
+  private RawBsonDocument bson;
+
+  @Setup
+  public void setUp() {
+    MongoMappingContext mappingContext = new MongoMappingContext();
+    mappingContext.afterPropertiesSet();
+    converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+    converter.afterPropertiesSet();
+    documentCodec = MongoClientSettings.getDefaultCodecRegistry().get(Document.class);
+
+    incident = Fixtures.incident(timelines, 4);
+    document = toDocument();
+    bson = new RawBsonDocument(document, documentCodec);
+  }
+
+  @Benchmark
+  public Document toDocument() {
+    Document target = new Document();
+    converter.write(incident, target);
+    return target;
+  }
+
+  @Benchmark
+  public Incident fromDocument() {
+    return converter.read(Incident.class, document);
+  }
+
+  @Benchmark
+  public RawBsonDocument toBson() {
+    return new RawBsonDocument(toDocument(), documentCodec);
+  }
+
+  @Benchmark
+  public Incident fromBson() {
+    return converter.read(Incident.class, bson.decode(documentCodec));
+  }
+}
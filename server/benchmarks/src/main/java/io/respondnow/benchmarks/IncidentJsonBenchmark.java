@@ -0,0 +1,55 @@
+package io.respondnow.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.respondnow.model.incident.Incident;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Jackson serialisation of an incident by the object mapper Spring Boot configures for the REST
+ * API, which is the cost of every incident response and live feed event.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class IncidentJsonBenchmark {
+
+  @Param({"10", "1000", "10000"})
+  private int timelines;
+
+  private ObjectMapper objectMapper;
+  private Incident incident;
+  private byte[] json;
+
+  @Setup
+  public void setUp() throws IOException {
+    objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    incident = Fixtures.incident(timelines, 4);
+    json = objectMapper.writeValueAsBytes(incident);
+  }
+
+  @Benchmark
+  public byte[] serialize() throws IOException {
+    return objectMapper.writeValueAsBytes(incident);
+  }
+
+  @Benchmark
+  public Incident deserialize() throws IOException {
+    return objectMapper.readValue(json, Incident.class);
+  }
+}
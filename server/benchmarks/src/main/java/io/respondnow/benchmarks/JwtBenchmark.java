@@ -0,0 +1,62 @@
+package io.respondnow.benchmarks;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.respondnow.util.JWTUtil;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.DirectFieldAccessor;
+
+/**
+ * Validation of a bearer token by {@link JWTUtil}, as done for every authenticated request, with
+ * and without the verified claims cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtBenchmark {
+
+  /** The size of the verified claims cache, 0 disables it. */
+  @Param({"0", "10000"})
+  private int cacheMaxSize;
+
+  private JWTUtil jwtUtil;
+  private String token;
+
+  @Setup
+  public void setUp() {
+    jwtUtil = new JWTUtil();
+    DirectFieldAccessor fields = new DirectFieldAccessor(jwtUtil);
+    fields.setPropertyValue("secretKey", "mySecretKeyUsedToEncodeJWTForAuthenticationPurpose");
+    fields.setPropertyValue("expirationTime", 86400L);
+    fields.setPropertyValue("cacheMaxSize", cacheMaxSize);
+    fields.setPropertyValue("meterRegistry", new SimpleMeterRegistry());
+    jwtUtil.init();
+
+    token = jwtUtil.generateToken("Responder 1", "U00000001", "responder1@example.com");
+  }
+
+  @Benchmark
+  public String parse() {
+    return jwtUtil.getUsernameFromToken(token);
+  }
+
+  /** The verification made by the authentication filter on every request. */
+  @Benchmark
+  public Claims authenticate() {
+    return jwtUtil.verifyToken(token);
+  }
+}
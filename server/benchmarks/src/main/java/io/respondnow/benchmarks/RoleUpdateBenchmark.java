@@ -0,0 +1,168 @@
+package io.respondnow.benchmarks;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.respondnow.model.api.CursorPage;
+import io.respondnow.model.incident.Incident;
+import io.respondnow.model.incident.Role;
+import io.respondnow.model.incident.Timeline;
+import io.respondnow.model.user.UserDetails;
+import io.respondnow.service.id.IdServiceImpl;
+import io.respondnow.service.incident.IncidentCacheService;
+import io.respondnow.service.incident.IncidentServiceImpl;
+import io.respondnow.service.incident.TimelineService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.UpdateMapper;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+/**
+ * {@link IncidentServiceImpl#updateIncidentRoles} on incidents with many roles. MongoDB is replaced
+ * by an in-memory template that still maps the update like the real one does, so the benchmark
+ * measures the merge of the roles and the update built from it, not the round trips.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RoleUpdateBenchmark {
+
+  @Param({"100", "1000", "10000"})
+  private int roles;
+
+  @Param({"1", "100"})
+  private int assignments;
+
+  private MongoClient mongoClient;
+  private IncidentServiceImpl incidentService;
+  private Incident incident;
+  private List<Role> newRoles;
+  private UserDetails currentUser;
+
+  @Setup
+  public void setUp() {
+    incident = Fixtures.incident(0, roles);
+    newRoles = Fixtures.roles(assignments, roles);
+    currentUser = Fixtures.user(0);
+
+    // The client only connects on first use, which never happens here
+    mongoClient = MongoClients.create();
+    InMemoryMongoTemplate mongoTemplate = new InMemoryMongoTemplate(mongoClient, incident);
+
+    IdServiceImpl idService = new IdServiceImpl();
+    new DirectFieldAccessor(idService).setPropertyValue("nodeId", 1L);
+    idService.init();
+
+    incidentService = new IncidentServiceImpl();
+    DirectFieldAccessor fields = new DirectFieldAccessor(incidentService);
+    fields.setPropertyValue("mongoTemplate", mongoTemplate);
+    fields.setPropertyValue("timelineService", new NoOpTimelineService());
+    fields.setPropertyValue("incidentCacheService", new NoOpIncidentCacheService());
+    fields.setPropertyValue("idService", idService);
+    fields.setPropertyValue("meterRegistry", new SimpleMeterRegistry());
+    fields.setPropertyValue("maxUpdateAttempts", 1);
+    fields.setPropertyValue("minUpdateBackoffMillis", 10L);
+    fields.setPropertyValue("maxUpdateBackoffMillis", 100L);
+    incidentService.initUpdateRetryTemplate();
+  }
+
+  @TearDown
+  public void tearDown() {
+    mongoClient.close();
+  }
+
+  @Benchmark
+  public Incident updateRoles() {
+    return incidentService.updateIncidentRoles(incident.getIdentifier(), newRoles, currentUser);
+  }
+
+  /** Returns a copy of the same incident on every read and accepts every update of it. */
+  private static class InMemoryMongoTemplate extends MongoTemplate {
+    private final Incident incident;
+    private final UpdateMapper updateMapper;
+
+    InMemoryMongoTemplate(MongoClient mongoClient, Incident incident) {
+      super(mongoClient, "benchmarks");
+      this.incident = incident;
+      this.updateMapper = new UpdateMapper(getConverter());
+    }
+
+    @Override
+    public <T> T findOne(Query query, Class<T> entityClass) {
+      // updateIncidentRoles modifies the roles of the incident it read
+      Incident copy = new Incident();
+      copy.setId(incident.getId());
+      copy.setVersion(incident.getVersion());
+      copy.setIdentifier(incident.getIdentifier());
+      copy.setRoles(new ArrayList<>(incident.getRoles()));
+      copy.setTimelinesBucketed(true);
+      return entityClass.cast(copy);
+    }
+
+    @Override
+    public <T> T findAndModify(
+        Query query, UpdateDefinition update, FindAndModifyOptions options, Class<T> entityClass) {
+      Document mapped =
+          updateMapper.getMappedObject(
+              update.getUpdateObject(),
+              getConverter().getMappingContext().getPersistentEntity(entityClass));
+      if (mapped.isEmpty()) {
+        throw new IllegalStateException("Update is empty");
+      }
+      return entityClass.cast(incident);
+    }
+  }
+
+  private static class NoOpTimelineService implements TimelineService {
+    public int getPreviewSize() {
+      return 20;
+    }
+
+    public void appendTimeline(String incidentIdentifier, Timeline timeline) {}
+
+    public void ensureBucketed(Incident incident) {}
+
+    public CursorPage<Timeline> listTimeline(String incidentId, String cursor, int limit) {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  private static class NoOpIncidentCacheService implements IncidentCacheService {
+    public Incident getById(String id) {
+      return null;
+    }
+
+    public Incident getByIdentifier(String identifier) {
+      return null;
+    }
+
+    public Incident getCachedVersion(String id) {
+      return null;
+    }
+
+    public void invalidate(String id) {}
+
+    public void invalidateAll() {}
+  }
+}
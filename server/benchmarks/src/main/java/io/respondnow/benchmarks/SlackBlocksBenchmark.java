@@ -0,0 +1,103 @@
+package io.respondnow.benchmarks;
+
+import com.google.gson.Gson;
+import com.slack.api.model.block.LayoutBlock;
+import com.slack.api.model.block.composition.PlainTextObject;
+import com.slack.api.model.block.element.ButtonElement;
+import com.slack.api.util.json.GsonFactory;
+import io.respondnow.model.incident.Incident;
+import io.respondnow.model.incident.Role;
+import io.respondnow.service.slack.SlackBlockFactory;
+import io.respondnow.service.slack.SlackServiceImpl;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.objenesis.ObjenesisStd;
+
+/**
+ * Building the Slack messages of an incident with {@link SlackBlockFactory} and the block builders
+ * of {@link SlackServiceImpl}, each also serialised to the JSON payload the Web API client sends.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SlackBlocksBenchmark {
+
+  private Gson gson;
+  private Incident incident;
+  private Role role;
+
+  private MethodHandle incidentDetailsBlocks;
+  private MethodHandle appHomeBlocks;
+  private MethodHandle roleNotificationBlocks;
+
+  @Setup
+  public void setUp() throws ReflectiveOperationException {
+    gson = GsonFactory.createSnakeCase();
+    incident = Fixtures.incident(20, 4);
+    role = incident.getRoles().get(0);
+
+    // The block builders use no state, so skip the constructor, which sets up the Slack clients
+    SlackServiceImpl slackService = new ObjenesisStd().newInstance(SlackServiceImpl.class);
+    incidentDetailsBlocks = privateMethod(slackService, "getViewDetailLayoutBlock", Incident.class);
+    appHomeBlocks = privateMethod(slackService, "createSlackBlocks", String.class, String.class);
+    roleNotificationBlocks =
+        privateMethod(
+            slackService, "getUserRoleNotificationBlocks", Role.class, String.class, String.class);
+  }
+
+  @Benchmark
+  public String factoryBlocks() {
+    List<LayoutBlock> blocks = new ArrayList<>();
+    blocks.add(SlackBlockFactory.createHeaderBlock(incident.getName(), "incident_header"));
+    blocks.add(SlackBlockFactory.createSectionBlock(incident.getSummary(), "incident_summary"));
+    blocks.add(SlackBlockFactory.createDividerBlock());
+    blocks.add(
+        SlackBlockFactory.createActionsBlock(
+            "incident_actions",
+            ButtonElement.builder()
+                .text(PlainTextObject.builder().text("View Incident").emoji(true).build())
+                .actionId("view_incident")
+                .value(incident.getIdentifier())
+                .build()));
+    return gson.toJson(blocks);
+  }
+
+  @Benchmark
+  public String incidentDetailsBlocks() throws Throwable {
+    return gson.toJson((List<?>) incidentDetailsBlocks.invoke(incident));
+  }
+
+  @Benchmark
+  public String appHomeBlocks() throws Throwable {
+    return gson.toJson((List<?>) appHomeBlocks.invoke("U00000001", "B00000001"));
+  }
+
+  @Benchmark
+  public String roleNotificationBlocks() throws Throwable {
+    return gson.toJson((List<?>) roleNotificationBlocks.invoke(role, "respondnow", "C0123456789"));
+  }
+
+  private static MethodHandle privateMethod(Object target, String name, Class<?>... parameterTypes)
+      throws ReflectiveOperationException {
+    Method method = target.getClass().getDeclaredMethod(name, parameterTypes);
+    method.setAccessible(true);
+    return MethodHandles.lookup().unreflect(method).bindTo(target);
+  }
+}
@@ -0,0 +1,46 @@
+package io.respondnow.aspect;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public method of the incident, auth and Slack services called through their Spring
+ * proxies, as {@code service.calls{class,method,outcome,exception}}. Calls a service makes to its
+ * own methods bypass the proxy and are not timed separately.
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+  public static final String SERVICE_CALLS = "service.calls";
+
+  @Autowired private MeterRegistry meterRegistry;
+
+  @Around(
+      "execution(public * io.respondnow.service.incident.IncidentService+.*(..))"
+          + " || execution(public * io.respondnow.service.auth.AuthService+.*(..))"
+          + " || execution(public * io.respondnow.service.slack.SlackService+.*(..))")
+  public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    String exception = "none";
+    try {
+      return joinPoint.proceed();
+    } catch (Throwable e) {
+      exception = e.getClass().getSimpleName();
+      throw e;
+    } finally {
+      sample.stop(
+          Timer.builder(SERVICE_CALLS)
+              .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+              .tag("method", joinPoint.getSignature().getName())
+              .tag("outcome", "none".equals(exception) ? "success" : "error")
+              .tag("exception", exception)
+              .register(meterRegistry));
+    }
+  }
+}
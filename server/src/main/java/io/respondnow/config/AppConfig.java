@@ -1,5 +1,6 @@
 package io.respondnow.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -9,8 +10,9 @@ import org.springframework.web.client.RestTemplate;
 public class AppConfig {
 
   @Bean
-  public BCryptPasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public BCryptPasswordEncoder passwordEncoder(
+      @Value("${auth.password.bcryptStrength:10}") int strength) {
+    return new BCryptPasswordEncoder(strength);
   }
 
   @Bean
@@ -0,0 +1,17 @@
+package io.respondnow.config;
+
+import io.respondnow.service.mongo.MongoCommandMonitorImpl;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MongoConfig {
+
+  /** Registers the command monitor with the client created by Spring Boot. */
+  @Bean
+  public MongoClientSettingsBuilderCustomizer mongoCommandMonitorCustomizer(
+      MongoCommandMonitorImpl mongoCommandMonitor) {
+    return settings -> settings.addCommandListener(mongoCommandMonitor);
+  }
+}
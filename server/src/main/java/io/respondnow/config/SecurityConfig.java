@@ -34,6 +34,17 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
         // Allow Swagger UI and API docs endpoint to be accessed without authentication
         .antMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html")
         .permitAll()
+        // The live feed authenticates during the WebSocket handshake, browsers cannot send headers
+        .antMatchers(WebSocketConfig.INCIDENT_FEED_PATH)
+        .permitAll()
+        // Scraped by Prometheus and probed by the orchestrator without a user token, which relies
+        // on management.server.port being reachable from inside the cluster only, as enforced by
+        // the NetworkPolicy of the deployment manifests and nothing in the application itself
+        .antMatchers("/actuator/health", "/actuator/prometheus")
+        .permitAll()
+        // Index maintenance and diagnostics are reserved for the configured admin users
+        .antMatchers("/admin/**")
+        .hasRole(JWTAuthenticationFilter.ADMIN_ROLE)
         .anyRequest()
         .authenticated() // All other requests require authentication
         .and()
@@ -0,0 +1,21 @@
+package io.respondnow.config;
+
+import io.respondnow.security.ScopeAuthorizationInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+  @Autowired private ScopeAuthorizationInterceptor scopeAuthorizationInterceptor;
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    // Every endpoint that reads incidents of a scope given in the query string
+    registry
+        .addInterceptor(scopeAuthorizationInterceptor)
+        .addPathPatterns("/incident/**", "/metrics/incidents");
+  }
+}
@@ -0,0 +1,81 @@
+package io.respondnow.config;
+
+import io.respondnow.controller.IncidentFeedEndpoint;
+import io.respondnow.service.feed.IncidentFeedService;
+import io.respondnow.service.hierarchy.ScopeService;
+import io.respondnow.util.JWTUtil;
+import java.util.List;
+import javax.servlet.ServletContext;
+import javax.websocket.DeploymentException;
+import javax.websocket.HandshakeResponse;
+import javax.websocket.server.HandshakeRequest;
+import javax.websocket.server.ServerContainer;
+import javax.websocket.server.ServerEndpointConfig;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.ServletContextAware;
+
+/**
+ * Registers the WebSocket endpoints with the servlet container. The endpoints are plain JSR-356
+ * endpoints, created here so they can be handed their Spring managed dependencies.
+ */
+@Configuration
+public class WebSocketConfig implements ServletContextAware, SmartInitializingSingleton {
+
+  public static final String INCIDENT_FEED_PATH = "/incident/feed";
+
+  @Autowired private IncidentFeedService incidentFeedService;
+  @Autowired private ScopeService scopeService;
+  @Autowired private JWTUtil jwtUtil;
+
+  private ServletContext servletContext;
+
+  @Override
+  public void setServletContext(ServletContext servletContext) {
+    this.servletContext = servletContext;
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    ServerContainer serverContainer =
+        (ServerContainer) servletContext.getAttribute(ServerContainer.class.getName());
+    if (serverContainer == null) {
+      throw new IllegalStateException("No WebSocket server container is available");
+    }
+
+    ServerEndpointConfig incidentFeed =
+        ServerEndpointConfig.Builder.create(IncidentFeedEndpoint.class, INCIDENT_FEED_PATH)
+            .configurator(
+                new ServerEndpointConfig.Configurator() {
+                  @Override
+                  public void modifyHandshake(
+                      ServerEndpointConfig config,
+                      HandshakeRequest request,
+                      HandshakeResponse response) {
+                    List<String> authorization = request.getHeaders().get("Authorization");
+                    if (authorization != null
+                        && !authorization.isEmpty()
+                        && authorization.get(0).startsWith("Bearer ")) {
+                      config
+                          .getUserProperties()
+                          .put(
+                              IncidentFeedEndpoint.TOKEN_PROPERTY,
+                              authorization.get(0).substring(7));
+                    }
+                  }
+
+                  @Override
+                  public <T> T getEndpointInstance(Class<T> endpointClass) {
+                    return endpointClass.cast(
+                        new IncidentFeedEndpoint(incidentFeedService, scopeService, jwtUtil));
+                  }
+                })
+            .build();
+    try {
+      serverContainer.addEndpoint(incidentFeed);
+    } catch (DeploymentException e) {
+      throw new IllegalStateException("Failed to register " + INCIDENT_FEED_PATH, e);
+    }
+  }
+}
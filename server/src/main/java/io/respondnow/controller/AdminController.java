@@ -0,0 +1,89 @@
+package io.respondnow.controller;
+
+import io.respondnow.dto.admin.QueryPlanResponseDTO;
+import io.respondnow.dto.admin.QueryPlanResponseDTO.QueryPlan;
+import io.respondnow.dto.admin.SlowCommandsResponseDTO;
+import io.respondnow.service.index.IndexService;
+import io.respondnow.service.mongo.MongoCommandMonitor;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(
+    name = "Admin Controller",
+    description = "Administrative APIs for database maintenance, reserved for admin users")
+@RestController
+@RequestMapping("/admin")
+public class AdminController {
+
+  @Autowired private IndexService indexService;
+  @Autowired private MongoCommandMonitor mongoCommandMonitor;
+
+  @Operation(
+      summary = "Explain canonical queries",
+      description =
+          "Runs explain on the queries issued by the application and flags collection scans")
+  @GetMapping("/queryPlans")
+  @ResponseStatus(HttpStatus.OK)
+  public QueryPlanResponseDTO explainQueries(
+      @Parameter(
+              name = "correlationId",
+              description = "correlationId is used to debug micro service communication",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          String correlationId) {
+    List<QueryPlan> plans = indexService.explainCanonicalQueries();
+
+    return QueryPlanResponseDTO.builder()
+        .queryPlanResponse(
+            QueryPlanResponseDTO.QueryPlanResponse.builder()
+                .plans(plans)
+                .collectionScans(plans.stream().filter(QueryPlan::isCollectionScan).count())
+                .correlationID(correlationId)
+                .build())
+        .build();
+  }
+
+  @Operation(
+      summary = "List slow MongoDB commands",
+      description =
+          "Lists the most recent MongoDB commands slower than the configured threshold, most"
+              + " recent first, with the shape of their filters")
+  @GetMapping("/slowCommands")
+  @ResponseStatus(HttpStatus.OK)
+  public SlowCommandsResponseDTO listSlowCommands(
+      @Parameter(
+              name = "correlationId",
+              description = "correlationId is used to debug micro service communication",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          String correlationId) {
+    return SlowCommandsResponseDTO.builder()
+        .slowCommandsResponse(
+            SlowCommandsResponseDTO.SlowCommandsResponse.builder()
+                .commands(mongoCommandMonitor.getRecentSlowCommands())
+                .thresholdMillis(mongoCommandMonitor.getSlowThresholdMillis())
+                .correlationID(correlationId)
+                .build())
+        .build();
+  }
+
+  @Operation(
+      summary = "Reconcile indexes",
+      description = "Creates missing indexes and recreates the ones whose definition changed")
+  @PostMapping("/indexes/reconcile")
+  @ResponseStatus(HttpStatus.NO_CONTENT)
+  public void reconcileIndexes() {
+    indexService.reconcileIndexes();
+  }
+}
@@ -17,6 +17,7 @@ import io.respondnow.dto.auth.LoginUserInput;
 import io.respondnow.dto.auth.SignupResponseDTO;
 import io.respondnow.dto.auth.UserMappingData;
 import io.respondnow.exception.EmailAlreadyExistsException;
+import io.respondnow.exception.PasswordHashingBusyException;
 import io.respondnow.exception.UserNotFoundException;
 import io.respondnow.model.user.User;
 import io.respondnow.service.auth.AuthService;
@@ -62,7 +63,8 @@ public class AuthController {
   @ApiResponses({
     @ApiResponse(responseCode = "201", description = "User signed up successfully"),
     @ApiResponse(responseCode = "400", description = "Bad Request"),
-    @ApiResponse(responseCode = "409", description = "Conflict - Email already exists")
+    @ApiResponse(responseCode = "409", description = "Conflict - Email already exists"),
+    @ApiResponse(responseCode = "503", description = "Too many password checks in progress")
   })
   @PostMapping(SIGNUP)
   public ResponseEntity<SignupResponseDTO> signup(@RequestBody @Valid AddUserInput input) {
@@ -80,6 +82,9 @@ public class AuthController {
           new SignupResponseDTO(
               AppConstants.ResponseStatus.ERROR, "Email already exists", null, null);
       return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    } catch (PasswordHashingBusyException e) {
+      // Kept out of the catch-all below, GlobalExceptionHandler answers it with a 503
+      throw e;
     } catch (Exception e) {
       // Handle any other errors (e.g. bad request, unexpected errors)
       SignupResponseDTO response =
@@ -92,7 +97,8 @@ public class AuthController {
   @ApiResponses({
     @ApiResponse(responseCode = "200", description = "Login successful"),
     @ApiResponse(responseCode = "400", description = "Bad Request"),
-    @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid credentials")
+    @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid credentials"),
+    @ApiResponse(responseCode = "503", description = "Too many password checks in progress")
   })
   @PostMapping(LOGIN)
   public ResponseEntity<LoginResponseDTO> login(@RequestBody @Valid LoginUserInput input) {
@@ -118,6 +124,9 @@ public class AuthController {
       LoginResponseDTO response =
           new LoginResponseDTO(AppConstants.ResponseStatus.ERROR, "User not found", null);
       return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+    } catch (PasswordHashingBusyException e) {
+      // Kept out of the catch-all below, GlobalExceptionHandler answers it with a 503
+      throw e;
     } catch (Exception e) {
       log.error(e.getMessage());
       LoginResponseDTO response =
@@ -131,7 +140,8 @@ public class AuthController {
     @ApiResponse(responseCode = "200", description = "Password changed successfully"),
     @ApiResponse(responseCode = "400", description = "Bad Request"),
     @ApiResponse(responseCode = "401", description = "Unauthorized - Invalid credentials"),
-    @ApiResponse(responseCode = "404", description = "Not Found - User not found")
+    @ApiResponse(responseCode = "404", description = "Not Found - User not found"),
+    @ApiResponse(responseCode = "503", description = "Too many password checks in progress")
   })
   @PostMapping(CHANGE_PASSWORD)
   public ResponseEntity<ChangePasswordResponseDTO> changePassword(
@@ -150,6 +160,9 @@ public class AuthController {
       ChangePasswordResponseDTO response =
           new ChangePasswordResponseDTO(AppConstants.ResponseStatus.ERROR, "User not found", null);
       return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+    } catch (PasswordHashingBusyException e) {
+      // Kept out of the catch-all below, GlobalExceptionHandler answers it with a 503
+      throw e;
     } catch (Exception e) {
       ChangePasswordResponseDTO response =
           new ChangePasswordResponseDTO(AppConstants.ResponseStatus.ERROR, "Bad Request", null);
@@ -1,24 +1,53 @@
 package io.respondnow.controller;
 
+import io.respondnow.dto.incident.ChangesResponseDTO;
 import io.respondnow.dto.incident.GetResponseDTO;
+import io.respondnow.dto.incident.ImportResponseDTO;
 import io.respondnow.dto.incident.ListResponseDTO;
+import io.respondnow.dto.incident.StagesResponseDTO;
+import io.respondnow.dto.incident.TimelineResponseDTO;
+import io.respondnow.exception.ResourceNotFoundException;
+import io.respondnow.model.api.ChangePage;
+import io.respondnow.model.api.CountMode;
+import io.respondnow.model.api.CursorPage;
+import io.respondnow.model.api.ExportFormat;
 import io.respondnow.model.api.Pagination;
 import io.respondnow.model.incident.Incident;
+import io.respondnow.model.incident.IncidentImport;
+import io.respondnow.model.incident.IncidentStage;
 import io.respondnow.model.incident.Severity;
 import io.respondnow.model.incident.Status;
+import io.respondnow.model.incident.Timeline;
 import io.respondnow.model.incident.Type;
+import io.respondnow.service.api.PaginationService;
+import io.respondnow.service.incident.IncidentExportService;
+import io.respondnow.service.incident.IncidentImportService;
 import io.respondnow.service.incident.IncidentService;
+import io.respondnow.service.incident.TimelineService;
+import io.respondnow.util.ETagUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -30,11 +59,17 @@ import org.springframework.web.bind.annotation.RestController;
 public class IncidentController {
 
   @Autowired private IncidentService incidentService;
+  @Autowired private TimelineService timelineService;
+  @Autowired private IncidentExportService incidentExportService;
+  @Autowired private IncidentImportService incidentImportService;
+  @Autowired private PaginationService paginationService;
+
+  @Value("${incident.list.approximateCountLimit:10000}")
+  private int approximateCountLimit;
 
   @Operation(summary = "List incidents", description = "List all incidents with optional filters")
   @GetMapping("/list")
-  @ResponseStatus(HttpStatus.OK)
-  public ListResponseDTO listIncidents(
+  public ResponseEntity<ListResponseDTO> listIncidents(
       @Parameter(
               name = "accountIdentifier",
               description =
@@ -95,6 +130,29 @@ public class IncidentController {
               in = ParameterIn.QUERY)
           @RequestParam(defaultValue = "10")
           int limit,
+      @Parameter(
+              name = "cursor",
+              description =
+                  "Cursor returned with the previous page; when set, page is ignored and the next"
+                      + " page is fetched by key instead of by offset",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          String cursor,
+      @Parameter(
+              name = "countMode",
+              description =
+                  "How totalItems is computed: Exact (default), Approximate (capped) or None",
+              in = ParameterIn.QUERY)
+          @RequestParam(defaultValue = "Exact")
+          CountMode countMode,
+      @Parameter(
+              name = "facets",
+              description =
+                  "If true, also returns the number of matching incidents by status, severity and"
+                      + " type",
+              in = ParameterIn.QUERY)
+          @RequestParam(defaultValue = "false")
+          boolean facets,
       @Parameter(
               name = "all",
               description = "If true, returns all incidents without pagination",
@@ -107,60 +165,406 @@ public class IncidentController {
               in = ParameterIn.QUERY)
           @RequestParam(required = false)
           String correlationId) {
-    Criteria criteria = new Criteria();
+    Criteria criteria =
+        buildListCriteria(
+            accountIdentifier,
+            orgIdentifier,
+            projectIdentifier,
+            type,
+            severity,
+            status,
+            active,
+            incidentChannelType,
+            search);
 
-    criteria.and("accountIdentifier").is(accountIdentifier);
+    List<Incident> incidents;
+    String nextCursor = null;
+    Map<String, Map<String, Long>> facetCounts = null;
+    long total = 0;
+    Boolean approximate = null;
+    if (!all && (countMode == CountMode.Exact || facets)) {
+      // Page, exact total and facet counts all come back from a single aggregation
+      CursorPage<Incident> incidentPage =
+          incidentService.listIncidentsPageWithCount(
+              criteria, cursor, (long) page * limit, limit, facets);
+      incidents = incidentPage.getContent();
+      nextCursor = incidentPage.getNextCursor();
+      facetCounts = incidentPage.getFacets();
+      total = incidentPage.getTotalItems();
+    } else {
+      if (all) {
+        Query query =
+            new Query(criteria)
+                .with(
+                    Sort.by(Sort.Direction.DESC, "createdAt")
+                        .and(Sort.by(Sort.Direction.DESC, "_id")));
+        incidents = incidentService.listIncidents(query);
+      } else {
+        CursorPage<Incident> incidentPage =
+            incidentService.listIncidentsPage(criteria, cursor, (long) page * limit, limit);
+        incidents = incidentPage.getContent();
+        nextCursor = incidentPage.getNextCursor();
+      }
 
-    if (orgIdentifier != null && !orgIdentifier.isEmpty()) {
-      criteria.and("orgIdentifier").is(orgIdentifier);
-    }
-    if (projectIdentifier != null && !projectIdentifier.isEmpty()) {
-      criteria.and("projectIdentifier").is(projectIdentifier);
-    }
-    if (type != null) {
-      criteria.and("type").is(type);
-    }
-    if (severity != null) {
-      criteria.and("severity").is(severity);
-    }
-    if (status != null) {
-      criteria.and("status").is(status);
-    }
-    if (active != null) {
-      criteria.and("active").is(active);
-    }
-    if (incidentChannelType != null && !incidentChannelType.isEmpty()) {
-      criteria.and("incidentChannel.type").is(incidentChannelType);
-    }
-    if (search != null && !search.isEmpty()) {
-      criteria.orOperator(
-          Criteria.where("name").regex(search, "i"), Criteria.where("tags").regex(search, "i"));
+      // The total is counted separately from the page, without its skip and limit
+      if (countMode == CountMode.Exact) {
+        total = incidentService.countIncidents(new Query(criteria));
+      } else if (countMode == CountMode.Approximate) {
+        total = incidentService.countIncidents(new Query(criteria).limit(approximateCountLimit));
+        approximate = total >= approximateCountLimit;
+      }
     }
 
-    Query query = new Query(criteria);
+    Pagination pagination =
+        all
+            ? Pagination.builder().all(true).totalItems(total).build()
+            : paginationService.getPagination(page, limit, total, false);
+    pagination.setApproximate(approximate);
+    pagination.setNextCursor(nextCursor);
 
-    if (!all) {
-      query.skip((long) page * limit);
-      query.limit(limit);
-    }
+    // A matching If-None-Match is answered with 304 without serialising the page. The echoed
+    // correlationId is left out, clients sending a fresh one per request must still get a 304.
+    String etag =
+        ETagUtil.forIncidents(
+            incidents,
+            page,
+            limit,
+            pagination.getTotalItems(),
+            pagination.getApproximate(),
+            nextCursor,
+            facetCounts);
+    return ResponseEntity.ok()
+        .eTag(etag)
+        .body(
+            ListResponseDTO.builder()
+                .listResponse(
+                    ListResponseDTO.ListResponse.builder()
+                        .content(incidents)
+                        .pagination(pagination)
+                        .facets(facetCounts)
+                        .correlationID(correlationId)
+                        .build())
+                .build());
+  }
 
-    List<Incident> incidents = incidentService.listIncidents(query);
-    long total = incidentService.countIncidents(query);
+  @Operation(
+      summary = "List incident changes",
+      description =
+          "List the incidents created, updated or removed after a watermark, oldest change first,"
+              + " together with the watermark to pass on the next call")
+  @GetMapping("/changes")
+  @ResponseStatus(HttpStatus.OK)
+  public ChangesResponseDTO listIncidentChanges(
+      @Parameter(
+              name = "accountIdentifier",
+              description =
+                  "accountIdentifier is the account where you want to access the resource",
+              in = ParameterIn.QUERY,
+              required = true)
+          @RequestParam
+          String accountIdentifier,
+      @Parameter(
+              name = "orgIdentifier",
+              description = "orgIdentifier is the org where you want to access the resource",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          String orgIdentifier,
+      @Parameter(
+              name = "projectIdentifier",
+              description =
+                  "projectIdentifier is the project where you want to access the resource",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          String projectIdentifier,
+      @Parameter(
+              name = "since",
+              description =
+                  "Watermark returned by the previous call, or an updatedAt epoch second to start"
+                      + " from; default: 0",
+              in = ParameterIn.QUERY)
+          @RequestParam(defaultValue = "0")
+          String since,
+      @Parameter(
+              name = "limit",
+              description = "Maximum number of incidents, default: 100",
+              in = ParameterIn.QUERY)
+          @RequestParam(defaultValue = "100")
+          int limit,
+      @Parameter(
+              name = "correlationId",
+              description = "correlationId is used to debug micro service communication",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          String correlationId) {
+    Criteria criteria =
+        buildListCriteria(
+            accountIdentifier,
+            orgIdentifier,
+            projectIdentifier,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null);
+    ChangePage<Incident> changes = incidentService.listIncidentChanges(criteria, since, limit);
 
-    return ListResponseDTO.builder()
-        .listResponse(
-            ListResponseDTO.ListResponse.builder()
-                .content(incidents)
-                .pagination(Pagination.builder().totalItems(total).build())
+    return ChangesResponseDTO.builder()
+        .changesResponse(
+            ChangesResponseDTO.ChangesResponse.builder()
+                .content(changes.getContent())
+                .watermark(changes.getWatermark())
+                .hasMore(changes.isHasMore())
                 .correlationID(correlationId)
                 .build())
         .build();
   }
 
-  @Operation(summary = "Get incident", description = "Fetch a specific incident by its identifier")
-  @GetMapping("/{incidentIdentifier}")
+  @Operation(
+      summary = "List slowest incident stages",
+      description =
+          "List the longest completed stages in a status, longest first, optionally only those"
+              + " that moved on to a given status")
+  @GetMapping("/stages/slowest")
+  @ResponseStatus(HttpStatus.OK)
+  public StagesResponseDTO listSlowestStages(
+      @Parameter(
+              name = "accountIdentifier",
+              description =
+                  "accountIdentifier is the account where you want to access the resource",
+              in = ParameterIn.QUERY,
+              required = true)
+          @RequestParam
+          String accountIdentifier,
+      @Parameter(
+              name = "orgIdentifier",
+              description = "orgIdentifier is the org where you want to access the resource",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          String orgIdentifier,
+      @Parameter(
+              name = "projectIdentifier",
+              description =
+                  "projectIdentifier is the project where you want to access the resource",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          String projectIdentifier,
+      @Parameter(
+              name = "type",
+              description = "The status of the stages",
+              in = ParameterIn.QUERY,
+              required = true)
+          @RequestParam
+          Status type,
+      @Parameter(
+              name = "nextType",
+              description = "Only stages that ended by moving to this status",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          Status nextType,
+      @Parameter(
+              name = "limit",
+              description = "Maximum number of stages, default: 10",
+              in = ParameterIn.QUERY)
+          @RequestParam(defaultValue = "10")
+          int limit,
+      @Parameter(
+              name = "correlationId",
+              description = "correlationId is used to debug micro service communication",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          String correlationId) {
+    Criteria scope =
+        buildListCriteria(
+            accountIdentifier,
+            orgIdentifier,
+            projectIdentifier,
+            null,
+            null,
+            null,
+            null,
+            null,
+            null);
+    List<IncidentStage> stages = incidentService.listSlowestStages(scope, type, nextType, limit);
+
+    return StagesResponseDTO.builder()
+        .stagesResponse(
+            StagesResponseDTO.StagesResponse.builder()
+                .content(stages)
+                .correlationID(correlationId)
+                .build())
+        .build();
+  }
+
+  @Operation(
+      summary = "Export incidents",
+      description =
+          "Stream all incidents matching the filters as NDJSON or CSV, newest first. Memory use on"
+              + " the server does not depend on the number of exported incidents")
+  @GetMapping("/export")
+  public void exportIncidents(
+      @Parameter(
+              name = "accountIdentifier",
+              description =
+                  "accountIdentifier is the account where you want to access the resource",
+              in = ParameterIn.QUERY,
+              required = true)
+          @RequestParam
+          String accountIdentifier,
+      @Parameter(
+              name = "orgIdentifier",
+              description = "orgIdentifier is the org where you want to access the resource",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          String orgIdentifier,
+      @Parameter(
+              name = "projectIdentifier",
+              description =
+                  "projectIdentifier is the project where you want to access the resource",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          String projectIdentifier,
+      @Parameter(name = "type", description = "type of the incident", in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          Type type,
+      @Parameter(
+              name = "severity",
+              description = "severity of the incident",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          Severity severity,
+      @Parameter(name = "status", description = "status of the incident", in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          Status status,
+      @Parameter(
+              name = "active",
+              description = "whether incident is active or not",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          Boolean active,
+      @Parameter(
+              name = "incidentChannelType",
+              description = "type of the incident channel",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          String incidentChannelType,
+      @Parameter(
+              name = "search",
+              description = "search based on name and/or tags",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          String search,
+      @Parameter(
+              name = "format",
+              description = "Export format: Ndjson (default) or Csv",
+              in = ParameterIn.QUERY)
+          @RequestParam(defaultValue = "Ndjson")
+          ExportFormat format,
+      HttpServletResponse response)
+      throws IOException {
+    Criteria criteria =
+        buildListCriteria(
+            accountIdentifier,
+            orgIdentifier,
+            projectIdentifier,
+            type,
+            severity,
+            status,
+            active,
+            incidentChannelType,
+            search);
+
+    response.setStatus(HttpStatus.OK.value());
+    response.setContentType(format.getContentType());
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    response.setHeader(
+        HttpHeaders.CONTENT_DISPOSITION,
+        "attachment; filename=\"incidents-"
+            + Instant.now().getEpochSecond()
+            + "."
+            + format.getExtension()
+            + "\"");
+    incidentExportService.exportIncidents(criteria, format, response.getOutputStream());
+  }
+
+  @Operation(
+      summary = "Import incidents",
+      description =
+          "Import incidents from an NDJSON body, one incident per line. Pass the importId of an"
+              + " interrupted import together with the same body to resume it")
+  @PostMapping("/import")
+  @ResponseStatus(HttpStatus.OK)
+  public ImportResponseDTO importIncidents(
+      @Parameter(
+              name = "accountIdentifier",
+              description = "accountIdentifier is the account the incidents are imported into",
+              in = ParameterIn.QUERY,
+              required = true)
+          @RequestParam
+          String accountIdentifier,
+      @Parameter(
+              name = "importId",
+              description = "ID of an interrupted import to resume, omit to start a new import",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          String importId,
+      @Parameter(
+              name = "correlationId",
+              description = "correlationId is used to debug micro service communication",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          String correlationId,
+      HttpServletRequest request)
+      throws IOException {
+    IncidentImport incidentImport =
+        incidentImportService.importIncidents(
+            accountIdentifier, importId, request.getInputStream());
+    ImportResponseDTO response = ImportResponseDTO.builder().incidentImport(incidentImport).build();
+    response.setCorrelationId(correlationId);
+    return response;
+  }
+
+  @Operation(
+      summary = "Get import progress",
+      description = "Fetch the progress and checkpoint of an incident import")
+  @GetMapping("/import/{importId}")
   @ResponseStatus(HttpStatus.OK)
-  public GetResponseDTO getIncident(
+  public ImportResponseDTO getImport(
+      @Parameter(
+              name = "importId",
+              description = "Import ID",
+              required = true,
+              in = ParameterIn.PATH)
+          @PathVariable
+          String importId,
+      @Parameter(
+              name = "accountIdentifier",
+              description = "accountIdentifier is the account the incidents are imported into",
+              in = ParameterIn.QUERY,
+              required = true)
+          @RequestParam
+          String accountIdentifier,
+      @Parameter(
+              name = "correlationId",
+              description = "correlationId is used to debug micro service communication",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          String correlationId) {
+    ImportResponseDTO response =
+        ImportResponseDTO.builder()
+            .incidentImport(incidentImportService.getImport(importId, accountIdentifier))
+            .build();
+    response.setCorrelationId(correlationId);
+    return response;
+  }
+
+  @Operation(
+      summary = "Get incident",
+      description =
+          "Fetch a specific incident by its identifier. Responses carry an ETag; when it matches"
+              + " If-None-Match, 304 is returned without the incident")
+  @GetMapping("/{incidentIdentifier}")
+  public ResponseEntity<GetResponseDTO> getIncident(
       @Parameter(
               name = "incidentIdentifier",
               description = "Incident identifier (ObjectId)",
@@ -188,8 +592,155 @@ public class IncidentController {
                   "projectIdentifier is the project where you want to access the resource",
               in = ParameterIn.QUERY)
           @RequestParam(required = false)
-          String projectIdentifier) {
+          String projectIdentifier,
+      @Parameter(hidden = true) @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+          String ifNoneMatch) {
+    if (ifNoneMatch != null) {
+      // Check the version first so an unchanged incident is never loaded, but only once the scope
+      // is checked, so a 304 never confirms an incident of another tenant
+      Incident version = incidentService.getIncidentVersion(incidentIdentifier);
+      requireInScope(version, accountIdentifier, orgIdentifier, projectIdentifier);
+      String etag = ETagUtil.forIncident(version);
+      if (ETagUtil.matches(ifNoneMatch, etag)) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+      }
+    }
+
     Incident incident = incidentService.getIncidentById(incidentIdentifier);
-    return GetResponseDTO.builder().incident(incident).build();
+    requireInScope(incident, accountIdentifier, orgIdentifier, projectIdentifier);
+    return ResponseEntity.ok()
+        .eTag(ETagUtil.forIncident(incident))
+        .body(GetResponseDTO.builder().incident(incident).build());
+  }
+
+  @Operation(
+      summary = "Get incident timeline",
+      description = "Fetch the timeline of an incident, newest entries first")
+  @GetMapping("/{incidentIdentifier}/timeline")
+  @ResponseStatus(HttpStatus.OK)
+  public TimelineResponseDTO getIncidentTimeline(
+      @Parameter(
+              name = "incidentIdentifier",
+              description = "Incident identifier (ObjectId)",
+              required = true,
+              in = ParameterIn.PATH)
+          @PathVariable
+          String incidentIdentifier,
+      @Parameter(
+              name = "accountIdentifier",
+              description =
+                  "accountIdentifier is the account where you want to access the resource",
+              in = ParameterIn.QUERY,
+              required = true)
+          @RequestParam
+          String accountIdentifier,
+      @Parameter(
+              name = "orgIdentifier",
+              description = "orgIdentifier is the org where you want to access the resource",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          String orgIdentifier,
+      @Parameter(
+              name = "projectIdentifier",
+              description =
+                  "projectIdentifier is the project where you want to access the resource",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          String projectIdentifier,
+      @Parameter(
+              name = "cursor",
+              description = "Cursor returned with the previous page, omit for the first page",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          String cursor,
+      @Parameter(
+              name = "limit",
+              description = "Pagination limit, default: 20",
+              in = ParameterIn.QUERY)
+          @RequestParam(defaultValue = "20")
+          int limit,
+      @Parameter(
+              name = "correlationId",
+              description = "correlationId is used to debug micro service communication",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          String correlationId) {
+    requireInScope(
+        incidentService.getIncidentById(incidentIdentifier),
+        accountIdentifier,
+        orgIdentifier,
+        projectIdentifier);
+    CursorPage<Timeline> page = timelineService.listTimeline(incidentIdentifier, cursor, limit);
+
+    return TimelineResponseDTO.builder()
+        .timelineResponse(
+            TimelineResponseDTO.TimelineResponse.builder()
+                .content(page.getContent())
+                .nextCursor(page.getNextCursor())
+                .correlationID(correlationId)
+                .build())
+        .build();
+  }
+
+  /**
+   * Incidents are looked up by id alone, so one outside the scope the caller was authorised for is
+   * reported as missing.
+   */
+  private static void requireInScope(
+      Incident incident, String accountIdentifier, String orgIdentifier, String projectIdentifier) {
+    boolean inScope =
+        accountIdentifier.equals(incident.getAccountIdentifier())
+            && (orgIdentifier == null
+                || orgIdentifier.isEmpty()
+                || orgIdentifier.equals(incident.getOrgIdentifier()))
+            && (projectIdentifier == null
+                || projectIdentifier.isEmpty()
+                || projectIdentifier.equals(incident.getProjectIdentifier()));
+    if (!inScope) {
+      throw new ResourceNotFoundException("Incident not found");
+    }
+  }
+
+  private static Criteria buildListCriteria(
+      String accountIdentifier,
+      String orgIdentifier,
+      String projectIdentifier,
+      Type type,
+      Severity severity,
+      Status status,
+      Boolean active,
+      String incidentChannelType,
+      String search) {
+    Criteria criteria = new Criteria();
+
+    criteria.and("accountIdentifier").is(accountIdentifier);
+
+    if (orgIdentifier != null && !orgIdentifier.isEmpty()) {
+      criteria.and("orgIdentifier").is(orgIdentifier);
+    }
+    if (projectIdentifier != null && !projectIdentifier.isEmpty()) {
+      criteria.and("projectIdentifier").is(projectIdentifier);
+    }
+    if (type != null) {
+      criteria.and("type").is(type);
+    }
+    if (severity != null) {
+      criteria.and("severity").is(severity);
+    }
+    if (status != null) {
+      criteria.and("status").is(status);
+    }
+    if (active != null) {
+      criteria.and("active").is(active);
+    }
+    if (incidentChannelType != null && !incidentChannelType.isEmpty()) {
+      criteria.and("incidentChannel.type").is(incidentChannelType);
+    }
+    if (search != null && !search.isEmpty()) {
+      criteria.orOperator(
+          Criteria.where("name").regex(search, "i"), Criteria.where("tags").regex(search, "i"));
+    }
+
+    return criteria;
   }
 }
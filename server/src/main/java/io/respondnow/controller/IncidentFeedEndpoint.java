@@ -0,0 +1,108 @@
+package io.respondnow.controller;
+
+import io.jsonwebtoken.Claims;
+import io.respondnow.service.feed.IncidentFeedService;
+import io.respondnow.service.hierarchy.ScopeService;
+import io.respondnow.util.JWTUtil;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import javax.websocket.CloseReason;
+import javax.websocket.Endpoint;
+import javax.websocket.EndpointConfig;
+import javax.websocket.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * WebSocket endpoint of the live incident feed at {@code /incident/feed}. Clients pass the scope to
+ * subscribe to as {@code accountIdentifier}, {@code orgIdentifier} and {@code projectIdentifier}
+ * query parameters and authenticate with a bearer token, either in the {@code Authorization} header
+ * or, for browsers which cannot set it, the {@code token} query parameter. The endpoint is outside
+ * Spring MVC, so it checks the user's access to the scope itself, like {@code
+ * ScopeAuthorizationInterceptor} does for requests. The server only sends; every message is a JSON
+ * {@code IncidentFeedEvent}.
+ */
+public class IncidentFeedEndpoint extends Endpoint {
+
+  private static final Logger logger = LoggerFactory.getLogger(IncidentFeedEndpoint.class);
+
+  /** User property the handshake stores the bearer token from the Authorization header in. */
+  public static final String TOKEN_PROPERTY = "token";
+
+  private final IncidentFeedService incidentFeedService;
+  private final ScopeService scopeService;
+  private final JWTUtil jwtUtil;
+
+  public IncidentFeedEndpoint(
+      IncidentFeedService incidentFeedService, ScopeService scopeService, JWTUtil jwtUtil) {
+    this.incidentFeedService = incidentFeedService;
+    this.scopeService = scopeService;
+    this.jwtUtil = jwtUtil;
+  }
+
+  @Override
+  public void onOpen(Session session, EndpointConfig config) {
+    Map<String, List<String>> parameters = session.getRequestParameterMap();
+    String token = (String) config.getUserProperties().get(TOKEN_PROPERTY);
+    if (token == null) {
+      token = firstValue(parameters, "token");
+    }
+    String userId = userId(token);
+    if (userId == null) {
+      close(session, CloseReason.CloseCodes.VIOLATED_POLICY, "Unauthorized");
+      return;
+    }
+
+    String accountIdentifier = firstValue(parameters, "accountIdentifier");
+    if (accountIdentifier == null) {
+      close(session, CloseReason.CloseCodes.CANNOT_ACCEPT, "accountIdentifier is required");
+      return;
+    }
+    String orgIdentifier = firstValue(parameters, "orgIdentifier");
+    String projectIdentifier = firstValue(parameters, "projectIdentifier");
+    if (!scopeService.canAccess(userId, accountIdentifier, orgIdentifier, projectIdentifier)) {
+      close(session, CloseReason.CloseCodes.VIOLATED_POLICY, "Access to this scope is not allowed");
+      return;
+    }
+    boolean subscribed =
+        incidentFeedService.subscribe(session, accountIdentifier, orgIdentifier, projectIdentifier);
+    if (!subscribed) {
+      close(session, CloseReason.CloseCodes.TRY_AGAIN_LATER, "Too many subscribers");
+    }
+  }
+
+  @Override
+  public void onClose(Session session, CloseReason closeReason) {
+    incidentFeedService.unsubscribe(session);
+  }
+
+  @Override
+  public void onError(Session session, Throwable error) {
+    logger.debug("Incident feed session {} failed: {}", session.getId(), error.getMessage());
+    incidentFeedService.unsubscribe(session);
+  }
+
+  /** Returns the userId of a valid token, or null when the token is missing or invalid. */
+  private String userId(String token) {
+    if (token == null || token.isEmpty()) {
+      return null;
+    }
+    Claims claims = jwtUtil.verifyToken(token);
+    // The username claim holds the userId the user mappings refer to
+    return claims != null ? claims.get("username", String.class) : null;
+  }
+
+  private static String firstValue(Map<String, List<String>> parameters, String name) {
+    List<String> values = parameters.get(name);
+    return values == null || values.isEmpty() || values.get(0).isEmpty() ? null : values.get(0);
+  }
+
+  private static void close(Session session, CloseReason.CloseCode code, String reason) {
+    try {
+      session.close(new CloseReason(code, reason));
+    } catch (IOException e) {
+      logger.debug("Failed to close incident feed session {}", session.getId(), e);
+    }
+  }
+}
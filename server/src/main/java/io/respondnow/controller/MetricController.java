@@ -1,7 +1,19 @@
 package io.respondnow.controller;
 
+import io.respondnow.dto.analytics.AnalyticsResponseDTO;
+import io.respondnow.dto.metrics.MetricsSummaryResponseDTO;
+import io.respondnow.model.analytics.Granularity;
+import io.respondnow.model.analytics.IncidentAnalytics;
+import io.respondnow.service.analytics.IncidentAnalyticsService;
+import io.respondnow.service.metrics.MetricsSummaryService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.time.Duration;
+import java.time.Instant;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
 @Tag(name = "Metrics", description = "Metrics related operations")
@@ -9,9 +21,102 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/metrics")
 public class MetricController {
 
-  @Operation(summary = "Get Metrics", description = "This endpoint returns the application metrics")
+  @Autowired private IncidentAnalyticsService incidentAnalyticsService;
+  @Autowired private MetricsSummaryService metricsSummaryService;
+
+  @Operation(
+      summary = "Get Metrics",
+      description =
+          "This endpoint returns a summary of the application metrics: open incidents and the"
+              + " timings of service calls, Slack API requests, Slack interactions and incident"
+              + " statuses. The full set is scraped from /actuator/prometheus")
   @GetMapping
-  public String metrics() {
-    return "Metrics exposed";
+  @ResponseStatus(HttpStatus.OK)
+  public MetricsSummaryResponseDTO metrics(
+      @Parameter(
+              name = "correlationId",
+              description = "correlationId is used to debug micro service communication",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          String correlationId) {
+    MetricsSummaryResponseDTO response =
+        MetricsSummaryResponseDTO.builder().summary(metricsSummaryService.getSummary()).build();
+    response.setCorrelationId(correlationId);
+    return response;
+  }
+
+  @Operation(
+      summary = "Get incident analytics",
+      description =
+          "Time to acknowledge and resolve, incident trends by severity, type and service, and the"
+              + " most impacted services, read from daily rollups")
+  @GetMapping("/incidents")
+  @ResponseStatus(HttpStatus.OK)
+  public AnalyticsResponseDTO incidentAnalytics(
+      @Parameter(
+              name = "accountIdentifier",
+              description =
+                  "accountIdentifier is the account where you want to access the resource",
+              in = ParameterIn.QUERY,
+              required = true)
+          @RequestParam
+          String accountIdentifier,
+      @Parameter(
+              name = "orgIdentifier",
+              description = "orgIdentifier is the org where you want to access the resource",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          String orgIdentifier,
+      @Parameter(
+              name = "projectIdentifier",
+              description =
+                  "projectIdentifier is the project where you want to access the resource",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          String projectIdentifier,
+      @Parameter(
+              name = "from",
+              description = "Start of the range in epoch seconds, defaults to 30 days ago",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          Long from,
+      @Parameter(
+              name = "to",
+              description = "End of the range in epoch seconds, exclusive, defaults to now",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          Long to,
+      @Parameter(
+              name = "granularity",
+              description = "Period of the trend points, Day or Week",
+              in = ParameterIn.QUERY)
+          @RequestParam(defaultValue = "Day")
+          Granularity granularity,
+      @Parameter(
+              name = "topServices",
+              description = "Number of most impacted services to return",
+              in = ParameterIn.QUERY)
+          @RequestParam(defaultValue = "10")
+          int topServices,
+      @Parameter(
+              name = "correlationId",
+              description = "correlationId is used to debug micro service communication",
+              in = ParameterIn.QUERY)
+          @RequestParam(required = false)
+          String correlationId) {
+    long end = to != null ? to : Instant.now().getEpochSecond();
+    long start = from != null ? from : end - Duration.ofDays(30).getSeconds();
+    IncidentAnalytics analytics =
+        incidentAnalyticsService.getAnalytics(
+            accountIdentifier,
+            orgIdentifier,
+            projectIdentifier,
+            start,
+            end,
+            granularity,
+            Math.max(topServices, 0));
+    AnalyticsResponseDTO response = AnalyticsResponseDTO.builder().analytics(analytics).build();
+    response.setCorrelationId(correlationId);
+    return response;
   }
 }
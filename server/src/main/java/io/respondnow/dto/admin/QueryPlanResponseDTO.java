@@ -0,0 +1,41 @@
+package io.respondnow.dto.admin;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.respondnow.dto.DefaultResponseDTO;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Builder
+public class QueryPlanResponseDTO extends DefaultResponseDTO {
+
+  @JsonProperty("data")
+  private QueryPlanResponse queryPlanResponse;
+
+  @Getter
+  @Setter
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  @Builder
+  public static class QueryPlanResponse {
+    private List<QueryPlan> plans;
+    private long collectionScans;
+    private String correlationID;
+  }
+
+  @Getter
+  @Setter
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public static class QueryPlan {
+    private String name;
+    private String collection;
+    private String filter;
+    private List<String> stages;
+    private boolean collectionScan;
+    private String error;
+  }
+}
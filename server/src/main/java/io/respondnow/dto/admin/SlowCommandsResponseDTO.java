@@ -0,0 +1,30 @@
+package io.respondnow.dto.admin;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.respondnow.dto.DefaultResponseDTO;
+import io.respondnow.model.mongo.SlowCommand;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Builder
+public class SlowCommandsResponseDTO extends DefaultResponseDTO {
+
+  @JsonProperty("data")
+  private SlowCommandsResponse slowCommandsResponse;
+
+  @Getter
+  @Setter
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  @Builder
+  public static class SlowCommandsResponse {
+    private List<SlowCommand> commands;
+    private long thresholdMillis;
+    private String correlationID;
+  }
+}
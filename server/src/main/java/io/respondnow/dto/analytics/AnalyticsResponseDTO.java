@@ -0,0 +1,19 @@
+package io.respondnow.dto.analytics;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.respondnow.dto.DefaultResponseDTO;
+import io.respondnow.model.analytics.IncidentAnalytics;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Builder
+public class AnalyticsResponseDTO extends DefaultResponseDTO {
+
+  @JsonProperty("data")
+  private IncidentAnalytics analytics;
+}
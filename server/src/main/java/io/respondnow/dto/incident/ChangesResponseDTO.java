@@ -0,0 +1,31 @@
+package io.respondnow.dto.incident;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.respondnow.dto.DefaultResponseDTO;
+import io.respondnow.model.incident.Incident;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Builder
+public class ChangesResponseDTO extends DefaultResponseDTO {
+
+  @JsonProperty("data")
+  private ChangesResponse changesResponse;
+
+  @Getter
+  @Setter
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  @Builder
+  public static class ChangesResponse {
+    private List<Incident> content;
+    private String watermark;
+    private boolean hasMore;
+    private String correlationID;
+  }
+}
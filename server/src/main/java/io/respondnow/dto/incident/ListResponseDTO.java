@@ -6,6 +6,7 @@ import io.respondnow.dto.DefaultResponseDTO;
 import io.respondnow.model.api.Pagination;
 import io.respondnow.model.incident.Incident;
 import java.util.List;
+import java.util.Map;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
@@ -26,6 +27,7 @@ public class ListResponseDTO extends DefaultResponseDTO {
   public static class ListResponse {
     private List<Incident> content;
     private Pagination pagination;
+    private Map<String, Map<String, Long>> facets;
     private String correlationID;
   }
 }
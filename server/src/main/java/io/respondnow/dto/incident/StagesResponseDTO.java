@@ -0,0 +1,29 @@
+package io.respondnow.dto.incident;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.respondnow.dto.DefaultResponseDTO;
+import io.respondnow.model.incident.IncidentStage;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Builder
+public class StagesResponseDTO extends DefaultResponseDTO {
+
+  @JsonProperty("data")
+  private StagesResponse stagesResponse;
+
+  @Getter
+  @Setter
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  @Builder
+  public static class StagesResponse {
+    private List<IncidentStage> content;
+    private String correlationID;
+  }
+}
@@ -0,0 +1,30 @@
+package io.respondnow.dto.incident;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.respondnow.dto.DefaultResponseDTO;
+import io.respondnow.model.incident.Timeline;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Builder
+public class TimelineResponseDTO extends DefaultResponseDTO {
+
+  @JsonProperty("data")
+  private TimelineResponse timelineResponse;
+
+  @Getter
+  @Setter
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  @Builder
+  public static class TimelineResponse {
+    private List<Timeline> content;
+    private String nextCursor;
+    private String correlationID;
+  }
+}
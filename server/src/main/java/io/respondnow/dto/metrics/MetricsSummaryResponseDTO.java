@@ -0,0 +1,19 @@
+package io.respondnow.dto.metrics;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.respondnow.dto.DefaultResponseDTO;
+import io.respondnow.model.metrics.MetricsSummary;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Builder
+public class MetricsSummaryResponseDTO extends DefaultResponseDTO {
+
+  @JsonProperty("data")
+  private MetricsSummary summary;
+}
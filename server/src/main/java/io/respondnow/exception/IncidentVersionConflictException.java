@@ -0,0 +1,7 @@
+package io.respondnow.exception;
+
+public class IncidentVersionConflictException extends RuntimeException {
+  public IncidentVersionConflictException(String message) {
+    super(message);
+  }
+}
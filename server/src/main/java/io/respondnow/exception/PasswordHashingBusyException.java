@@ -0,0 +1,7 @@
+package io.respondnow.exception;
+
+public class PasswordHashingBusyException extends RuntimeException {
+  public PasswordHashingBusyException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,23 @@
+package io.respondnow.model.analytics;
+
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Distribution of a duration in seconds. Percentiles are interpolated within histogram buckets, so
+ * they are estimates whose error is bounded by the bucket width.
+ */
+@Data
+@NoArgsConstructor
+@Getter
+@Setter
+public class DurationStats {
+
+  private long count;
+  private Double mean;
+  private Double p50;
+  private Double p90;
+  private Double p99;
+}
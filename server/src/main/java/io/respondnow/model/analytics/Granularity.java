@@ -0,0 +1,16 @@
+package io.respondnow.model.analytics;
+
+import lombok.Getter;
+
+/** The length of the periods incident trends are reported in. Weeks start on Monday, in UTC. */
+@Getter
+public enum Granularity {
+  Day("Day"),
+  Week("Week");
+
+  private final String value;
+
+  Granularity(String value) {
+    this.value = value;
+  }
+}
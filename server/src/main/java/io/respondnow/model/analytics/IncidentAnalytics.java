@@ -0,0 +1,33 @@
+package io.respondnow.model.analytics;
+
+import java.util.List;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Data
+@NoArgsConstructor
+@Getter
+@Setter
+public class IncidentAnalytics {
+
+  /** Start of the first day covered, in epoch seconds. */
+  private long from;
+
+  /** End of the last day covered, exclusive, in epoch seconds. */
+  private long to;
+
+  private Granularity granularity;
+
+  /** Time from creation until an incident first left the Started status. */
+  private DurationStats timeToAcknowledge;
+
+  /** Time from creation until an incident was resolved. */
+  private DurationStats timeToResolve;
+
+  private List<TrendPoint> trends;
+
+  /** The services involved in the most incidents created in the range, most impacted first. */
+  private List<ServiceImpact> topServices;
+}
@@ -0,0 +1,69 @@
+package io.respondnow.model.analytics;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Incident activity of one scope on one UTC day, either in total or for a single severity, type or
+ * service. Rollups are only ever incremented, as incidents are created and change status.
+ */
+@Data
+@NoArgsConstructor
+@Getter
+@Setter
+@Document(collection = "incidentRollups")
+public class IncidentRollup {
+
+  public static final String DIMENSION_ALL = "all";
+  public static final String DIMENSION_SEVERITY = "severity";
+  public static final String DIMENSION_TYPE = "type";
+  public static final String DIMENSION_SERVICE = "service";
+
+  /** The scope, day, dimension and value of the rollup, so increments can upsert by id. */
+  @Id private Key id;
+
+  private String accountIdentifier;
+  private String orgIdentifier;
+  private String projectIdentifier;
+
+  /** Start of the UTC day, in epoch seconds. */
+  private long day;
+
+  private String dimension;
+  private String value;
+
+  private long created;
+  private long acknowledged;
+  private long acknowledgeSeconds;
+  private long resolved;
+  private long resolveSeconds;
+
+  /**
+   * Number of acknowledgements per duration bucket, keyed by the upper bound of the bucket in
+   * seconds ({@code le60}, {@code le300}, ...) or {@code inf} for the unbounded last bucket; see
+   * {@code IncidentAnalyticsServiceImpl#HISTOGRAM_BOUNDS}.
+   */
+  private Map<String, Long> acknowledgeHistogram = new HashMap<>();
+
+  /** Number of resolutions per duration bucket, keyed like {@link #acknowledgeHistogram}. */
+  private Map<String, Long> resolveHistogram = new HashMap<>();
+
+  @Data
+  @NoArgsConstructor
+  @Getter
+  @Setter
+  public static class Key {
+    private String accountIdentifier;
+    private String orgIdentifier;
+    private String projectIdentifier;
+    private long day;
+    private String dimension;
+    private String value;
+  }
+}
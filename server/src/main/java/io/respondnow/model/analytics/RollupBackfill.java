@@ -0,0 +1,36 @@
+package io.respondnow.model.analytics;
+
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Progress of the backfill of the incident rollups. Only the node holding the claim backfills, and
+ * once the backfill completed no node scans the incidents again.
+ */
+@Data
+@NoArgsConstructor
+@Getter
+@Setter
+@Document(collection = "incidentRollupBackfills")
+public class RollupBackfill {
+
+  @Id private String id;
+
+  private boolean completed;
+
+  /** The node currently backfilling, null when nobody is. */
+  private String owner;
+
+  /** When the owner last reported progress (in Unix time). */
+  private Long heartbeatAt;
+
+  /** The id of the last incident backfilled, from which an interrupted backfill resumes. */
+  private String lastId;
+
+  private long counted;
+  private Long completedAt;
+}
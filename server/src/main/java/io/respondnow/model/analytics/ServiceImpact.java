@@ -0,0 +1,19 @@
+package io.respondnow.model.analytics;
+
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** How many incidents a service was involved in, and how long they took to resolve. */
+@Data
+@NoArgsConstructor
+@Getter
+@Setter
+public class ServiceImpact {
+
+  private String serviceName;
+  private long incidents;
+  private long resolved;
+  private Double meanTimeToResolve;
+}
@@ -0,0 +1,29 @@
+package io.respondnow.model.analytics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** Incident activity within one period of a trend. */
+@Data
+@NoArgsConstructor
+@Getter
+@Setter
+public class TrendPoint {
+
+  /** Start of the period, in epoch seconds. */
+  private long periodStart;
+
+  private long created;
+  private long acknowledged;
+  private long resolved;
+
+  /** Incidents created in the period, by severity, type and service. */
+  private Map<String, Long> bySeverity = new TreeMap<>();
+
+  private Map<String, Long> byType = new TreeMap<>();
+  private Map<String, Long> byService = new TreeMap<>();
+}
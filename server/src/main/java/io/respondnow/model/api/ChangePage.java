@@ -0,0 +1,27 @@
+package io.respondnow.model.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Builder
+public class ChangePage<T> {
+
+  /** Items changed after the requested watermark, oldest change first. */
+  @JsonProperty("content")
+  private List<T> content;
+
+  /** Opaque watermark to request the changes after this page with; never null. */
+  @JsonProperty("watermark")
+  private String watermark;
+
+  /** Whether more changes are available right away, i.e. the page was full. */
+  @JsonProperty("hasMore")
+  private boolean hasMore;
+}
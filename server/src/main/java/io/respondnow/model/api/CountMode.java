@@ -0,0 +1,11 @@
+package io.respondnow.model.api;
+
+/** How the total number of items is computed for a paginated list. */
+public enum CountMode {
+  /** Count every matching item. */
+  Exact,
+  /** Stop counting at a cap; the total is then a lower bound. */
+  Approximate,
+  /** Skip counting altogether. */
+  None
+}
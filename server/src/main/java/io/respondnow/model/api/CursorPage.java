@@ -0,0 +1,34 @@
+package io.respondnow.model.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import java.util.Map;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Builder
+public class CursorPage<T> {
+
+  @JsonProperty("content")
+  private List<T> content;
+
+  @JsonProperty("limit")
+  private long limit;
+
+  /** Opaque cursor of the next page, or null when there are no further results. */
+  @JsonProperty("nextCursor")
+  private String nextCursor;
+
+  /** Number of items matching the filter across all pages, when it was computed. */
+  @JsonProperty("totalItems")
+  private Long totalItems;
+
+  /** Number of matching items per value of each faceted field, when they were computed. */
+  @JsonProperty("facets")
+  private Map<String, Map<String, Long>> facets;
+}
@@ -0,0 +1,20 @@
+package io.respondnow.model.api;
+
+import lombok.Getter;
+
+/** Output format of a streaming export. */
+@Getter
+public enum ExportFormat {
+  /** One JSON document per line. */
+  Ndjson("application/x-ndjson", "ndjson"),
+  /** Comma separated values with a header row; nested fields are flattened. */
+  Csv("text/csv", "csv");
+
+  private final String contentType;
+  private final String extension;
+
+  ExportFormat(String contentType, String extension) {
+    this.contentType = contentType;
+    this.extension = extension;
+  }
+}
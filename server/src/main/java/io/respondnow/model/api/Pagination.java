@@ -27,11 +27,32 @@ public class Pagination {
   @JsonProperty("totalItems")
   private long totalItems;
 
+  /** Whether totalItems is a lower bound because counting stopped at a cap. */
+  @JsonProperty("approximate")
+  private Boolean approximate;
+
+  /** Opaque cursor of the next page, or null when there are no further results. */
+  @JsonProperty("nextCursor")
+  private String nextCursor;
+
   public Pagination(boolean all, long index, long limit, long totalPages, long totalItems) {
+    this(all, index, limit, totalPages, totalItems, null, null);
+  }
+
+  public Pagination(
+      boolean all,
+      long index,
+      long limit,
+      long totalPages,
+      long totalItems,
+      Boolean approximate,
+      String nextCursor) {
     this.all = all;
     this.index = index;
     this.limit = limit;
     this.totalPages = totalPages;
     this.totalItems = totalItems;
+    this.approximate = approximate;
+    this.nextCursor = nextCursor;
   }
 }
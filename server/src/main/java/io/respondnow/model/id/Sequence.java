@@ -0,0 +1,22 @@
+package io.respondnow.model.id;
+
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/** A named counter from which blocks of sequence numbers are allocated. */
+@Data
+@NoArgsConstructor
+@Getter
+@Setter
+@Document(collection = "sequences")
+public class Sequence {
+
+  @Id private String id;
+
+  /** The last number handed out in a block. */
+  private long value;
+}
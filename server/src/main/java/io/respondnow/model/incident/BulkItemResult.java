@@ -0,0 +1,22 @@
+package io.respondnow.model.incident;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class BulkItemResult {
+
+  /** Position of the incident in the create or update list it was submitted in. */
+  private int index;
+
+  private String id;
+
+  private String identifier;
+
+  private BulkItemStatus status;
+
+  private String error;
+}
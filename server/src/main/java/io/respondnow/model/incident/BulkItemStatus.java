@@ -0,0 +1,18 @@
+package io.respondnow.model.incident;
+
+import lombok.Getter;
+
+@Getter
+public enum BulkItemStatus {
+  Created("Created"),
+  Updated("Updated"),
+  Duplicate("Duplicate"),
+  ValidationFailed("ValidationFailed"),
+  WriteFailed("WriteFailed");
+
+  private final String value;
+
+  BulkItemStatus(String value) {
+    this.value = value;
+  }
+}
@@ -0,0 +1,50 @@
+package io.respondnow.model.incident;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@Getter
+@Setter
+public class BulkResult {
+
+  private long created;
+  private long updated;
+  private long duplicates;
+  private long validationFailed;
+  private long writeFailed;
+
+  /** Outcome of every submitted create, see {@link BulkItemResult#getIndex()} for its position. */
+  private List<BulkItemResult> creates = new ArrayList<>();
+
+  /** Outcome of every submitted update, see {@link BulkItemResult#getIndex()} for its position. */
+  private List<BulkItemResult> updates = new ArrayList<>();
+
+  /**
+   * Records the outcome of a create or update and updates the counters accordingly.
+   *
+   * @param item The item outcome.
+   * @param create Whether the item was submitted for creation.
+   */
+  public void addItem(BulkItemResult item, boolean create) {
+    (create ? creates : updates).add(item);
+    switch (item.getStatus()) {
+      case Created:
+        created++;
+        break;
+      case Updated:
+        updated++;
+        break;
+      case Duplicate:
+        duplicates++;
+        break;
+      case ValidationFailed:
+        validationFailed++;
+        break;
+      default:
+        writeFailed++;
+    }
+  }
+}
@@ -0,0 +1,16 @@
+package io.respondnow.model.incident;
+
+import lombok.Getter;
+
+@Getter
+public enum ImportStatus {
+  Running("Running"),
+  Completed("Completed"),
+  Failed("Failed");
+
+  private final String value;
+
+  ImportStatus(String value) {
+    this.value = value;
+  }
+}
@@ -1,5 +1,6 @@
 package io.respondnow.model.incident;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import io.respondnow.model.user.UserDetails;
 import java.util.ArrayList;
@@ -10,6 +11,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
@@ -22,11 +24,18 @@ public class Incident {
 
   @Id private String id;
 
+  /** Incremented on every write, used to detect concurrent read-modify-write updates. */
+  @Version private Long version;
+
   private String accountIdentifier;
   private String orgIdentifier;
   private String projectIdentifier;
   private String name;
   private String identifier;
+
+  /** Sequence number of the incident within its account, shown as INC-{number}. */
+  private Long number;
+
   private String description;
   private List<String> tags;
   private Type type;
@@ -58,6 +67,21 @@ public class Incident {
   private Long removedAt;
   private Boolean removed;
 
+  /** When the incident first left the Started status; set once and never moved. */
+  private Long acknowledgedAt;
+
+  /** When the incident was first resolved; set once and never moved, even when it is reopened. */
+  private Long resolvedAt;
+
+  /** Whether the incident is counted in the analytics rollups. */
+  @JsonIgnore private Boolean rolledUp;
+
+  /**
+   * Whether the full timeline history lives in the bucket collection, in which case {@code
+   * timelines} only holds a preview of the latest entries.
+   */
+  @JsonIgnore private Boolean timelinesBucketed;
+
   /**
    * Adds a Timeline entry to the Incident's timeline history.
    *
@@ -0,0 +1,30 @@
+package io.respondnow.model.incident;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.Map;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A change to an incident as pushed to live feed subscribers. Created and replaced incidents carry
+ * all their fields in {@code changes}; updates only carry the top level fields that changed, with a
+ * null value for removed fields. The timeline is never included.
+ */
+@Data
+@NoArgsConstructor
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class IncidentFeedEvent {
+  private IncidentFeedEventType type;
+  private String id;
+  private String identifier;
+  private String accountIdentifier;
+  private String orgIdentifier;
+  private String projectIdentifier;
+  private Long version;
+  private Long updatedAt;
+  private Map<String, Object> changes;
+}
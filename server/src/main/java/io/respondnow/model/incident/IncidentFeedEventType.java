@@ -0,0 +1,16 @@
+package io.respondnow.model.incident;
+
+import lombok.Getter;
+
+@Getter
+public enum IncidentFeedEventType {
+  Created("Created"),
+  Updated("Updated"),
+  Replaced("Replaced");
+
+  private final String value;
+
+  IncidentFeedEventType(String value) {
+    this.value = value;
+  }
+}
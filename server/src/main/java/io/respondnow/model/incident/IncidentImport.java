@@ -0,0 +1,40 @@
+package io.respondnow.model.incident;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Progress of a bulk incident import. The checkpoint is the number of leading input records whose
+ * writes have completed, so an interrupted import can be resumed by sending the same input again.
+ */
+@Data
+@NoArgsConstructor
+@Getter
+@Setter
+@Document(collection = "incidentImports")
+public class IncidentImport {
+
+  @Id private String id;
+
+  private String accountIdentifier;
+  private ImportStatus status;
+  private long checkpoint;
+  private long created;
+  private long duplicates;
+  private long validationFailed;
+  private long writeFailed;
+
+  /** The first failed records, with {@code index} set to their 0-based record number. */
+  private List<BulkItemResult> errors = new ArrayList<>();
+
+  private String error;
+  private Long createdAt;
+  private Long updatedAt;
+  private Long completedAt;
+}
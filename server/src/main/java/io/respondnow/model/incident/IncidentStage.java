@@ -0,0 +1,44 @@
+package io.respondnow.model.incident;
+
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * A completed stage of an incident, i.e. the time it spent in one status before moving to the next.
+ * Kept in a collection of its own, so the slowest stages of a kind can be read from an index
+ * instead of scanning the stages embedded in every incident.
+ */
+@Data
+@NoArgsConstructor
+@Getter
+@Setter
+@Document(collection = "incidentStages")
+public class IncidentStage {
+
+  @Id private String id;
+
+  /** The {@link Stage#getStageId()} of the embedded stage. */
+  private String stageId;
+
+  private String incidentId;
+  private String incidentIdentifier;
+  private String accountIdentifier;
+  private String orgIdentifier;
+  private String projectIdentifier;
+
+  /** The status of the incident during the stage. */
+  private Status type;
+
+  /** The status the incident moved to when the stage ended. */
+  private Status nextType;
+
+  private Long startedAt;
+  private Long endedAt;
+
+  /** Seconds between the start and the end of the stage. */
+  private Long duration;
+}
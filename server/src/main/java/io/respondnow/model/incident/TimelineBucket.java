@@ -0,0 +1,35 @@
+package io.respondnow.model.incident;
+
+import java.util.List;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * A fixed-size bucket of timeline entries belonging to a single incident. Entries are appended in
+ * time order and a new bucket is started once {@code count} reaches the configured bucket size.
+ * Buckets are numbered by {@code seq}, which is unique per incident, so at most one bucket of an
+ * incident can be open at any time.
+ */
+@Data
+@NoArgsConstructor
+@Getter
+@Setter
+@Document(collection = "incidentTimelines")
+public class TimelineBucket {
+
+  @Id private String id;
+
+  private String incidentIdentifier;
+
+  /** Position of the bucket in the timeline of the incident, starting at 0. */
+  private Integer seq;
+
+  private Long startAt;
+  private Long endAt;
+  private Integer count;
+  private List<Timeline> entries;
+}
@@ -0,0 +1,26 @@
+package io.respondnow.model.metrics;
+
+import java.util.List;
+import java.util.Map;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** A snapshot of the application metrics; timers are ordered by total time, longest first. */
+@Data
+@NoArgsConstructor
+@Getter
+@Setter
+public class MetricsSummary {
+
+  private long generatedAt;
+
+  /** Open incidents by severity, status, type and service. */
+  private Map<String, Map<String, Long>> openIncidents;
+
+  private List<TimerSummary> serviceCalls;
+  private List<TimerSummary> slackApiRequests;
+  private List<TimerSummary> slackInteractions;
+  private List<TimerSummary> statusDurations;
+}
@@ -0,0 +1,24 @@
+package io.respondnow.model.metrics;
+
+import java.util.Map;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** The calls recorded by one timer since startup. */
+@Data
+@NoArgsConstructor
+@Getter
+@Setter
+public class TimerSummary {
+
+  private String name;
+  private Map<String, String> tags;
+  private long count;
+  private double totalMillis;
+  private double meanMillis;
+
+  /** The longest call within the last few minutes. */
+  private double maxMillis;
+}
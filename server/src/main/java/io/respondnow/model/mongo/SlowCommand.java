@@ -0,0 +1,33 @@
+package io.respondnow.model.mongo;
+
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** A MongoDB command that took longer than the slow command threshold. */
+@Data
+@NoArgsConstructor
+@Getter
+@Setter
+public class SlowCommand {
+
+  /** When the command completed, in epoch milliseconds. */
+  private long completedAt;
+
+  private String database;
+  private String collection;
+  private String command;
+  private double durationMillis;
+
+  /** Size of the reply in bytes, or null when it failed or is unknown. */
+  private Long replyBytes;
+
+  /**
+   * The command with every value replaced by {@code "?"}, keeping field names, operators and sort
+   * directions, e.g. {@code {"find": "incidents", "filter": {"status": {"$in": ["?"]}}}}.
+   */
+  private String shape;
+
+  private String error;
+}
@@ -1,10 +1,14 @@
 package io.respondnow.repository;
 
 import io.respondnow.model.hierarchy.Account;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import javax.validation.constraints.NotBlank;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 public interface AccountRepository extends MongoRepository<Account, String> {
   Optional<Account> findByAccountIdentifier(@NotBlank String accountIdentifier);
+
+  List<Account> findByAccountIdentifierIn(Collection<String> accountIdentifiers);
 }
@@ -0,0 +1,20 @@
+package io.respondnow.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/** The user a request was authenticated as, taken from the claims of its JWT. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class AuthenticatedUser implements AuthenticatedPrincipal {
+  private String name;
+  private String userId;
+  private String email;
+}
@@ -1,13 +1,19 @@
 package io.respondnow.security;
 
+import io.jsonwebtoken.Claims;
 import io.respondnow.util.JWTUtil;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -16,8 +22,15 @@ import org.springframework.web.filter.OncePerRequestFilter;
 @Component
 public class JWTAuthenticationFilter extends OncePerRequestFilter {
 
+  /** Authority of the users allowed to call the {@code /admin} endpoints. */
+  public static final String ADMIN_ROLE = "ADMIN";
+
   @Autowired private JWTUtil jwtUtil;
 
+  /** Nobody is an admin unless configured, the admin endpoints can drop indexes. */
+  @Value("${auth.adminUserIds:}")
+  private Set<String> adminUserIds;
+
   @Override
   protected void doFilterInternal(
       HttpServletRequest request,
@@ -26,11 +39,21 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
       throws ServletException, IOException {
 
     String token = getJWTFromRequest(request);
-    if (token != null && jwtUtil.validateToken(token, jwtUtil.getUsernameFromToken(token))) {
+    // Parsed and verified once, then served from the verified claims cache
+    Claims claims = token != null ? jwtUtil.verifyToken(token) : null;
+    if (claims != null) {
+      // The username claim holds the userId the user mappings refer to
+      AuthenticatedUser user =
+          new AuthenticatedUser(
+              claims.getSubject(),
+              claims.get("username", String.class),
+              claims.get("email", String.class));
+      List<GrantedAuthority> authorities = new ArrayList<>();
+      if (adminUserIds.contains(user.getUserId())) {
+        authorities.add(new SimpleGrantedAuthority("ROLE_" + ADMIN_ROLE));
+      }
       UsernamePasswordAuthenticationToken authentication =
-          new UsernamePasswordAuthenticationToken(
-              jwtUtil.getUsernameFromToken(token), null, new ArrayList<>() // No authorities needed
-              );
+          new UsernamePasswordAuthenticationToken(user, null, authorities);
       authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
       SecurityContextHolder.getContext().setAuthentication(authentication);
     }
@@ -0,0 +1,45 @@
+package io.respondnow.security;
+
+import io.respondnow.service.hierarchy.ScopeService;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Rejects requests for an account, org or project the authenticated user is not mapped to. The
+ * scope is taken from the {@code accountIdentifier}, {@code orgIdentifier} and {@code
+ * projectIdentifier} query parameters; requests without an account are left to the handler.
+ */
+@Component
+public class ScopeAuthorizationInterceptor implements HandlerInterceptor {
+
+  @Autowired private ScopeService scopeService;
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+      throws Exception {
+    String accountIdentifier = request.getParameter("accountIdentifier");
+    if (accountIdentifier == null || accountIdentifier.isEmpty()) {
+      return true;
+    }
+
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    String userId =
+        authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser
+            ? ((AuthenticatedUser) authentication.getPrincipal()).getUserId()
+            : null;
+    if (scopeService.canAccess(
+        userId,
+        accountIdentifier,
+        request.getParameter("orgIdentifier"),
+        request.getParameter("projectIdentifier"))) {
+      return true;
+    }
+    response.sendError(HttpServletResponse.SC_FORBIDDEN, "Access to this scope is not allowed");
+    return false;
+  }
+}
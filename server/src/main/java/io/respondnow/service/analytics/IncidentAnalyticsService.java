@@ -0,0 +1,26 @@
+package io.respondnow.service.analytics;
+
+import io.respondnow.model.analytics.Granularity;
+import io.respondnow.model.analytics.IncidentAnalytics;
+import io.respondnow.model.incident.Incident;
+import java.util.List;
+
+public interface IncidentAnalyticsService {
+  void markRolledUp(Incident incident);
+
+  void recordCreated(List<Incident> incidents);
+
+  void recordStatusChange(
+      Incident incident, boolean acknowledged, boolean resolved, long changedAt);
+
+  void backfill();
+
+  IncidentAnalytics getAnalytics(
+      String accountIdentifier,
+      String orgIdentifier,
+      String projectIdentifier,
+      long from,
+      long to,
+      Granularity granularity,
+      int topServices);
+}
@@ -0,0 +1,715 @@
+package io.respondnow.service.analytics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.respondnow.exception.BadRequestException;
+import io.respondnow.model.analytics.DurationStats;
+import io.respondnow.model.analytics.Granularity;
+import io.respondnow.model.analytics.IncidentAnalytics;
+import io.respondnow.model.analytics.IncidentRollup;
+import io.respondnow.model.analytics.RollupBackfill;
+import io.respondnow.model.analytics.ServiceImpact;
+import io.respondnow.model.analytics.TrendPoint;
+import io.respondnow.model.incident.ChangeType;
+import io.respondnow.model.incident.Incident;
+import io.respondnow.model.incident.Service;
+import io.respondnow.model.incident.Stage;
+import io.respondnow.model.incident.Status;
+import io.respondnow.model.incident.Timeline;
+import io.respondnow.service.incident.IncidentCacheService;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Maintains daily incident rollups and answers analytics queries from them. Every create and status
+ * change increments the rollups of its day in one bulk upsert: one in total plus one per severity,
+ * type and service of the incident. A query then reads at most a few documents per day of its
+ * range, however many incidents there are.
+ *
+ * <p>Acknowledgement and resolution durations are recorded on the day of the transition, together
+ * with a histogram over {@link #HISTOGRAM_BOUNDS} from which percentiles are estimated. An incident
+ * counts as acknowledged when it first leaves the Started status and as resolved when it is first
+ * resolved; both times are kept on the incident, so a reopened incident is never counted twice.
+ *
+ * <p>Incidents created before the rollups existed are counted by a backfill on startup, which
+ * derives their acknowledgement and resolution times from their stages and timeline. One node runs
+ * it, once per deployment. Each incident is flagged as counted with a version-checked write, so the
+ * backfill and live status changes never count the same incident twice.
+ */
+@org.springframework.stereotype.Service
+public class IncidentAnalyticsServiceImpl implements IncidentAnalyticsService {
+
+  private static final Logger logger = LoggerFactory.getLogger(IncidentAnalyticsServiceImpl.class);
+
+  private static final long DAY_SECONDS = 86400;
+  private static final int MAX_RANGE_DAYS = 366;
+  private static final int MAX_BACKFILL_ATTEMPTS = 3;
+  private static final String BACKFILL_ID = "incidents";
+
+  /** Upper bounds in seconds of the duration histogram buckets, the last bucket is unbounded. */
+  private static final long[] HISTOGRAM_BOUNDS = {
+    60, 300, 600, 900, 1800, 3600, 7200, 14400, 28800, 86400, 172800, 604800
+  };
+
+  @Autowired private MongoTemplate mongoTemplate;
+  @Autowired private MeterRegistry meterRegistry;
+  @Autowired private IncidentCacheService incidentCacheService;
+
+  @Value("${incident.analytics.backfillOnStartup:true}")
+  private boolean backfillOnStartup;
+
+  @Value("${incident.analytics.backfillBatchSize:500}")
+  private int backfillBatchSize;
+
+  @Value("${incident.analytics.backfillStaleAfterSeconds:300}")
+  private long backfillStaleAfterSeconds;
+
+  private Counter rollupFailures;
+
+  @PostConstruct
+  public void init() {
+    rollupFailures = meterRegistry.counter("incident.analytics.rollup.failures");
+    if (!backfillOnStartup) {
+      logger.info("Incident analytics backfill on startup is disabled.");
+      return;
+    }
+    Thread backfiller = new Thread(this::backfill, "incident-analytics-backfill");
+    backfiller.setDaemon(true);
+    backfiller.start();
+  }
+
+  /**
+   * Flags an incident about to be created as counted in the rollups, deriving when it was
+   * acknowledged and resolved from its stages and timeline when it is imported with a history.
+   */
+  public void markRolledUp(Incident incident) {
+    deriveMilestones(incident);
+    incident.setRolledUp(true);
+  }
+
+  /**
+   * Counts incidents flagged by {@link #markRolledUp(Incident)}: their creation, and their
+   * acknowledgement and resolution when these already happened.
+   */
+  public void recordCreated(List<Incident> incidents) {
+    Map<Document, RollupIncrement> increments = new LinkedHashMap<>();
+    long now = Instant.now().getEpochSecond();
+    for (Incident incident : incidents) {
+      long createdAt = incident.getCreatedAt() != null ? incident.getCreatedAt() : now;
+      for (RollupIncrement increment : increments(increments, incident, startOfDay(createdAt))) {
+        increment.add("created", 1);
+      }
+      if (incident.getAcknowledgedAt() != null) {
+        addDuration(
+            increments,
+            incident,
+            "acknowledged",
+            "acknowledge",
+            incident.getAcknowledgedAt() - createdAt,
+            incident.getAcknowledgedAt());
+      }
+      if (incident.getResolvedAt() != null) {
+        addDuration(
+            increments,
+            incident,
+            "resolved",
+            "resolve",
+            incident.getResolvedAt() - createdAt,
+            incident.getResolvedAt());
+      }
+    }
+    write(increments);
+  }
+
+  /**
+   * Counts a status change of an incident.
+   *
+   * @param incident The incident after the change.
+   * @param acknowledged Whether the change was the first acknowledgement of the incident.
+   * @param resolved Whether the change was the first resolution of the incident.
+   * @param changedAt The time of the change (in Unix time).
+   */
+  public void recordStatusChange(
+      Incident incident, boolean acknowledged, boolean resolved, long changedAt) {
+    if ((!acknowledged && !resolved) || incident.getCreatedAt() == null) {
+      return;
+    }
+
+    long elapsed = changedAt - incident.getCreatedAt();
+    Map<Document, RollupIncrement> increments = new LinkedHashMap<>();
+    if (acknowledged) {
+      addDuration(increments, incident, "acknowledged", "acknowledge", elapsed, changedAt);
+    }
+    if (resolved) {
+      addDuration(increments, incident, "resolved", "resolve", elapsed, changedAt);
+    }
+    write(increments);
+  }
+
+  /**
+   * Counts every incident not counted in the rollups yet, in batches of {@code
+   * incident.analytics.backfillBatchSize}. The backfill is claimed in a {@link RollupBackfill}
+   * document, so a single node scans the incidents while the others skip it, and it is not run
+   * again once it completed. A node that stops reporting progress for {@code
+   * incident.analytics.backfillStaleAfterSeconds} loses the claim, and the next node resumes after
+   * the last incident it backfilled.
+   */
+  public void backfill() {
+    String owner = UUID.randomUUID().toString();
+    try {
+      RollupBackfill progress = claimBackfill(owner);
+      if (progress == null) {
+        return;
+      }
+
+      long counted = 0;
+      List<String> changing = new ArrayList<>();
+      ObjectId lastId = progress.getLastId() != null ? new ObjectId(progress.getLastId()) : null;
+      while (true) {
+        Criteria criteria = Criteria.where("rolledUp").ne(true);
+        if (lastId != null) {
+          criteria.and("_id").gt(lastId);
+        }
+        Query query =
+            new Query(criteria).with(Sort.by(Sort.Direction.ASC, "_id")).limit(backfillBatchSize);
+        includeBackfillFields(query);
+        List<Incident> batch = mongoTemplate.find(query, Incident.class);
+        if (batch.isEmpty()) {
+          break;
+        }
+
+        List<Incident> claimed = new ArrayList<>();
+        for (Incident incident : batch) {
+          Incident marked = claimForBackfill(incident, changing);
+          if (marked != null) {
+            claimed.add(marked);
+          }
+        }
+        recordCreated(claimed);
+        counted += claimed.size();
+        lastId = new ObjectId(batch.get(batch.size() - 1).getId());
+        if (!reportBackfill(
+            owner, new Update().set("lastId", lastId.toHexString()), claimed.size())) {
+          logger.warn("Incident analytics backfill was claimed by another node, stopping");
+          return;
+        }
+      }
+
+      // Incidents that kept changing are counted when the next node starts and scans again
+      Update done =
+          !changing.isEmpty()
+              ? new Update().unset("owner").unset("lastId")
+              : new Update()
+                  .set("completed", true)
+                  .set("completedAt", Instant.now().getEpochSecond())
+                  .unset("owner");
+      reportBackfill(owner, done, 0);
+      if (counted > 0) {
+        logger.info("Backfilled incident rollups with {} incidents", counted);
+      }
+    } catch (DataAccessException e) {
+      rollupFailures.increment();
+      logger.error("Incident analytics backfill failed: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Claims the backfill for a node, unless it completed or another node is running it.
+   *
+   * @return The progress of the backfill, or null if the node should not backfill.
+   */
+  private RollupBackfill claimBackfill(String owner) {
+    long now = Instant.now().getEpochSecond();
+    Query query =
+        new Query(
+            Criteria.where("_id")
+                .is(BACKFILL_ID)
+                .and("completed")
+                .ne(true)
+                .orOperator(
+                    Criteria.where("owner").is(null),
+                    Criteria.where("heartbeatAt").lt(now - backfillStaleAfterSeconds)));
+    Update update = new Update().set("owner", owner).set("heartbeatAt", now);
+    try {
+      return mongoTemplate.findAndModify(
+          query,
+          update,
+          FindAndModifyOptions.options().upsert(true).returnNew(true),
+          RollupBackfill.class);
+    } catch (DuplicateKeyException e) {
+      // The document exists but did not match: completed, or claimed by a live node
+      return null;
+    }
+  }
+
+  /** Records progress of the backfill, returning false if the node no longer holds the claim. */
+  private boolean reportBackfill(String owner, Update update, long counted) {
+    update.set("heartbeatAt", Instant.now().getEpochSecond()).inc("counted", counted);
+    Query query = new Query(Criteria.where("_id").is(BACKFILL_ID).and("owner").is(owner));
+    return mongoTemplate.updateFirst(query, update, RollupBackfill.class).getMatchedCount() > 0;
+  }
+
+  /** Limits a backfill query to the fields the rollups and milestones are derived from. */
+  private static void includeBackfillFields(Query query) {
+    query
+        .fields()
+        .include(
+            "version",
+            "accountIdentifier",
+            "orgIdentifier",
+            "projectIdentifier",
+            "severity",
+            "type",
+            "services.serviceName",
+            "createdAt",
+            "acknowledgedAt",
+            "resolvedAt",
+            "stages.type",
+            "stages.createdAt",
+            "timelines.type",
+            "timelines.currentState",
+            "timelines.createdAt");
+  }
+
+  /**
+   * Flags an incident as counted unless it changed since it was read, in which case it is read
+   * again and retried. The version is bumped so a status change that read the incident before the
+   * flag conflicts and is retried against the flagged incident.
+   *
+   * @param changing Collects the ids of incidents that kept changing.
+   * @return The flagged incident, or null if another writer flagged it or it kept changing.
+   */
+  private Incident claimForBackfill(Incident incident, List<String> changing) {
+    for (int attempt = 1; attempt <= MAX_BACKFILL_ATTEMPTS; attempt++) {
+      deriveMilestones(incident);
+      Update update = new Update().set("rolledUp", true).inc("version", 1);
+      if (incident.getAcknowledgedAt() != null) {
+        update.set("acknowledgedAt", incident.getAcknowledgedAt());
+      }
+      if (incident.getResolvedAt() != null) {
+        update.set("resolvedAt", incident.getResolvedAt());
+      }
+      Query query =
+          new Query(
+              Criteria.where("_id")
+                  .is(new ObjectId(incident.getId()))
+                  .and("version")
+                  .is(incident.getVersion())
+                  .and("rolledUp")
+                  .ne(true));
+      if (mongoTemplate.updateFirst(query, update, Incident.class).getModifiedCount() > 0) {
+        incidentCacheService.invalidate(incident.getId());
+        return incident;
+      }
+
+      Query reread =
+          new Query(
+              Criteria.where("_id").is(new ObjectId(incident.getId())).and("rolledUp").ne(true));
+      includeBackfillFields(reread);
+      incident = mongoTemplate.findOne(reread, Incident.class);
+      if (incident == null) {
+        return null;
+      }
+    }
+    logger.warn(
+        "Incident {} kept changing, it is counted when the backfill runs again", incident.getId());
+    changing.add(incident.getId());
+    return null;
+  }
+
+  /** Fills in the acknowledgement and resolution times of an incident from its history. */
+  private static void deriveMilestones(Incident incident) {
+    if (incident.getAcknowledgedAt() == null) {
+      incident.setAcknowledgedAt(firstReached(incident, status -> status != Status.Started));
+    }
+    if (incident.getResolvedAt() == null) {
+      incident.setResolvedAt(firstReached(incident, status -> status == Status.Resolved));
+    }
+  }
+
+  /**
+   * Returns the earliest time an incident entered a matching status according to its stages and
+   * timeline, or null if neither records it.
+   */
+  private static Long firstReached(Incident incident, Predicate<Status> matches) {
+    Long first = null;
+    if (incident.getStages() != null) {
+      for (Stage stage : incident.getStages()) {
+        if (stage.getType() != null
+            && matches.test(stage.getType())
+            && stage.getCreatedAt() != null) {
+          first = first == null ? stage.getCreatedAt() : Math.min(first, stage.getCreatedAt());
+        }
+      }
+    }
+    if (incident.getTimelines() != null) {
+      for (Timeline timeline : incident.getTimelines()) {
+        if ((timeline.getType() != ChangeType.Status
+                && timeline.getType() != ChangeType.Incident_Created)
+            || timeline.getCurrentState() == null
+            || timeline.getCreatedAt() == null) {
+          continue;
+        }
+        Status status;
+        try {
+          status = Status.valueOf(timeline.getCurrentState());
+        } catch (IllegalArgumentException e) {
+          continue;
+        }
+        if (matches.test(status)) {
+          first =
+              first == null ? timeline.getCreatedAt() : Math.min(first, timeline.getCreatedAt());
+        }
+      }
+    }
+    return first;
+  }
+
+  /**
+   * Counts an acknowledgement or resolution on the day it happened.
+   *
+   * @param countField The rollup field counting the transitions.
+   * @param prefix The prefix of the rollup duration and histogram fields.
+   */
+  private void addDuration(
+      Map<Document, RollupIncrement> increments,
+      Incident incident,
+      String countField,
+      String prefix,
+      long elapsed,
+      long at) {
+    elapsed = Math.max(0, elapsed);
+    String bucket = histogramKey(elapsed);
+    for (RollupIncrement increment : increments(increments, incident, startOfDay(at))) {
+      increment.add(countField, 1);
+      increment.add(prefix + "Seconds", elapsed);
+      increment.add(prefix + "Histogram." + bucket, 1);
+    }
+  }
+
+  /**
+   * Reports incident analytics for the UTC days overlapping {@code [from, to)}.
+   *
+   * @param from Start of the range, in epoch seconds.
+   * @param to End of the range, exclusive, in epoch seconds.
+   * @param topServices The number of most impacted services to return.
+   */
+  public IncidentAnalytics getAnalytics(
+      String accountIdentifier,
+      String orgIdentifier,
+      String projectIdentifier,
+      long from,
+      long to,
+      Granularity granularity,
+      int topServices) {
+    if (to <= from) {
+      throw new BadRequestException("'to' must be after 'from'");
+    }
+    long fromDay = startOfDay(from);
+    long toDay = startOfDay(to - 1) + DAY_SECONDS;
+    if ((toDay - fromDay) / DAY_SECONDS > MAX_RANGE_DAYS) {
+      throw new BadRequestException("The range can span at most " + MAX_RANGE_DAYS + " days");
+    }
+
+    Criteria criteria =
+        Criteria.where("accountIdentifier").is(accountIdentifier).and("day").gte(fromDay).lt(toDay);
+    if (orgIdentifier != null) {
+      criteria.and("orgIdentifier").is(orgIdentifier);
+    }
+    if (projectIdentifier != null) {
+      criteria.and("projectIdentifier").is(projectIdentifier);
+    }
+    List<IncidentRollup> rollups = mongoTemplate.find(new Query(criteria), IncidentRollup.class);
+
+    TreeMap<Long, TrendPoint> trends = new TreeMap<>();
+    for (long day = fromDay; day < toDay; day += DAY_SECONDS) {
+      trends.computeIfAbsent(periodStart(day, granularity), this::trendPoint);
+    }
+    DurationAccumulator acknowledge = new DurationAccumulator();
+    DurationAccumulator resolve = new DurationAccumulator();
+    Map<String, ServiceImpact> services = new HashMap<>();
+    Map<String, Long> serviceResolveSeconds = new HashMap<>();
+
+    for (IncidentRollup rollup : rollups) {
+      TrendPoint point = trends.get(periodStart(rollup.getDay(), granularity));
+      switch (rollup.getDimension()) {
+        case IncidentRollup.DIMENSION_ALL:
+          point.setCreated(point.getCreated() + rollup.getCreated());
+          point.setAcknowledged(point.getAcknowledged() + rollup.getAcknowledged());
+          point.setResolved(point.getResolved() + rollup.getResolved());
+          acknowledge.add(
+              rollup.getAcknowledged(),
+              rollup.getAcknowledgeSeconds(),
+              rollup.getAcknowledgeHistogram());
+          resolve.add(
+              rollup.getResolved(), rollup.getResolveSeconds(), rollup.getResolveHistogram());
+          break;
+        case IncidentRollup.DIMENSION_SEVERITY:
+          point.getBySeverity().merge(rollup.getValue(), rollup.getCreated(), Long::sum);
+          break;
+        case IncidentRollup.DIMENSION_TYPE:
+          point.getByType().merge(rollup.getValue(), rollup.getCreated(), Long::sum);
+          break;
+        case IncidentRollup.DIMENSION_SERVICE:
+          point.getByService().merge(rollup.getValue(), rollup.getCreated(), Long::sum);
+          ServiceImpact impact = services.computeIfAbsent(rollup.getValue(), this::serviceImpact);
+          impact.setIncidents(impact.getIncidents() + rollup.getCreated());
+          impact.setResolved(impact.getResolved() + rollup.getResolved());
+          serviceResolveSeconds.merge(rollup.getValue(), rollup.getResolveSeconds(), Long::sum);
+          break;
+        default:
+          break;
+      }
+    }
+
+    for (ServiceImpact impact : services.values()) {
+      if (impact.getResolved() > 0) {
+        impact.setMeanTimeToResolve(
+            (double) serviceResolveSeconds.get(impact.getServiceName()) / impact.getResolved());
+      }
+    }
+
+    IncidentAnalytics analytics = new IncidentAnalytics();
+    analytics.setFrom(fromDay);
+    analytics.setTo(toDay);
+    analytics.setGranularity(granularity);
+    analytics.setTimeToAcknowledge(acknowledge.toStats());
+    analytics.setTimeToResolve(resolve.toStats());
+    analytics.setTrends(new ArrayList<>(trends.values()));
+    analytics.setTopServices(
+        services.values().stream()
+            .sorted(
+                Comparator.comparingLong(ServiceImpact::getIncidents)
+                    .reversed()
+                    .thenComparing(ServiceImpact::getServiceName))
+            .limit(topServices)
+            .collect(Collectors.toList()));
+    return analytics;
+  }
+
+  /** Returns the increments of the rollups an incident counts towards on a day. */
+  private List<RollupIncrement> increments(
+      Map<Document, RollupIncrement> increments, Incident incident, long day) {
+    List<RollupIncrement> result = new ArrayList<>();
+    result.add(increment(increments, incident, day, IncidentRollup.DIMENSION_ALL, "all"));
+    if (incident.getSeverity() != null) {
+      result.add(
+          increment(
+              increments,
+              incident,
+              day,
+              IncidentRollup.DIMENSION_SEVERITY,
+              incident.getSeverity().toString()));
+    }
+    if (incident.getType() != null) {
+      result.add(
+          increment(
+              increments,
+              incident,
+              day,
+              IncidentRollup.DIMENSION_TYPE,
+              incident.getType().toString()));
+    }
+    if (incident.getServices() != null) {
+      Set<String> serviceNames = new LinkedHashSet<>();
+      for (Service service : incident.getServices()) {
+        if (service != null && service.getServiceName() != null) {
+          serviceNames.add(service.getServiceName());
+        }
+      }
+      for (String serviceName : serviceNames) {
+        result.add(
+            increment(increments, incident, day, IncidentRollup.DIMENSION_SERVICE, serviceName));
+      }
+    }
+    return result;
+  }
+
+  private RollupIncrement increment(
+      Map<Document, RollupIncrement> increments,
+      Incident incident,
+      long day,
+      String dimension,
+      String value) {
+    // Always built with the same fields in the same order, as _id matches compare whole documents
+    Document id =
+        new Document("accountIdentifier", incident.getAccountIdentifier())
+            .append("orgIdentifier", incident.getOrgIdentifier())
+            .append("projectIdentifier", incident.getProjectIdentifier())
+            .append("day", day)
+            .append("dimension", dimension)
+            .append("value", value);
+    return increments.computeIfAbsent(
+        id, key -> new RollupIncrement(key, incident, day, dimension, value));
+  }
+
+  /** Upserts the rollups in one unordered bulk write; failures are logged, never thrown. */
+  private void write(Map<Document, RollupIncrement> increments) {
+    if (increments.isEmpty()) {
+      return;
+    }
+    BulkOperations ops =
+        mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, IncidentRollup.class);
+    for (RollupIncrement increment : increments.values()) {
+      ops.upsert(new Query(Criteria.where("_id").is(increment.id)), increment.toUpdate());
+    }
+    try {
+      ops.execute();
+    } catch (DataAccessException e) {
+      rollupFailures.increment();
+      logger.warn("Failed to update {} incident rollups: {}", increments.size(), e.getMessage());
+    }
+  }
+
+  private TrendPoint trendPoint(long periodStart) {
+    TrendPoint point = new TrendPoint();
+    point.setPeriodStart(periodStart);
+    return point;
+  }
+
+  private ServiceImpact serviceImpact(String serviceName) {
+    ServiceImpact impact = new ServiceImpact();
+    impact.setServiceName(serviceName);
+    return impact;
+  }
+
+  private static long startOfDay(long epochSeconds) {
+    return epochSeconds - Math.floorMod(epochSeconds, DAY_SECONDS);
+  }
+
+  private static long periodStart(long day, Granularity granularity) {
+    if (granularity != Granularity.Week) {
+      return day;
+    }
+    // 1970-01-01 was a Thursday, weeks start on Monday
+    long epochDay = day / DAY_SECONDS;
+    return day - Math.floorMod(epochDay + 3, 7) * DAY_SECONDS;
+  }
+
+  private static String histogramKey(long seconds) {
+    for (long bound : HISTOGRAM_BOUNDS) {
+      if (seconds <= bound) {
+        return "le" + bound;
+      }
+    }
+    return "inf";
+  }
+
+  /** The pending increments of one rollup document. */
+  private static class RollupIncrement {
+    private final Document id;
+    private final Incident incident;
+    private final long day;
+    private final String dimension;
+    private final String value;
+    private final Map<String, Long> counts = new LinkedHashMap<>();
+
+    RollupIncrement(Document id, Incident incident, long day, String dimension, String value) {
+      this.id = id;
+      this.incident = incident;
+      this.day = day;
+      this.dimension = dimension;
+      this.value = value;
+    }
+
+    void add(String field, long amount) {
+      counts.merge(field, amount, Long::sum);
+    }
+
+    Update toUpdate() {
+      Update update =
+          new Update()
+              .setOnInsert("accountIdentifier", incident.getAccountIdentifier())
+              .setOnInsert("orgIdentifier", incident.getOrgIdentifier())
+              .setOnInsert("projectIdentifier", incident.getProjectIdentifier())
+              .setOnInsert("day", day)
+              .setOnInsert("dimension", dimension)
+              .setOnInsert("value", value);
+      counts.forEach(update::inc);
+      return update;
+    }
+  }
+
+  /** Sums the durations of several rollups and estimates their percentiles. */
+  private static class DurationAccumulator {
+    private long count;
+    private long seconds;
+    private final long[] buckets = new long[HISTOGRAM_BOUNDS.length + 1];
+
+    void add(long count, long seconds, Map<String, Long> histogram) {
+      this.count += count;
+      this.seconds += seconds;
+      if (histogram == null) {
+        return;
+      }
+      for (int i = 0; i < buckets.length; i++) {
+        String key = i < HISTOGRAM_BOUNDS.length ? "le" + HISTOGRAM_BOUNDS[i] : "inf";
+        buckets[i] += histogram.getOrDefault(key, 0L);
+      }
+    }
+
+    DurationStats toStats() {
+      DurationStats stats = new DurationStats();
+      stats.setCount(count);
+      if (count > 0) {
+        stats.setMean((double) seconds / count);
+        stats.setP50(percentile(0.5));
+        stats.setP90(percentile(0.9));
+        stats.setP99(percentile(0.99));
+      }
+      return stats;
+    }
+
+    /** Interpolates linearly within the bucket holding the percentile. */
+    private Double percentile(double quantile) {
+      long total = 0;
+      for (long bucket : buckets) {
+        total += bucket;
+      }
+      if (total == 0) {
+        return null;
+      }
+      double rank = quantile * total;
+      long seen = 0;
+      for (int i = 0; i < buckets.length; i++) {
+        if (buckets[i] > 0 && seen + buckets[i] >= rank) {
+          double lower = i == 0 ? 0 : HISTOGRAM_BOUNDS[i - 1];
+          if (i == HISTOGRAM_BOUNDS.length) {
+            // Beyond the last bound, only the lower bound is known
+            return lower;
+          }
+          return lower + (HISTOGRAM_BOUNDS[i] - lower) * (rank - seen) / buckets[i];
+        }
+        seen += buckets[i];
+      }
+      return (double) HISTOGRAM_BOUNDS[HISTOGRAM_BOUNDS.length - 1];
+    }
+  }
+}
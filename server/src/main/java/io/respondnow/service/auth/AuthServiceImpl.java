@@ -4,22 +4,29 @@ import io.respondnow.dto.auth.AddUserInput;
 import io.respondnow.dto.auth.ChangePasswordInput;
 import io.respondnow.dto.auth.LoginUserInput;
 import io.respondnow.exception.EmailAlreadyExistsException;
+import io.respondnow.exception.PasswordHashingBusyException;
 import io.respondnow.exception.UserNotFoundException;
 import io.respondnow.model.user.User;
 import io.respondnow.repository.UserRepository;
+import io.respondnow.service.user.UserActivityService;
 import io.respondnow.util.JWTUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
 public class AuthServiceImpl implements AuthService {
 
+  private static final Logger logger = LoggerFactory.getLogger(AuthServiceImpl.class);
+
   @Autowired private UserRepository userRepository;
 
-  @Autowired private BCryptPasswordEncoder passwordEncoder;
+  @Autowired private PasswordHashingService passwordHashingService;
+
+  @Autowired private UserActivityService userActivityService;
 
   @Autowired private JWTUtil jwtUtil;
 
@@ -30,11 +37,24 @@ public class AuthServiceImpl implements AuthService {
             .findByEmail(input.getEmail())
             .orElseThrow(() -> new UserNotFoundException("User not found"));
 
-    if (!passwordEncoder.matches(input.getPassword(), user.getPassword())) {
+    if (!passwordHashingService.matches(input.getPassword(), user.getPassword())) {
       throw new UserNotFoundException("Invalid credentials");
     }
-    user.setLastLoginAt(System.currentTimeMillis());
-    return userRepository.save(user);
+    long loggedInAt = System.currentTimeMillis();
+    user.setLastLoginAt(loggedInAt);
+    // Only the login time changed, it is written in the background with those of other logins
+    userActivityService.recordLogin(user.getId(), loggedInAt);
+
+    if (passwordHashingService.needsRehash(user.getPassword())) {
+      // The BCrypt cost was changed, replace the hash while the password is at hand
+      try {
+        user.setPassword(passwordHashingService.encode(input.getPassword()));
+        return userRepository.save(user);
+      } catch (PasswordHashingBusyException e) {
+        logger.warn("Skipping rehash of the password of {}: {}", user.getEmail(), e.getMessage());
+      }
+    }
+    return user;
   }
 
   @Override
@@ -44,7 +64,7 @@ public class AuthServiceImpl implements AuthService {
             .findByEmail(input.getEmail())
             .orElseThrow(() -> new UserNotFoundException("User not found"));
 
-    user.setPassword(passwordEncoder.encode(input.getNewPassword()));
+    user.setPassword(passwordHashingService.encode(input.getNewPassword()));
     user.setChangePasswordRequired(false);
     user.setActive(true);
     user.setUpdatedAt(System.currentTimeMillis());
@@ -59,7 +79,7 @@ public class AuthServiceImpl implements AuthService {
     }
     User user = new User();
     user.setEmail(input.getEmail());
-    user.setPassword(passwordEncoder.encode(input.getPassword()));
+    user.setPassword(passwordHashingService.encode(input.getPassword()));
     user.setName(input.getName());
     user.setUserId(input.getUserId());
     user.setActive(false);
@@ -81,7 +101,7 @@ public class AuthServiceImpl implements AuthService {
     }
     User user = new User();
     user.setEmail(input.getEmail());
-    user.setPassword(passwordEncoder.encode(input.getPassword()));
+    user.setPassword(passwordHashingService.encode(input.getPassword()));
     user.setName(input.getName());
     user.setUserId(input.getUserId());
     user.setActive(false);
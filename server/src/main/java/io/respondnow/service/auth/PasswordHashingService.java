@@ -0,0 +1,9 @@
+package io.respondnow.service.auth;
+
+public interface PasswordHashingService {
+  String encode(CharSequence rawPassword);
+
+  boolean matches(CharSequence rawPassword, String encodedPassword);
+
+  boolean needsRehash(String encodedPassword);
+}
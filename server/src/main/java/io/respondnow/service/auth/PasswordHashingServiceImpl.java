@@ -0,0 +1,133 @@
+package io.respondnow.service.auth;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.respondnow.exception.PasswordHashingBusyException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+/**
+ * Hashes and checks passwords on a dedicated, fixed size pool with a bounded queue, so a burst of
+ * logins cannot occupy the request threads serving the rest of the API. A request that finds the
+ * queue full, or waits longer than {@code auth.password.timeoutMillis} for its hash, fails fast
+ * with a {@link PasswordHashingBusyException}.
+ */
+@Service
+public class PasswordHashingServiceImpl implements PasswordHashingService {
+
+  /** The cost of a BCrypt hash, as in {@code $2a$10$...}. */
+  private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abyx]?\\$(\\d{2})\\$");
+
+  @Autowired private BCryptPasswordEncoder passwordEncoder;
+  @Autowired private MeterRegistry meterRegistry;
+
+  @Value("${auth.password.bcryptStrength:10}")
+  private int strength;
+
+  @Value("${auth.password.threads:2}")
+  private int threads;
+
+  @Value("${auth.password.queueSize:64}")
+  private int queueSize;
+
+  @Value("${auth.password.timeoutMillis:5000}")
+  private long timeoutMillis;
+
+  private ThreadPoolExecutor executor;
+  private Timer encodeTimer;
+  private Timer matchesTimer;
+
+  @PostConstruct
+  public void init() {
+    executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueSize),
+            new CustomizableThreadFactory("password-hash-"),
+            new ThreadPoolExecutor.AbortPolicy());
+    encodeTimer = hashTimer("encode");
+    matchesTimer = hashTimer("matches");
+    meterRegistry.gauge("auth.password.queue", executor, pool -> pool.getQueue().size());
+    meterRegistry.gauge("auth.password.active", executor, ThreadPoolExecutor::getActiveCount);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  public String encode(CharSequence rawPassword) {
+    return execute("encode", encodeTimer, () -> passwordEncoder.encode(rawPassword));
+  }
+
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return execute(
+        "matches", matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+  }
+
+  /** Whether a hash was made with another cost than the configured one and should be replaced. */
+  public boolean needsRehash(String encodedPassword) {
+    if (encodedPassword == null) {
+      return false;
+    }
+    Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+    return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+  }
+
+  private <T> T execute(String operation, Timer timer, Callable<T> hash) {
+    Future<T> result;
+    try {
+      result = executor.submit(() -> timer.recordCallable(hash));
+    } catch (RejectedExecutionException e) {
+      throw busy(operation);
+    }
+
+    try {
+      return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      result.cancel(true);
+      throw busy(operation);
+    } catch (InterruptedException e) {
+      result.cancel(true);
+      Thread.currentThread().interrupt();
+      throw busy(operation);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException("Password hashing failed", e.getCause());
+    }
+  }
+
+  private PasswordHashingBusyException busy(String operation) {
+    meterRegistry.counter("auth.password.rejections", "operation", operation).increment();
+    return new PasswordHashingBusyException(
+        "Too many password checks in progress, try again later");
+  }
+
+  private Timer hashTimer(String operation) {
+    return Timer.builder("auth.password.hash")
+        .description("Time spent hashing or checking a password")
+        .tag("operation", operation)
+        .publishPercentiles(0.5, 0.95, 0.99)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,10 @@
+package io.respondnow.service.feed;
+
+import javax.websocket.Session;
+
+public interface IncidentFeedService {
+  boolean subscribe(
+      Session session, String accountIdentifier, String orgIdentifier, String projectIdentifier);
+
+  void unsubscribe(Session session);
+}
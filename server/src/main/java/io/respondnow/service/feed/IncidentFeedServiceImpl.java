@@ -0,0 +1,276 @@
+package io.respondnow.service.feed;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.UpdateDescription;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.respondnow.model.incident.Incident;
+import io.respondnow.model.incident.IncidentFeedEvent;
+import io.respondnow.model.incident.IncidentFeedEventType;
+import io.respondnow.service.incident.IncidentChangeListener;
+import io.respondnow.service.incident.IncidentChangeStreamService;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PostConstruct;
+import javax.websocket.CloseReason;
+import javax.websocket.Session;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Fans incident changes out to live feed WebSocket sessions. Every change is turned into a compact
+ * {@link IncidentFeedEvent} and serialised once, then queued on every session subscribed to the
+ * scope of the incident. Each session has a bounded queue drained by asynchronous sends, one at a
+ * time; a session whose queue overflows cannot keep up and is closed, so it never holds back the
+ * change stream or the other sessions.
+ */
+@Service
+public class IncidentFeedServiceImpl implements IncidentFeedService, IncidentChangeListener {
+
+  private static final Logger logger = LoggerFactory.getLogger(IncidentFeedServiceImpl.class);
+
+  private static final TypeReference<Map<String, Object>> FIELDS_TYPE = new TypeReference<>() {};
+
+  /** Fields that change on every update or are too large to push; never sent as changes. */
+  private static final Set<String> IGNORED_FIELDS =
+      Set.of("timelines", "version", "updatedAt", "timelinesBucketed", "rolledUp");
+
+  @Autowired private MongoTemplate mongoTemplate;
+  @Autowired private ObjectMapper objectMapper;
+  @Autowired private MeterRegistry meterRegistry;
+  @Autowired private IncidentChangeStreamService incidentChangeStreamService;
+
+  @Value("${incident.feed.bufferSize:256}")
+  private int bufferSize;
+
+  @Value("${incident.feed.maxSubscribers:5000}")
+  private int maxSubscribers;
+
+  /** Subscribers by account, so a change is only matched against its own account. */
+  private final Map<String, Set<Subscriber>> subscribersByAccount = new ConcurrentHashMap<>();
+
+  private final Map<String, Subscriber> subscribersBySession = new ConcurrentHashMap<>();
+  private final AtomicInteger subscriberCount = new AtomicInteger();
+
+  private Counter events;
+  private Counter evictions;
+
+  @PostConstruct
+  public void init() {
+    events = meterRegistry.counter("incident.feed.events");
+    evictions = meterRegistry.counter("incident.feed.evictions");
+    meterRegistry.gauge("incident.feed.subscribers", subscriberCount);
+    incidentChangeStreamService.addListener(this);
+  }
+
+  /**
+   * Subscribes a session to the changes of the incidents in a scope.
+   *
+   * @return false when the subscriber limit is reached.
+   */
+  public boolean subscribe(
+      Session session, String accountIdentifier, String orgIdentifier, String projectIdentifier) {
+    if (subscriberCount.incrementAndGet() > maxSubscribers) {
+      subscriberCount.decrementAndGet();
+      return false;
+    }
+    Subscriber subscriber =
+        new Subscriber(session, accountIdentifier, orgIdentifier, projectIdentifier, bufferSize);
+    subscribersBySession.put(session.getId(), subscriber);
+    subscribersByAccount.compute(
+        accountIdentifier,
+        (account, subscribers) -> {
+          Set<Subscriber> updated =
+              subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+          updated.add(subscriber);
+          return updated;
+        });
+    return true;
+  }
+
+  public void unsubscribe(Session session) {
+    Subscriber subscriber = subscribersBySession.remove(session.getId());
+    if (subscriber == null) {
+      return;
+    }
+    subscriberCount.decrementAndGet();
+    subscribersByAccount.computeIfPresent(
+        subscriber.accountIdentifier,
+        (account, subscribers) -> {
+          subscribers.remove(subscriber);
+          return subscribers.isEmpty() ? null : subscribers;
+        });
+  }
+
+  public void onChange(ChangeStreamDocument<Document> change) {
+    IncidentFeedEventType type;
+    switch (change.getOperationType()) {
+      case INSERT:
+        type = IncidentFeedEventType.Created;
+        break;
+      case UPDATE:
+        type = IncidentFeedEventType.Updated;
+        break;
+      case REPLACE:
+        type = IncidentFeedEventType.Replaced;
+        break;
+      default:
+        // Incidents are soft removed, deletes carry no scope to route them by
+        return;
+    }
+    if (change.getFullDocument() == null) {
+      return;
+    }
+    Incident incident = mongoTemplate.getConverter().read(Incident.class, change.getFullDocument());
+    Set<Subscriber> subscribers = subscribersByAccount.get(incident.getAccountIdentifier());
+    if (subscribers == null || subscribers.isEmpty()) {
+      return;
+    }
+
+    IncidentFeedEvent event = toEvent(type, incident, change.getUpdateDescription());
+    if (event.getChanges().isEmpty()) {
+      return;
+    }
+    String message;
+    try {
+      message = objectMapper.writeValueAsString(event);
+    } catch (JsonProcessingException e) {
+      logger.error("Failed to serialise feed event of incident {}", incident.getId(), e);
+      return;
+    }
+
+    events.increment();
+    for (Subscriber subscriber : subscribers) {
+      if (subscriber.matches(incident) && !subscriber.offer(message)) {
+        evict(subscriber);
+      }
+    }
+  }
+
+  private IncidentFeedEvent toEvent(
+      IncidentFeedEventType type, Incident incident, UpdateDescription updateDescription) {
+    Map<String, Object> fields = objectMapper.convertValue(incident, FIELDS_TYPE);
+    Map<String, Object> changes = new LinkedHashMap<>();
+    if (type == IncidentFeedEventType.Updated && updateDescription != null) {
+      Set<String> changed = new LinkedHashSet<>();
+      if (updateDescription.getUpdatedFields() != null) {
+        updateDescription.getUpdatedFields().keySet().forEach(path -> changed.add(topLevel(path)));
+      }
+      if (updateDescription.getRemovedFields() != null) {
+        updateDescription.getRemovedFields().forEach(path -> changed.add(topLevel(path)));
+      }
+      changed.removeAll(IGNORED_FIELDS);
+      changed.forEach(field -> changes.put(field, fields.get(field)));
+    } else {
+      changes.putAll(fields);
+      IGNORED_FIELDS.forEach(changes::remove);
+    }
+
+    IncidentFeedEvent event = new IncidentFeedEvent();
+    event.setType(type);
+    event.setId(incident.getId());
+    event.setIdentifier(incident.getIdentifier());
+    event.setAccountIdentifier(incident.getAccountIdentifier());
+    event.setOrgIdentifier(incident.getOrgIdentifier());
+    event.setProjectIdentifier(incident.getProjectIdentifier());
+    event.setVersion(incident.getVersion());
+    event.setUpdatedAt(incident.getUpdatedAt());
+    event.setChanges(changes);
+    return event;
+  }
+
+  private static String topLevel(String path) {
+    int dot = path.indexOf('.');
+    return dot < 0 ? path : path.substring(0, dot);
+  }
+
+  private void evict(Subscriber subscriber) {
+    logger.warn(
+        "Closing incident feed session {}, it fell {} events behind",
+        subscriber.session.getId(),
+        bufferSize);
+    evictions.increment();
+    unsubscribe(subscriber.session);
+    try {
+      subscriber.session.close(
+          new CloseReason(CloseReason.CloseCodes.TRY_AGAIN_LATER, "Slow consumer"));
+    } catch (IOException e) {
+      logger.debug("Failed to close incident feed session {}", subscriber.session.getId(), e);
+    }
+  }
+
+  /** A subscribed session with its bounded queue of messages waiting to be sent. */
+  private static class Subscriber {
+    private final Session session;
+    private final String accountIdentifier;
+    private final String orgIdentifier;
+    private final String projectIdentifier;
+    private final BlockingQueue<String> queue;
+    private final AtomicBoolean sending = new AtomicBoolean();
+
+    Subscriber(
+        Session session,
+        String accountIdentifier,
+        String orgIdentifier,
+        String projectIdentifier,
+        int bufferSize) {
+      this.session = session;
+      this.accountIdentifier = accountIdentifier;
+      this.orgIdentifier = orgIdentifier;
+      this.projectIdentifier = projectIdentifier;
+      this.queue = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    boolean matches(Incident incident) {
+      return (orgIdentifier == null || orgIdentifier.equals(incident.getOrgIdentifier()))
+          && (projectIdentifier == null
+              || projectIdentifier.equals(incident.getProjectIdentifier()));
+    }
+
+    /** Queues a message and starts sending it unless a send is in progress. */
+    boolean offer(String message) {
+      if (!queue.offer(message)) {
+        return false;
+      }
+      drain();
+      return true;
+    }
+
+    private void drain() {
+      while (!queue.isEmpty() && sending.compareAndSet(false, true)) {
+        String message = queue.poll();
+        if (message == null) {
+          sending.set(false);
+          continue;
+        }
+        session
+            .getAsyncRemote()
+            .sendText(
+                message,
+                result -> {
+                  sending.set(false);
+                  if (result.isOK() && session.isOpen()) {
+                    drain();
+                  }
+                });
+        return;
+      }
+    }
+  }
+}
@@ -15,6 +15,8 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class AccountServiceImpl implements AccountService {
   @Autowired private AccountRepository accountRepository;
+  @Autowired private HierarchyCacheService hierarchyCacheService;
+  @Autowired private ScopeService scopeService;
 
   public List<Account> findAll() {
     return accountRepository.findAll();
@@ -25,11 +27,17 @@ public class AccountServiceImpl implements AccountService {
   }
 
   public Account save(Account account) {
-    return accountRepository.save(account);
+    Account saved = accountRepository.save(account);
+    hierarchyCacheService.invalidateAccount(saved.getAccountIdentifier());
+    scopeService.onAccountSaved(saved);
+    return saved;
   }
 
   public void deleteById(String id) {
     accountRepository.deleteById(id);
+    // Only the _id is known here
+    hierarchyCacheService.invalidateAll();
+    scopeService.refresh();
   }
 
   @Transactional
@@ -41,7 +49,7 @@ public class AccountServiceImpl implements AccountService {
       throw new accountIdentifierAlreadyExistsException(
           "Account with the given account_id already exists");
     }
-    return accountRepository.save(account);
+    return save(account);
   }
 
   @Retryable(
@@ -56,7 +64,7 @@ public class AccountServiceImpl implements AccountService {
       throw new accountIdentifierAlreadyExistsException(
           "Account with the given account_id already exists");
     }
-    return accountRepository.save(account);
+    return save(account);
   }
 
   @Transactional
@@ -67,7 +75,7 @@ public class AccountServiceImpl implements AccountService {
             .orElseThrow(() -> new AccountNotFoundException("Account not found"));
 
     account.setRemoved(true); // Soft delete the account
-    accountRepository.save(account);
+    save(account);
   }
 
   @Transactional
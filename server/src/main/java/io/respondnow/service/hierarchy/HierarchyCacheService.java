@@ -0,0 +1,23 @@
+package io.respondnow.service.hierarchy;
+
+import io.respondnow.model.hierarchy.Account;
+import io.respondnow.model.hierarchy.Organization;
+import io.respondnow.model.hierarchy.Project;
+import java.util.Collection;
+import java.util.Map;
+
+public interface HierarchyCacheService {
+  Map<String, Account> getAccounts(Collection<String> accountIdentifiers);
+
+  Map<String, Organization> getOrganizations(Collection<String> orgIdentifiers);
+
+  Map<String, Project> getProjects(Collection<String> projectIdentifiers);
+
+  void invalidateAccount(String accountIdentifier);
+
+  void invalidateOrganization(String orgIdentifier);
+
+  void invalidateProject(String projectIdentifier);
+
+  void invalidateAll();
+}
@@ -0,0 +1,178 @@
+package io.respondnow.service.hierarchy;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.respondnow.model.hierarchy.Account;
+import io.respondnow.model.hierarchy.Organization;
+import io.respondnow.model.hierarchy.Project;
+import io.respondnow.repository.AccountRepository;
+import io.respondnow.repository.OrganizationRepository;
+import io.respondnow.repository.ProjectRepository;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import javax.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Cache of accounts, organizations and projects by identifier. Lookups are made in batches: every
+ * identifier not cached is loaded with one {@code $in} query per type, so resolving many mappings
+ * costs at most three round trips. The hierarchy rarely changes; entries are invalidated by the
+ * hierarchy services of this node on every write and expire after {@code
+ * hierarchy.cache.ttlSeconds} to pick up changes made through other nodes.
+ *
+ * <p>Cached entities are shared between callers and must not be modified.
+ */
+@Service
+public class HierarchyCacheServiceImpl implements HierarchyCacheService {
+
+  @Autowired private AccountRepository accountRepository;
+  @Autowired private OrganizationRepository organizationRepository;
+  @Autowired private ProjectRepository projectRepository;
+  @Autowired private MeterRegistry meterRegistry;
+
+  @Value("${hierarchy.cache.enabled:true}")
+  private boolean enabled;
+
+  @Value("${hierarchy.cache.ttlSeconds:300}")
+  private long ttlSeconds;
+
+  private EntityCache<Account> accounts;
+  private EntityCache<Organization> organizations;
+  private EntityCache<Project> projects;
+
+  @PostConstruct
+  public void init() {
+    accounts =
+        new EntityCache<>(
+            "account", accountRepository::findByAccountIdentifierIn, Account::getAccountIdentifier);
+    organizations =
+        new EntityCache<>(
+            "organization",
+            organizationRepository::findByOrgIdentifierIn,
+            Organization::getOrgIdentifier);
+    projects =
+        new EntityCache<>(
+            "project", projectRepository::findByProjectIdentifierIn, Project::getProjectIdentifier);
+  }
+
+  public Map<String, Account> getAccounts(Collection<String> accountIdentifiers) {
+    return accounts.getAll(accountIdentifiers);
+  }
+
+  public Map<String, Organization> getOrganizations(Collection<String> orgIdentifiers) {
+    return organizations.getAll(orgIdentifiers);
+  }
+
+  public Map<String, Project> getProjects(Collection<String> projectIdentifiers) {
+    return projects.getAll(projectIdentifiers);
+  }
+
+  public void invalidateAccount(String accountIdentifier) {
+    accounts.invalidate(accountIdentifier);
+  }
+
+  public void invalidateOrganization(String orgIdentifier) {
+    organizations.invalidate(orgIdentifier);
+  }
+
+  public void invalidateProject(String projectIdentifier) {
+    projects.invalidate(projectIdentifier);
+  }
+
+  public void invalidateAll() {
+    accounts.invalidateAll();
+    organizations.invalidateAll();
+    projects.invalidateAll();
+  }
+
+  /** The cached entities of one type, with the time every entry was loaded. */
+  private class EntityCache<T> {
+    private final Function<Collection<String>, List<T>> loader;
+    private final Function<T, String> identifier;
+    private final Map<String, Entry<T>> entries = new ConcurrentHashMap<>();
+
+    /** Incremented on every invalidation, so a load racing with one is not cached. */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    EntityCache(
+        String type, Function<Collection<String>, List<T>> loader, Function<T, String> identifier) {
+      this.loader = loader;
+      this.identifier = identifier;
+      this.hits = meterRegistry.counter("hierarchy.cache.requests", "type", type, "result", "hit");
+      this.misses =
+          meterRegistry.counter("hierarchy.cache.requests", "type", type, "result", "miss");
+    }
+
+    /**
+     * Returns the entities with the given identifiers, by identifier; those that do not exist are
+     * missing from the result.
+     */
+    Map<String, T> getAll(Collection<String> identifiers) {
+      Map<String, T> found = new HashMap<>();
+      Set<String> missing = new HashSet<>();
+      long now = System.currentTimeMillis();
+      for (String id : identifiers) {
+        if (id == null) {
+          continue;
+        }
+        Entry<T> entry = enabled ? entries.get(id) : null;
+        if (entry != null && now - entry.loadedAt < ttlSeconds * 1000) {
+          found.put(id, entry.value);
+        } else {
+          missing.add(id);
+        }
+      }
+      hits.increment(found.size());
+      misses.increment(missing.size());
+      if (missing.isEmpty()) {
+        return found;
+      }
+
+      long loadGeneration = generation.get();
+      List<T> loaded = loader.apply(missing);
+      boolean cacheable = enabled && loadGeneration == generation.get();
+      for (T value : loaded) {
+        String id = identifier.apply(value);
+        found.put(id, value);
+        if (cacheable) {
+          entries.put(id, new Entry<>(value, now));
+        }
+      }
+      return found;
+    }
+
+    void invalidate(String id) {
+      generation.incrementAndGet();
+      if (id != null) {
+        entries.remove(id);
+      }
+    }
+
+    void invalidateAll() {
+      generation.incrementAndGet();
+      entries.clear();
+    }
+  }
+
+  private static class Entry<T> {
+    private final T value;
+    private final long loadedAt;
+
+    Entry(T value, long loadedAt) {
+      this.value = value;
+      this.loadedAt = loadedAt;
+    }
+  }
+}
@@ -15,6 +15,8 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class OrganizationServiceImpl implements OrganizationService {
   @Autowired private OrganizationRepository organizationRepository;
+  @Autowired private HierarchyCacheService hierarchyCacheService;
+  @Autowired private ScopeService scopeService;
 
   public List<Organization> findAll() {
     return organizationRepository.findAll();
@@ -25,11 +27,17 @@ public class OrganizationServiceImpl implements OrganizationService {
   }
 
   public Organization save(Organization organization) {
-    return organizationRepository.save(organization);
+    Organization saved = organizationRepository.save(organization);
+    hierarchyCacheService.invalidateOrganization(saved.getOrgIdentifier());
+    scopeService.onOrganizationSaved(saved);
+    return saved;
   }
 
   public void deleteById(String id) {
     organizationRepository.deleteById(id);
+    // Only the _id is known here
+    hierarchyCacheService.invalidateAll();
+    scopeService.refresh();
   }
 
   @Transactional
@@ -41,7 +49,7 @@ public class OrganizationServiceImpl implements OrganizationService {
       throw new orgIdentifierAlreadyExistsException(
           "Organization with the given org_id already exists");
     }
-    return organizationRepository.save(organization);
+    return save(organization);
   }
 
   @Retryable(
@@ -56,7 +64,7 @@ public class OrganizationServiceImpl implements OrganizationService {
       throw new orgIdentifierAlreadyExistsException(
           "Organization with the given org_id already exists");
     }
-    return organizationRepository.save(organization);
+    return save(organization);
   }
 
   @Transactional
@@ -66,7 +74,7 @@ public class OrganizationServiceImpl implements OrganizationService {
             .findByOrgIdentifier(organizationId)
             .orElseThrow(() -> new OrganizationNotFoundException("Organization not found"));
     org.setRemoved(true); // Soft delete the organization
-    organizationRepository.save(org);
+    save(org);
   }
 
   @Transactional
@@ -15,6 +15,8 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class ProjectServiceImpl implements ProjectService {
   @Autowired private ProjectRepository projectRepository;
+  @Autowired private HierarchyCacheService hierarchyCacheService;
+  @Autowired private ScopeService scopeService;
 
   public List<Project> findAll() {
     return projectRepository.findAll();
@@ -25,11 +27,17 @@ public class ProjectServiceImpl implements ProjectService {
   }
 
   public Project save(Project project) {
-    return projectRepository.save(project);
+    Project saved = projectRepository.save(project);
+    hierarchyCacheService.invalidateProject(saved.getProjectIdentifier());
+    scopeService.onProjectSaved(saved);
+    return saved;
   }
 
   public void deleteById(String id) {
     projectRepository.deleteById(id);
+    // Only the _id is known here
+    hierarchyCacheService.invalidateAll();
+    scopeService.refresh();
   }
 
   @Transactional
@@ -40,7 +48,7 @@ public class ProjectServiceImpl implements ProjectService {
     if (existingProject.isPresent()) {
       throw new projectIdentifierAlreadyExistsException("Project with the given id already exists");
     }
-    return projectRepository.save(project);
+    return save(project);
   }
 
   @Retryable(
@@ -54,7 +62,7 @@ public class ProjectServiceImpl implements ProjectService {
     if (existingProject.isPresent()) {
       throw new projectIdentifierAlreadyExistsException("Project with the given id already exists");
     }
-    return projectRepository.save(project);
+    return save(project);
   }
 
   @Transactional
@@ -64,7 +72,7 @@ public class ProjectServiceImpl implements ProjectService {
             .findByProjectIdentifier(projectIdentifier)
             .orElseThrow(() -> new ProjectNotFoundException("Project not found"));
     project.setRemoved(true); // Soft delete the project
-    projectRepository.save(project);
+    save(project);
   }
 
   @Transactional
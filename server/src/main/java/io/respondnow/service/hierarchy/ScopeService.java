@@ -0,0 +1,23 @@
+package io.respondnow.service.hierarchy;
+
+import io.respondnow.model.hierarchy.Account;
+import io.respondnow.model.hierarchy.Organization;
+import io.respondnow.model.hierarchy.Project;
+import io.respondnow.model.hierarchy.UserMapping;
+
+public interface ScopeService {
+  boolean canAccess(
+      String userId, String accountIdentifier, String orgIdentifier, String projectIdentifier);
+
+  void onAccountSaved(Account account);
+
+  void onOrganizationSaved(Organization organization);
+
+  void onProjectSaved(Project project);
+
+  void onUserMappingSaved(UserMapping userMapping);
+
+  void onUserMappingDeleted(String id);
+
+  void refresh();
+}
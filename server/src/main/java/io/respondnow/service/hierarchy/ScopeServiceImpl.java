@@ -0,0 +1,411 @@
+package io.respondnow.service.hierarchy;
+
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.respondnow.model.hierarchy.Account;
+import io.respondnow.model.hierarchy.Organization;
+import io.respondnow.model.hierarchy.Project;
+import io.respondnow.model.hierarchy.UserMapping;
+import io.respondnow.repository.AccountRepository;
+import io.respondnow.repository.OrganizationRepository;
+import io.respondnow.repository.ProjectRepository;
+import io.respondnow.repository.UserMappingRepository;
+import io.respondnow.service.mongo.ChangeStreamWatcher;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Answers whether a user may access an account, org or project from memory. The service keeps the
+ * tree of accounts, orgs and projects and, per user, the set of scopes granted by their user
+ * mappings: a mapping to an account grants all its orgs and projects, a mapping to an org all its
+ * projects. A check is then a handful of hash lookups.
+ *
+ * <p>The tree and the scopes are updated in place by the hierarchy services of this node on every
+ * write, and from a change stream on the accounts, organizations, projects and user mappings for
+ * the writes of other nodes. They are loaded in full whenever the stream is opened without
+ * resuming, including at startup, and on the rare changes a delta cannot be derived from: hard
+ * deletes of accounts, orgs and projects, which only carry an id, and drops or renames. Only while
+ * the stream is not open, e.g. on a standalone mongod or with {@code hierarchy.scope.watchChanges}
+ * off, the full reload runs every {@code hierarchy.scope.refreshSeconds} instead.
+ */
+@Service
+public class ScopeServiceImpl implements ScopeService, ChangeStreamWatcher.Handler {
+
+  private static final Logger logger = LoggerFactory.getLogger(ScopeServiceImpl.class);
+
+  private static final String ACCOUNTS = "accounts";
+  private static final String ORGANIZATIONS = "organizations";
+  private static final String PROJECTS = "projects";
+  private static final String USER_MAPPINGS = "userMappings";
+
+  /** How long startup waits for the change stream to open and load the tree. */
+  private static final long STARTUP_WAIT_SECONDS = 10;
+
+  @Autowired private AccountRepository accountRepository;
+  @Autowired private OrganizationRepository organizationRepository;
+  @Autowired private ProjectRepository projectRepository;
+  @Autowired private UserMappingRepository userMappingRepository;
+  @Autowired private MeterRegistry meterRegistry;
+  @Autowired private MongoTemplate mongoTemplate;
+
+  @Value("${hierarchy.scope.enabled:true}")
+  private boolean enabled;
+
+  @Value("${hierarchy.scope.refreshSeconds:60}")
+  private long refreshSeconds;
+
+  @Value("${hierarchy.scope.watchChanges:true}")
+  private boolean watchChanges;
+
+  @Value("${hierarchy.scope.retryDelayMillis:5000}")
+  private long retryDelayMillis;
+
+  private volatile HierarchyTree tree = new HierarchyTree();
+
+  private final CountDownLatch firstLoad = new CountDownLatch(1);
+  private volatile boolean loadedFromStream;
+  private ChangeStreamWatcher watcher;
+  private ScheduledExecutorService refresher;
+  private Counter denials;
+
+  @PostConstruct
+  public void init() {
+    denials = meterRegistry.counter("hierarchy.scope.denials");
+    if (!enabled) {
+      logger.info("Scope checks are disabled.");
+      return;
+    }
+    if (watchChanges) {
+      watcher =
+          new ChangeStreamWatcher(
+              "hierarchy",
+              () ->
+                  mongoTemplate
+                      .getDb()
+                      .watch(
+                          List.of(
+                              Aggregates.match(
+                                  Filters.in(
+                                      "ns.coll",
+                                      ACCOUNTS,
+                                      ORGANIZATIONS,
+                                      PROJECTS,
+                                      USER_MAPPINGS))))
+                      .fullDocument(FullDocument.UPDATE_LOOKUP)
+                      .maxAwaitTime(1, TimeUnit.SECONDS),
+              retryDelayMillis,
+              this);
+      watcher.start();
+    }
+    if (!awaitFirstLoad()) {
+      refresh();
+    }
+    refresher =
+        Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("scope-refresh-"));
+    refresher.scheduleWithFixedDelay(
+        this::refreshIfNotWatching, refreshSeconds, refreshSeconds, TimeUnit.SECONDS);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (watcher != null) {
+      watcher.stop();
+    }
+    if (refresher != null) {
+      refresher.shutdown();
+    }
+  }
+
+  /**
+   * Whether a user may access a scope: the org must belong to the account and the project to the
+   * org, and one of the mappings of the user must cover the scope.
+   *
+   * @param orgIdentifier The org, or null for the whole account.
+   * @param projectIdentifier The project, or null for the whole org or account.
+   */
+  public boolean canAccess(
+      String userId, String accountIdentifier, String orgIdentifier, String projectIdentifier) {
+    if (!enabled) {
+      return true;
+    }
+    String org = emptyToNull(orgIdentifier);
+    String project = emptyToNull(projectIdentifier);
+    if (userId == null || accountIdentifier == null || (project != null && org == null)) {
+      denials.increment();
+      return false;
+    }
+
+    HierarchyTree current = tree;
+    Set<String> scopes = current.scopesByUser.get(userId);
+    boolean allowed =
+        scopes != null
+            && current.exists(accountIdentifier, org, project)
+            && (scopes.contains(scopeKey(accountIdentifier, null, null))
+                || (org != null && scopes.contains(scopeKey(accountIdentifier, org, null)))
+                || (project != null && scopes.contains(scopeKey(accountIdentifier, org, project))));
+    if (!allowed) {
+      denials.increment();
+    }
+    return allowed;
+  }
+
+  public synchronized void onAccountSaved(Account account) {
+    if (account.isRemoved()) {
+      tree.accounts.remove(account.getAccountIdentifier());
+    } else {
+      tree.accounts.add(account.getAccountIdentifier());
+    }
+  }
+
+  public synchronized void onOrganizationSaved(Organization organization) {
+    if (organization.isRemoved()) {
+      tree.orgAccounts.remove(organization.getOrgIdentifier());
+    } else {
+      tree.orgAccounts.put(organization.getOrgIdentifier(), organization.getAccountIdentifier());
+    }
+  }
+
+  public synchronized void onProjectSaved(Project project) {
+    if (project.isRemoved()) {
+      tree.projectOrgs.remove(project.getProjectIdentifier());
+    } else {
+      tree.projectOrgs.put(
+          project.getProjectIdentifier(),
+          scopeKey(project.getAccountIdentifier(), project.getOrgIdentifier(), null));
+    }
+  }
+
+  public synchronized void onUserMappingSaved(UserMapping userMapping) {
+    HierarchyTree current = tree;
+    current.removeMapping(userMapping.getId());
+    if (!userMapping.isRemoved()) {
+      current.addMapping(userMapping);
+    }
+  }
+
+  public synchronized void onUserMappingDeleted(String id) {
+    tree.removeMapping(id);
+  }
+
+  public void onChange(ChangeStreamDocument<Document> change) {
+    OperationType operationType = change.getOperationType();
+    MongoNamespace namespace = change.getNamespace();
+    if (namespace == null
+        || (operationType != OperationType.INSERT
+            && operationType != OperationType.UPDATE
+            && operationType != OperationType.REPLACE
+            && operationType != OperationType.DELETE)) {
+      refresh();
+      return;
+    }
+
+    String collection = namespace.getCollectionName();
+    if (operationType == OperationType.DELETE) {
+      BsonValue id = change.getDocumentKey() != null ? change.getDocumentKey().get("_id") : null;
+      if (USER_MAPPINGS.equals(collection) && id != null && (id.isObjectId() || id.isString())) {
+        onUserMappingDeleted(
+            id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue());
+      } else {
+        refresh();
+      }
+      return;
+    }
+
+    Document document = change.getFullDocument();
+    if (document == null) {
+      // Deleted since, the delete follows
+      return;
+    }
+    MongoConverter converter = mongoTemplate.getConverter();
+    switch (collection) {
+      case ACCOUNTS:
+        onAccountSaved(converter.read(Account.class, document));
+        break;
+      case ORGANIZATIONS:
+        onOrganizationSaved(converter.read(Organization.class, document));
+        break;
+      case PROJECTS:
+        onProjectSaved(converter.read(Project.class, document));
+        break;
+      case USER_MAPPINGS:
+        onUserMappingSaved(converter.read(UserMapping.class, document));
+        break;
+      default:
+        break;
+    }
+  }
+
+  public void onReset() {
+    refresh();
+    loadedFromStream = true;
+    firstLoad.countDown();
+  }
+
+  public void onUnavailable() {
+    logger.warn(
+        "Change streams are unavailable, the hierarchy tree is reloaded every {} seconds",
+        refreshSeconds);
+    firstLoad.countDown();
+  }
+
+  /** Reloads the whole tree and all user scopes, then swaps them in at once. */
+  public synchronized void refresh() {
+    HierarchyTree loaded = new HierarchyTree();
+    accountRepository.findAll().stream()
+        .filter(account -> !account.isRemoved())
+        .forEach(account -> loaded.accounts.add(account.getAccountIdentifier()));
+    organizationRepository.findAll().stream()
+        .filter(org -> !org.isRemoved())
+        .forEach(org -> loaded.orgAccounts.put(org.getOrgIdentifier(), org.getAccountIdentifier()));
+    projectRepository.findAll().stream()
+        .filter(project -> !project.isRemoved())
+        .forEach(
+            project ->
+                loaded.projectOrgs.put(
+                    project.getProjectIdentifier(),
+                    scopeKey(project.getAccountIdentifier(), project.getOrgIdentifier(), null)));
+    userMappingRepository.findAll().stream()
+        .filter(userMapping -> !userMapping.isRemoved())
+        .forEach(loaded::addMapping);
+    tree = loaded;
+  }
+
+  /**
+   * Waits for the change stream to open and load the tree.
+   *
+   * @return Whether the tree was loaded; false without a change stream or when it is unavailable or
+   *     slow to open.
+   */
+  private boolean awaitFirstLoad() {
+    if (watcher == null) {
+      return false;
+    }
+    try {
+      return firstLoad.await(STARTUP_WAIT_SECONDS, TimeUnit.SECONDS) && loadedFromStream;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private void refreshIfNotWatching() {
+    if (watcher != null && watcher.isWatching()) {
+      return;
+    }
+    try {
+      refresh();
+    } catch (RuntimeException e) {
+      // Keep serving the current tree, and keep the schedule alive
+      logger.warn("Failed to refresh the hierarchy tree: {}", e.getMessage());
+    }
+  }
+
+  private static String scopeKey(String account, String org, String project) {
+    StringBuilder key = new StringBuilder(account);
+    if (org != null) {
+      key.append('/').append(org);
+      if (project != null) {
+        key.append('/').append(project);
+      }
+    }
+    return key.toString();
+  }
+
+  private static String emptyToNull(String value) {
+    return value == null || value.isEmpty() ? null : value;
+  }
+
+  /**
+   * The hierarchy and the user scopes. Read without locking; only changed while holding the lock of
+   * the service.
+   */
+  private static class HierarchyTree {
+    private final Set<String> accounts = ConcurrentHashMap.newKeySet();
+
+    /** The account of every org. */
+    private final Map<String, String> orgAccounts = new ConcurrentHashMap<>();
+
+    /** The {@code account/org} of every project. */
+    private final Map<String, String> projectOrgs = new ConcurrentHashMap<>();
+
+    /** The scope key granted by every user mapping, by user and mapping id. */
+    private final Map<String, Map<String, String>> mappingsByUser = new HashMap<>();
+
+    private final Map<String, String> userByMapping = new HashMap<>();
+
+    /** The scope keys granted to every user, replaced as a whole whenever they change. */
+    private final Map<String, Set<String>> scopesByUser = new ConcurrentHashMap<>();
+
+    boolean exists(String account, String org, String project) {
+      if (!accounts.contains(account)) {
+        return false;
+      }
+      if (org != null && !account.equals(orgAccounts.get(org))) {
+        return false;
+      }
+      return project == null || scopeKey(account, org, null).equals(projectOrgs.get(project));
+    }
+
+    void addMapping(UserMapping userMapping) {
+      String org = emptyToNull(userMapping.getOrgIdentifier());
+      String project = emptyToNull(userMapping.getProjectIdentifier());
+      if (userMapping.getAccountIdentifier() == null || (project != null && org == null)) {
+        // Granting nothing is safer than granting the whole account
+        return;
+      }
+      String key = scopeKey(userMapping.getAccountIdentifier(), org, project);
+      mappingsByUser
+          .computeIfAbsent(userMapping.getUserId(), user -> new HashMap<>())
+          .put(userMapping.getId(), key);
+      userByMapping.put(userMapping.getId(), userMapping.getUserId());
+      updateScopes(userMapping.getUserId());
+    }
+
+    void removeMapping(String id) {
+      String userId = userByMapping.remove(id);
+      if (userId == null) {
+        return;
+      }
+      Map<String, String> mappings = mappingsByUser.get(userId);
+      mappings.remove(id);
+      if (mappings.isEmpty()) {
+        mappingsByUser.remove(userId);
+      }
+      updateScopes(userId);
+    }
+
+    private void updateScopes(String userId) {
+      Map<String, String> mappings = mappingsByUser.get(userId);
+      if (mappings == null) {
+        scopesByUser.remove(userId);
+      } else {
+        scopesByUser.put(userId, Set.copyOf(mappings.values()));
+      }
+    }
+  }
+}
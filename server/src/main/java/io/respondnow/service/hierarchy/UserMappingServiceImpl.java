@@ -2,6 +2,9 @@ package io.respondnow.service.hierarchy;
 
 import io.respondnow.dto.auth.UserIdentifiers;
 import io.respondnow.dto.auth.UserMappingData;
+import io.respondnow.exception.AccountNotFoundException;
+import io.respondnow.exception.OrganizationNotFoundException;
+import io.respondnow.exception.ProjectNotFoundException;
 import io.respondnow.exception.UserMappingNotFoundException;
 import io.respondnow.model.hierarchy.Account;
 import io.respondnow.model.hierarchy.Organization;
@@ -10,7 +13,9 @@ import io.respondnow.model.hierarchy.UserMapping;
 import io.respondnow.repository.UserMappingRepository;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,9 +24,8 @@ import org.springframework.transaction.annotation.Transactional;
 public class UserMappingServiceImpl implements UserMappingService {
   @Autowired private UserMappingRepository userMappingRepository;
 
-  @Autowired private AccountService accountService;
-  @Autowired private OrganizationService organizationService;
-  @Autowired private ProjectService projectService;
+  @Autowired private HierarchyCacheService hierarchyCacheService;
+  @Autowired private ScopeService scopeService;
 
   public List<UserMapping> findAll() {
     return userMappingRepository.findAll();
@@ -32,11 +36,14 @@ public class UserMappingServiceImpl implements UserMappingService {
   }
 
   public UserMapping save(UserMapping userMapping) {
-    return userMappingRepository.save(userMapping);
+    UserMapping saved = userMappingRepository.save(userMapping);
+    scopeService.onUserMappingSaved(saved);
+    return saved;
   }
 
   public void deleteById(String id) {
     userMappingRepository.deleteById(id);
+    scopeService.onUserMappingDeleted(id);
   }
 
   @Transactional
@@ -61,7 +68,7 @@ public class UserMappingServiceImpl implements UserMappingService {
       userMap.setProjectIdentifier(projectIdentifier);
     }
 
-    return userMappingRepository.save(userMap);
+    return save(userMap);
   }
 
   public UserMappingData getUserMappings(String correlationId, String userId) {
@@ -71,13 +78,33 @@ public class UserMappingServiceImpl implements UserMappingService {
       throw new UserMappingNotFoundException("No mappings found for the user");
     }
 
+    // Resolve the hierarchy of all mappings at once instead of three lookups per mapping
+    Map<String, Account> accounts =
+        hierarchyCacheService.getAccounts(
+            mappings.stream().map(UserMapping::getAccountIdentifier).collect(Collectors.toSet()));
+    Map<String, Organization> orgs =
+        hierarchyCacheService.getOrganizations(
+            mappings.stream().map(UserMapping::getOrgIdentifier).collect(Collectors.toSet()));
+    Map<String, Project> projects =
+        hierarchyCacheService.getProjects(
+            mappings.stream().map(UserMapping::getProjectIdentifier).collect(Collectors.toSet()));
+
     UserIdentifiers defaultMapping = null;
     List<UserIdentifiers> allMappings = new ArrayList<>();
 
     for (UserMapping userMapping : mappings) {
-      Account account = accountService.getAccount(userMapping.getAccountIdentifier());
-      Organization org = organizationService.getOrganization(userMapping.getOrgIdentifier());
-      Project project = projectService.getProject(userMapping.getProjectIdentifier());
+      Account account = accounts.get(userMapping.getAccountIdentifier());
+      if (account == null) {
+        throw new AccountNotFoundException("Account not found");
+      }
+      Organization org = orgs.get(userMapping.getOrgIdentifier());
+      if (org == null) {
+        throw new OrganizationNotFoundException("Organization not found");
+      }
+      Project project = projects.get(userMapping.getProjectIdentifier());
+      if (project == null) {
+        throw new ProjectNotFoundException("Project not found");
+      }
 
       UserIdentifiers mappingIdentifiers = new UserIdentifiers();
       mappingIdentifiers.setAccountIdentifier(userMapping.getAccountIdentifier());
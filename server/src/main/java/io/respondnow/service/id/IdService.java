@@ -0,0 +1,7 @@
+package io.respondnow.service.id;
+
+public interface IdService {
+  String nextId();
+
+  long nextSequence(String name);
+}
@@ -0,0 +1,145 @@
+package io.respondnow.service.id;
+
+import io.respondnow.model.id.Sequence;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+/**
+ * Issues the identifiers of incidents and timeline entries.
+ *
+ * <p>IDs are 63 bit numbers made of the milliseconds since {@link #EPOCH}, a node id and a per
+ * millisecond counter, written as 13 Crockford base32 characters. They sort by creation time as
+ * plain strings, are unique across nodes as long as every node has its own {@code id.nodeId}, and
+ * are generated without any I/O.
+ *
+ * <p>Sequence numbers are allocated from a counter in the {@code sequences} collection in blocks of
+ * {@code id.sequence.blockSize}, so the database is only hit once per block. Numbers left in a
+ * block when the application stops are never handed out, so sequences can have gaps.
+ */
+@Service
+public class IdServiceImpl implements IdService {
+
+  private static final Logger logger = LoggerFactory.getLogger(IdServiceImpl.class);
+
+  /** 2024-01-01T00:00:00Z, the 41 timestamp bits last until 2093. */
+  private static final long EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+  private static final int NODE_BITS = 10;
+  private static final int COUNTER_BITS = 12;
+  private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+  private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+  private static final int ID_LENGTH = 13;
+
+  /** Crockford base32, ordered so that the string order of IDs matches their numeric order. */
+  private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+  @Autowired private MongoTemplate mongoTemplate;
+
+  @Value("${id.nodeId:-1}")
+  private long nodeId;
+
+  @Value("${id.sequence.blockSize:100}")
+  private int blockSize;
+
+  private long lastMillis;
+  private long counter;
+
+  private final Map<String, SequenceBlock> blocks = new ConcurrentHashMap<>();
+
+  @PostConstruct
+  public void init() {
+    if (nodeId < 0) {
+      nodeId = new SecureRandom().nextInt((int) MAX_NODE_ID + 1);
+      logger.warn(
+          "id.nodeId is not set, using random node id {}. Set a distinct id.nodeId on every node"
+              + " to rule out duplicate IDs.",
+          nodeId);
+    } else if (nodeId > MAX_NODE_ID) {
+      throw new IllegalStateException("id.nodeId must be between 0 and " + MAX_NODE_ID);
+    }
+  }
+
+  /**
+   * Returns a new ID, greater than every ID returned before by this node. When the clock moves
+   * backwards, or more than 4096 IDs are requested within a millisecond, the timestamp is moved
+   * ahead of the clock instead of waiting for it.
+   */
+  public String nextId() {
+    long millis;
+    long count;
+    synchronized (this) {
+      millis = Math.max(System.currentTimeMillis() - EPOCH, lastMillis);
+      if (millis == lastMillis) {
+        counter = (counter + 1) & COUNTER_MASK;
+        if (counter == 0) {
+          millis++;
+        }
+      } else {
+        counter = 0;
+      }
+      lastMillis = millis;
+      count = counter;
+    }
+    return encode((millis << (NODE_BITS + COUNTER_BITS)) | (nodeId << COUNTER_BITS) | count);
+  }
+
+  /**
+   * Returns the next number of a named sequence, starting at 1. Numbers increase per node; with
+   * several nodes each draws from its own block, so numbers are unique but not issued in order.
+   */
+  public long nextSequence(String name) {
+    SequenceBlock block = blocks.computeIfAbsent(name, key -> new SequenceBlock());
+    synchronized (block) {
+      if (block.next > block.last) {
+        block.last = allocate(name);
+        block.next = block.last - blockSize + 1;
+      }
+      return block.next++;
+    }
+  }
+
+  /** Reserves the next block of a sequence and returns its last number. */
+  private long allocate(String name) {
+    Query query = new Query(Criteria.where("_id").is(name));
+    Update update = new Update().inc("value", blockSize);
+    FindAndModifyOptions options = FindAndModifyOptions.options().returnNew(true).upsert(true);
+    Sequence sequence;
+    try {
+      sequence = mongoTemplate.findAndModify(query, update, options, Sequence.class);
+    } catch (DuplicateKeyException e) {
+      // Another node created the sequence at the same time, the retry increments it
+      sequence = mongoTemplate.findAndModify(query, update, options, Sequence.class);
+    }
+    return sequence.getValue();
+  }
+
+  private static String encode(long id) {
+    char[] chars = new char[ID_LENGTH];
+    for (int i = ID_LENGTH - 1; i >= 0; i--) {
+      chars[i] = ALPHABET[(int) (id & 31)];
+      id >>>= 5;
+    }
+    return new String(chars);
+  }
+
+  /** The numbers of a sequence reserved by this node; {@code next > last} once used up. */
+  private static class SequenceBlock {
+    private long next = 1;
+    private long last;
+  }
+}
@@ -0,0 +1,15 @@
+package io.respondnow.service.incident;
+
+import io.respondnow.model.incident.Incident;
+
+public interface IncidentCacheService {
+  Incident getById(String id);
+
+  Incident getByIdentifier(String identifier);
+
+  Incident getCachedVersion(String id);
+
+  void invalidate(String id);
+
+  void invalidateAll();
+}
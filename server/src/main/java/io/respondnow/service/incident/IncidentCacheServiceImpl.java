@@ -0,0 +1,233 @@
+package io.respondnow.service.incident;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.respondnow.model.incident.Incident;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.PostConstruct;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Read-through cache of incidents keyed by {@code _id} and identifier. Incidents are kept as raw
+ * BSON, which is both compact and gives the exact size of every entry, and are mapped to a fresh
+ * {@link Incident} on every read so callers can never modify the cached copy. The least recently
+ * used incidents are evicted once the total size exceeds {@code incident.cache.maxWeightBytes}.
+ *
+ * <p>Entries are invalidated from the incident change stream, so the cache is only used while the
+ * stream is open; otherwise every read goes to MongoDB.
+ */
+@Service
+public class IncidentCacheServiceImpl implements IncidentCacheService, IncidentChangeListener {
+
+  @Autowired private MongoTemplate mongoTemplate;
+  @Autowired private MeterRegistry meterRegistry;
+  @Autowired private IncidentChangeStreamService incidentChangeStreamService;
+
+  @Value("${incident.cache.enabled:true}")
+  private boolean enabled;
+
+  @Value("${incident.cache.maxWeightBytes:67108864}")
+  private long maxWeightBytes;
+
+  private final LinkedHashMap<String, RawBsonDocument> byId = new LinkedHashMap<>(16, 0.75f, true);
+  private final Map<String, String> idByIdentifier = new HashMap<>();
+  private long weight;
+
+  /** Incremented on every invalidation, so a load racing with one is not cached. */
+  private long generation;
+
+  private Codec<Document> documentCodec;
+  private Counter hits;
+  private Counter misses;
+  private Counter versionHits;
+  private Counter versionMisses;
+  private Counter evictions;
+
+  @PostConstruct
+  public void init() {
+    documentCodec = mongoTemplate.getDb().getCodecRegistry().get(Document.class);
+    hits = meterRegistry.counter("incident.cache.requests", "result", "hit");
+    misses = meterRegistry.counter("incident.cache.requests", "result", "miss");
+    // Version probes answer If-None-Match checks, counted apart so they do not skew the hit ratio
+    versionHits = meterRegistry.counter("incident.cache.version.requests", "result", "hit");
+    versionMisses = meterRegistry.counter("incident.cache.version.requests", "result", "miss");
+    evictions = meterRegistry.counter("incident.cache.evictions");
+    meterRegistry.gauge("incident.cache.entries", this, cache -> cache.size());
+    meterRegistry.gauge("incident.cache.weight", this, cache -> cache.weight());
+    incidentChangeStreamService.addListener(this);
+  }
+
+  public Incident getById(String id) {
+    ObjectId objectId = new ObjectId(id);
+    return get(id, null, Filters.eq("_id", objectId));
+  }
+
+  public Incident getByIdentifier(String identifier) {
+    return get(null, identifier, Filters.eq("identifier", identifier));
+  }
+
+  /**
+   * Returns the version, updatedAt and scope of a cached incident, read straight from its BSON
+   * without mapping the rest of the document.
+   *
+   * @return An incident with only its id, version, updatedAt and scope identifiers set, or null
+   *     when it is not cached.
+   */
+  public Incident getCachedVersion(String id) {
+    if (!enabled || !incidentChangeStreamService.isWatching()) {
+      return null;
+    }
+    RawBsonDocument cached;
+    synchronized (this) {
+      cached = byId.get(id);
+    }
+    if (cached == null) {
+      versionMisses.increment();
+      return null;
+    }
+    versionHits.increment();
+    Incident incident = new Incident();
+    incident.setId(id);
+    if (cached.isNumber("version")) {
+      incident.setVersion(cached.getNumber("version").longValue());
+    }
+    if (cached.isNumber("updatedAt")) {
+      incident.setUpdatedAt(cached.getNumber("updatedAt").longValue());
+    }
+    incident.setAccountIdentifier(stringField(cached, "accountIdentifier"));
+    incident.setOrgIdentifier(stringField(cached, "orgIdentifier"));
+    incident.setProjectIdentifier(stringField(cached, "projectIdentifier"));
+    return incident;
+  }
+
+  public synchronized void invalidate(String id) {
+    generation++;
+    RawBsonDocument removed = byId.remove(id);
+    if (removed != null) {
+      forget(removed);
+    }
+  }
+
+  public synchronized void invalidateAll() {
+    generation++;
+    byId.clear();
+    idByIdentifier.clear();
+    weight = 0;
+  }
+
+  public void onChange(ChangeStreamDocument<Document> change) {
+    OperationType operationType = change.getOperationType();
+    if (change.getDocumentKey() == null
+        || operationType == OperationType.DROP
+        || operationType == OperationType.RENAME
+        || operationType == OperationType.INVALIDATE) {
+      invalidateAll();
+      return;
+    }
+    BsonValue id = change.getDocumentKey().get("_id");
+    if (id != null && id.isObjectId()) {
+      invalidate(id.asObjectId().getValue().toHexString());
+    }
+  }
+
+  public void onReset() {
+    invalidateAll();
+  }
+
+  private Incident get(String id, String identifier, Bson filter) {
+    boolean active = enabled && incidentChangeStreamService.isWatching();
+    long loadGeneration = 0;
+    if (active) {
+      RawBsonDocument cached;
+      synchronized (this) {
+        cached = byId.get(id != null ? id : idByIdentifier.get(identifier));
+        loadGeneration = generation;
+      }
+      if (cached != null) {
+        hits.increment();
+        return toIncident(cached);
+      }
+      misses.increment();
+    }
+
+    RawBsonDocument loaded =
+        mongoTemplate
+            .getCollection("incidents")
+            .withDocumentClass(RawBsonDocument.class)
+            .find(filter)
+            .first();
+    if (loaded == null) {
+      return null;
+    }
+    if (active) {
+      put(loaded, loadGeneration);
+    }
+    return toIncident(loaded);
+  }
+
+  private synchronized void put(RawBsonDocument incident, long loadGeneration) {
+    long size = incident.getByteBuffer().remaining();
+    if (loadGeneration != generation || size > maxWeightBytes) {
+      return;
+    }
+
+    RawBsonDocument previous =
+        byId.put(incident.getObjectId("_id").getValue().toHexString(), incident);
+    if (previous != null) {
+      forget(previous);
+    }
+    if (incident.isString("identifier")) {
+      idByIdentifier.put(
+          incident.getString("identifier").getValue(),
+          incident.getObjectId("_id").getValue().toHexString());
+    }
+    weight += size;
+
+    Iterator<RawBsonDocument> eldest = byId.values().iterator();
+    while (weight > maxWeightBytes && eldest.hasNext()) {
+      RawBsonDocument evicted = eldest.next();
+      eldest.remove();
+      forget(evicted);
+      evictions.increment();
+    }
+  }
+
+  /** Drops the identifier mapping and size of an entry already removed from {@code byId}. */
+  private void forget(RawBsonDocument incident) {
+    if (incident.isString("identifier")) {
+      idByIdentifier.remove(incident.getString("identifier").getValue());
+    }
+    weight -= incident.getByteBuffer().remaining();
+  }
+
+  private static String stringField(RawBsonDocument incident, String field) {
+    return incident.isString(field) ? incident.getString(field).getValue() : null;
+  }
+
+  private Incident toIncident(RawBsonDocument incident) {
+    return mongoTemplate.getConverter().read(Incident.class, incident.decode(documentCodec));
+  }
+
+  private synchronized int size() {
+    return byId.size();
+  }
+
+  private synchronized long weight() {
+    return weight;
+  }
+}
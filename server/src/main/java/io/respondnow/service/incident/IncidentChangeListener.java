@@ -0,0 +1,21 @@
+package io.respondnow.service.incident;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import org.bson.Document;
+
+/** Receives the changes made to the incidents collection by any replica. */
+public interface IncidentChangeListener {
+  void onChange(ChangeStreamDocument<Document> change);
+
+  /**
+   * Called whenever the change stream is (re)opened without resuming, after which changes made in
+   * the meantime are not delivered.
+   */
+  default void onReset() {}
+
+  /**
+   * Called when the change stream cannot run, because it is disabled or the deployment does not
+   * support change streams, after which no changes are delivered at all.
+   */
+  default void onUnavailable() {}
+}
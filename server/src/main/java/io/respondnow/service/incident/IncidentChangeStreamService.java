@@ -0,0 +1,7 @@
+package io.respondnow.service.incident;
+
+public interface IncidentChangeStreamService {
+  void addListener(IncidentChangeListener listener);
+
+  boolean isWatching();
+}
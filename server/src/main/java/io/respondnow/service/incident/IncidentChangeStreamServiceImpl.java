@@ -0,0 +1,106 @@
+package io.respondnow.service.incident;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import io.respondnow.service.mongo.ChangeStreamWatcher;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Watches the incidents collection with a {@link ChangeStreamWatcher} and hands every change to the
+ * registered listeners, with the current version of the changed incident looked up for updates. The
+ * listeners are reset whenever the stream is opened without resuming.
+ */
+@Service
+public class IncidentChangeStreamServiceImpl
+    implements IncidentChangeStreamService, ChangeStreamWatcher.Handler {
+
+  private static final Logger logger =
+      LoggerFactory.getLogger(IncidentChangeStreamServiceImpl.class);
+
+  @Autowired private MongoTemplate mongoTemplate;
+
+  @Value("${incident.changeStream.enabled:true}")
+  private boolean enabled;
+
+  @Value("${incident.changeStream.retryDelayMillis:5000}")
+  private long retryDelayMillis;
+
+  private final List<IncidentChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+  private volatile boolean unavailable;
+  private ChangeStreamWatcher watcher;
+
+  @PostConstruct
+  public void start() {
+    if (!enabled) {
+      logger.info("Incident change stream is disabled.");
+      unavailable = true;
+      return;
+    }
+    watcher =
+        new ChangeStreamWatcher(
+            "incident",
+            () ->
+                mongoTemplate
+                    .getCollection("incidents")
+                    .watch()
+                    .fullDocument(FullDocument.UPDATE_LOOKUP)
+                    .maxAwaitTime(1, TimeUnit.SECONDS),
+            retryDelayMillis,
+            this);
+    watcher.start();
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (watcher != null) {
+      watcher.stop();
+    }
+  }
+
+  /**
+   * Registers a listener. A listener registered after the stream turned out to be unavailable is
+   * told so right away.
+   */
+  public void addListener(IncidentChangeListener listener) {
+    listeners.add(listener);
+    if (unavailable) {
+      listener.onUnavailable();
+    }
+  }
+
+  /** Whether the change stream is currently open, i.e. whether listeners receive every change. */
+  public boolean isWatching() {
+    return watcher != null && watcher.isWatching();
+  }
+
+  public void onChange(ChangeStreamDocument<Document> change) {
+    for (IncidentChangeListener listener : listeners) {
+      try {
+        listener.onChange(change);
+      } catch (RuntimeException e) {
+        logger.error("Incident change listener failed: {}", e.getMessage());
+      }
+    }
+  }
+
+  public void onReset() {
+    listeners.forEach(IncidentChangeListener::onReset);
+  }
+
+  public void onUnavailable() {
+    unavailable = true;
+    listeners.forEach(IncidentChangeListener::onUnavailable);
+  }
+}
@@ -0,0 +1,10 @@
+package io.respondnow.service.incident;
+
+import io.respondnow.model.api.ExportFormat;
+import java.io.IOException;
+import java.io.OutputStream;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+public interface IncidentExportService {
+  long exportIncidents(Criteria criteria, ExportFormat format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,183 @@
+package io.respondnow.service.incident;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.respondnow.model.api.ExportFormat;
+import io.respondnow.model.incident.Incident;
+import io.respondnow.model.incident.Service;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.util.CloseableIterator;
+
+@org.springframework.stereotype.Service
+public class IncidentExportServiceImpl implements IncidentExportService {
+
+  private static final Logger logger = LoggerFactory.getLogger(IncidentExportServiceImpl.class);
+
+  private static final List<String> CSV_COLUMNS =
+      List.of(
+          "id",
+          "identifier",
+          "name",
+          "type",
+          "severity",
+          "status",
+          "active",
+          "accountIdentifier",
+          "orgIdentifier",
+          "projectIdentifier",
+          "services",
+          "tags",
+          "incidentChannelType",
+          "summary",
+          "createdBy",
+          "createdAt",
+          "updatedAt");
+
+  @Autowired private MongoTemplate mongoTemplate;
+  @Autowired private ObjectMapper objectMapper;
+
+  @Value("${incident.export.cursorBatchSize:500}")
+  private int cursorBatchSize;
+
+  @Value("${incident.export.flushEvery:500}")
+  private int flushEvery;
+
+  /**
+   * Streams every incident matching the criteria to the output stream, newest first. Incidents are
+   * read from a server side cursor one batch at a time and written as they arrive, so memory use
+   * does not depend on the number of matching incidents; a slow reader blocks the writes, which in
+   * turn stops the cursor from fetching further batches. The embedded timeline preview is left out,
+   * the full timeline is available from the timeline API.
+   *
+   * @param criteria The filter criteria.
+   * @param format The output format.
+   * @param out The stream to write to; it is flushed but not closed.
+   * @return The number of exported incidents.
+   */
+  public long exportIncidents(Criteria criteria, ExportFormat format, OutputStream out)
+      throws IOException {
+    Query query =
+        new Query(criteria)
+            .with(
+                Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "_id")))
+            .cursorBatchSize(cursorBatchSize);
+    query.fields().exclude("timelines");
+
+    long exported;
+    try (CloseableIterator<Incident> incidents = mongoTemplate.stream(query, Incident.class)) {
+      exported =
+          format == ExportFormat.Csv ? writeCsv(incidents, out) : writeNdjson(incidents, out);
+    }
+    logger.info("Exported {} incidents as {}", exported, format);
+    return exported;
+  }
+
+  private long writeNdjson(CloseableIterator<Incident> incidents, OutputStream out)
+      throws IOException {
+    long count = 0;
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      while (incidents.hasNext()) {
+        generator.writeObject(incidents.next());
+        generator.writeRaw('\n');
+        if (++count % flushEvery == 0) {
+          generator.flush();
+        }
+      }
+      generator.flush();
+    }
+    return count;
+  }
+
+  private long writeCsv(CloseableIterator<Incident> incidents, OutputStream out)
+      throws IOException {
+    // Not closed on purpose, closing would close the response stream as well
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    writer.write(String.join(",", CSV_COLUMNS));
+    writer.write("\r\n");
+
+    long count = 0;
+    while (incidents.hasNext()) {
+      Incident incident = incidents.next();
+      writeCsvRow(
+          writer,
+          incident.getId(),
+          incident.getIdentifier(),
+          incident.getName(),
+          incident.getType(),
+          incident.getSeverity(),
+          incident.getStatus(),
+          incident.getActive(),
+          incident.getAccountIdentifier(),
+          incident.getOrgIdentifier(),
+          incident.getProjectIdentifier(),
+          incident.getServices() != null
+              ? incident.getServices().stream()
+                  .map(Service::getServiceName)
+                  .collect(Collectors.joining(";"))
+              : null,
+          incident.getTags() != null ? String.join(";", incident.getTags()) : null,
+          incident.getIncidentChannel() != null ? incident.getIncidentChannel().getType() : null,
+          incident.getSummary(),
+          incident.getCreatedBy() != null ? incident.getCreatedBy().getUserName() : null,
+          incident.getCreatedAt(),
+          incident.getUpdatedAt());
+      if (++count % flushEvery == 0) {
+        writer.flush();
+      }
+    }
+    writer.flush();
+    return count;
+  }
+
+  private static void writeCsvRow(Writer writer, Object... values) throws IOException {
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        writer.write(',');
+      }
+      if (values[i] instanceof Number) {
+        writer.write(String.valueOf(values[i]));
+      } else if (values[i] != null) {
+        writer.write(escapeCsv(neutraliseFormula(String.valueOf(values[i]))));
+      }
+    }
+    writer.write("\r\n");
+  }
+
+  /**
+   * Prefixes text that a spreadsheet would evaluate as a formula with a quote, so user supplied
+   * fields such as the name or summary cannot inject formulas into the opened export.
+   */
+  private static String neutraliseFormula(String value) {
+    if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+      return "'" + value;
+    }
+    return value;
+  }
+
+  /** Quotes a value as per RFC 4180 when it contains a separator, quote or line break. */
+  private static String escapeCsv(String value) {
+    if (value.indexOf(',') < 0
+        && value.indexOf('"') < 0
+        && value.indexOf('\n') < 0
+        && value.indexOf('\r') < 0) {
+      return value;
+    }
+    return '"' + value.replace("\"", "\"\"") + '"';
+  }
+}
@@ -0,0 +1,10 @@
+package io.respondnow.service.incident;
+
+import io.respondnow.model.incident.IncidentImport;
+import java.io.InputStream;
+
+public interface IncidentImportService {
+  IncidentImport importIncidents(String accountIdentifier, String importId, InputStream in);
+
+  IncidentImport getImport(String importId, String accountIdentifier);
+}
@@ -0,0 +1,323 @@
+package io.respondnow.service.incident;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.respondnow.exception.BadRequestException;
+import io.respondnow.exception.ResourceNotFoundException;
+import io.respondnow.model.incident.BulkItemResult;
+import io.respondnow.model.incident.BulkItemStatus;
+import io.respondnow.model.incident.BulkResult;
+import io.respondnow.model.incident.ImportStatus;
+import io.respondnow.model.incident.Incident;
+import io.respondnow.model.incident.IncidentImport;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+@Service
+public class IncidentImportServiceImpl implements IncidentImportService {
+
+  private static final Logger logger = LoggerFactory.getLogger(IncidentImportServiceImpl.class);
+
+  @Autowired private IncidentService incidentService;
+  @Autowired private MongoTemplate mongoTemplate;
+  @Autowired private ObjectMapper objectMapper;
+
+  @Value("${incident.import.batchSize:1000}")
+  private int batchSize;
+
+  @Value("${incident.import.pipelineDepth:2}")
+  private int pipelineDepth;
+
+  @Value("${incident.import.writeThreads:4}")
+  private int writeThreads;
+
+  @Value("${incident.import.maxReportedErrors:100}")
+  private int maxReportedErrors;
+
+  @Value("${incident.import.staleAfterSeconds:300}")
+  private long staleAfterSeconds;
+
+  private ExecutorService writeExecutor;
+
+  @PostConstruct
+  public void init() {
+    writeExecutor =
+        Executors.newFixedThreadPool(
+            writeThreads, new CustomizableThreadFactory("incident-import-"));
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    writeExecutor.shutdown();
+  }
+
+  /**
+   * Imports incidents from an NDJSON stream, one incident per line. Lines are parsed one at a time
+   * and handed to {@link IncidentService#bulkProcessIncidents} in batches; up to {@code
+   * incident.import.pipelineDepth} batches are written in the background while the next one is
+   * parsed, so at most that many batches plus the one being filled are held in memory.
+   *
+   * <p>After every written batch the import progress is saved with a checkpoint. When an import is
+   * resumed with the same input, the records before the checkpoint are skipped; records of a batch
+   * that was in flight when the import stopped are reported as duplicates when written again.
+   *
+   * @param accountIdentifier The account the incidents are imported into.
+   * @param importId The import to resume, or null to start a new one.
+   * @param in The NDJSON input.
+   * @return The final state of the import.
+   */
+  public IncidentImport importIncidents(String accountIdentifier, String importId, InputStream in) {
+    IncidentImport incidentImport =
+        importId == null || importId.isEmpty()
+            ? startImport(accountIdentifier)
+            : resumeImport(importId, accountIdentifier);
+    long skip = incidentImport.getCheckpoint();
+    logger.info("Running incident import {} from record {}", incidentImport.getId(), skip);
+
+    ObjectReader reader = objectMapper.readerFor(Incident.class);
+    Deque<ImportBatch> inFlight = new ArrayDeque<>();
+    ImportBatch batch = new ImportBatch();
+    long record = 0;
+    try (BufferedReader lines =
+        new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = lines.readLine()) != null) {
+        if (line.isBlank()) {
+          continue;
+        }
+        long recordNumber = record++;
+        if (recordNumber < skip) {
+          continue;
+        }
+        batch.parse(reader, line, recordNumber, accountIdentifier);
+        if (batch.size() == batchSize) {
+          batch.endRecord = record;
+          submit(batch, inFlight, incidentImport);
+          batch = new ImportBatch();
+        }
+      }
+      if (batch.size() > 0) {
+        batch.endRecord = record;
+        submit(batch, inFlight, incidentImport);
+      }
+      while (!inFlight.isEmpty()) {
+        completeOldest(inFlight, incidentImport);
+      }
+      incidentImport.setStatus(ImportStatus.Completed);
+      incidentImport.setCompletedAt(Instant.now().getEpochSecond());
+    } catch (IOException | RuntimeException e) {
+      logger.error(
+          "Incident import {} stopped at record {}: {}",
+          incidentImport.getId(),
+          incidentImport.getCheckpoint(),
+          e.getMessage());
+      // Batches already handed off are written regardless, account for them in the checkpoint
+      drainQuietly(inFlight, incidentImport);
+      incidentImport.setStatus(ImportStatus.Failed);
+      incidentImport.setError(e.getMessage());
+    }
+
+    incidentImport.setUpdatedAt(Instant.now().getEpochSecond());
+    mongoTemplate.save(incidentImport);
+    logger.info(
+        "Incident import {} {}: {} created, {} duplicates, {} invalid, {} failed",
+        incidentImport.getId(),
+        incidentImport.getStatus(),
+        incidentImport.getCreated(),
+        incidentImport.getDuplicates(),
+        incidentImport.getValidationFailed(),
+        incidentImport.getWriteFailed());
+    return incidentImport;
+  }
+
+  /**
+   * Returns an import of an account. Imports of other accounts are reported as missing, so their
+   * ids are not revealed to callers authorised for a different account.
+   */
+  public IncidentImport getImport(String importId, String accountIdentifier) {
+    IncidentImport incidentImport = findImport(importId);
+    if (!incidentImport.getAccountIdentifier().equals(accountIdentifier)) {
+      throw new ResourceNotFoundException("Import not found for ID: " + importId);
+    }
+    return incidentImport;
+  }
+
+  private IncidentImport findImport(String importId) {
+    IncidentImport incidentImport = mongoTemplate.findById(importId, IncidentImport.class);
+    if (incidentImport == null) {
+      throw new ResourceNotFoundException("Import not found for ID: " + importId);
+    }
+    return incidentImport;
+  }
+
+  private IncidentImport startImport(String accountIdentifier) {
+    long now = Instant.now().getEpochSecond();
+    IncidentImport incidentImport = new IncidentImport();
+    incidentImport.setAccountIdentifier(accountIdentifier);
+    incidentImport.setStatus(ImportStatus.Running);
+    incidentImport.setCreatedAt(now);
+    incidentImport.setUpdatedAt(now);
+    return mongoTemplate.insert(incidentImport);
+  }
+
+  /**
+   * Claims an existing import for resumption. An import that is still running can only be claimed
+   * once it has not reported progress for {@code incident.import.staleAfterSeconds}, which keeps
+   * two requests from importing the same input concurrently.
+   */
+  private IncidentImport resumeImport(String importId, String accountIdentifier) {
+    IncidentImport existing = findImport(importId);
+    if (!existing.getAccountIdentifier().equals(accountIdentifier)) {
+      throw new BadRequestException("Import " + importId + " belongs to another account");
+    }
+
+    long now = Instant.now().getEpochSecond();
+    Query query =
+        new Query(
+            Criteria.where("_id")
+                .is(importId)
+                .orOperator(
+                    Criteria.where("status").ne(ImportStatus.Running),
+                    Criteria.where("updatedAt").lt(now - staleAfterSeconds)));
+    Update update =
+        new Update()
+            .set("status", ImportStatus.Running)
+            .set("updatedAt", now)
+            .unset("error")
+            .unset("completedAt");
+    IncidentImport claimed =
+        mongoTemplate.findAndModify(
+            query, update, FindAndModifyOptions.options().returnNew(true), IncidentImport.class);
+    if (claimed == null) {
+      throw new BadRequestException("Import " + importId + " is still running");
+    }
+    return claimed;
+  }
+
+  /** Hands a batch to the write pool, first waiting for the oldest one if the pipeline is full. */
+  private void submit(
+      ImportBatch batch, Deque<ImportBatch> inFlight, IncidentImport incidentImport) {
+    if (inFlight.size() >= pipelineDepth) {
+      completeOldest(inFlight, incidentImport);
+    }
+    batch.result =
+        CompletableFuture.supplyAsync(
+            () -> incidentService.bulkProcessIncidents(batch.incidents, List.of()), writeExecutor);
+    inFlight.add(batch);
+  }
+
+  /**
+   * Waits for the oldest batch, folds its outcome into the import and saves the progress. Batches
+   * complete in submission order, so every record before the batch end is then done. A batch whose
+   * write failed stays in the pipeline, which keeps the checkpoint from moving past it.
+   */
+  private void completeOldest(Deque<ImportBatch> inFlight, IncidentImport incidentImport) {
+    ImportBatch batch = inFlight.peek();
+    BulkResult result;
+    try {
+      result = batch.result.join();
+    } catch (CompletionException e) {
+      throw e.getCause() instanceof RuntimeException
+          ? (RuntimeException) e.getCause()
+          : new IllegalStateException(e.getCause());
+    }
+
+    incidentImport.setCreated(incidentImport.getCreated() + result.getCreated());
+    incidentImport.setDuplicates(incidentImport.getDuplicates() + result.getDuplicates());
+    incidentImport.setValidationFailed(
+        incidentImport.getValidationFailed()
+            + result.getValidationFailed()
+            + batch.parseErrors.size());
+    incidentImport.setWriteFailed(incidentImport.getWriteFailed() + result.getWriteFailed());
+
+    batch.parseErrors.forEach(error -> reportError(incidentImport, error));
+    for (BulkItemResult item : result.getCreates()) {
+      if (item.getStatus() == BulkItemStatus.ValidationFailed
+          || item.getStatus() == BulkItemStatus.WriteFailed) {
+        item.setIndex(Math.toIntExact(batch.recordNumbers.get(item.getIndex())));
+        reportError(incidentImport, item);
+      }
+    }
+
+    incidentImport.setCheckpoint(batch.endRecord);
+    incidentImport.setUpdatedAt(Instant.now().getEpochSecond());
+    mongoTemplate.save(incidentImport);
+    inFlight.poll();
+  }
+
+  private void drainQuietly(Deque<ImportBatch> inFlight, IncidentImport incidentImport) {
+    try {
+      while (!inFlight.isEmpty()) {
+        completeOldest(inFlight, incidentImport);
+      }
+    } catch (RuntimeException e) {
+      logger.error("Failed to complete in-flight import batch: {}", e.getMessage());
+    }
+  }
+
+  private void reportError(IncidentImport incidentImport, BulkItemResult item) {
+    if (incidentImport.getErrors().size() < maxReportedErrors) {
+      incidentImport.getErrors().add(item);
+    }
+  }
+
+  /** The records of one import batch, with the input record number of every parsed incident. */
+  private static class ImportBatch {
+    private final List<Incident> incidents = new ArrayList<>();
+    private final List<Long> recordNumbers = new ArrayList<>();
+    private final List<BulkItemResult> parseErrors = new ArrayList<>();
+    private long endRecord;
+    private CompletableFuture<BulkResult> result;
+
+    void parse(ObjectReader reader, String line, long recordNumber, String accountIdentifier) {
+      String error;
+      try {
+        Incident incident = reader.readValue(line);
+        if (incident.getAccountIdentifier() == null) {
+          incident.setAccountIdentifier(accountIdentifier);
+        }
+        if (incident.getAccountIdentifier().equals(accountIdentifier)) {
+          incidents.add(incident);
+          recordNumbers.add(recordNumber);
+          return;
+        }
+        error = "accountIdentifier does not match the import";
+      } catch (JsonProcessingException e) {
+        error = "Invalid JSON: " + e.getOriginalMessage();
+      }
+      parseErrors.add(
+          new BulkItemResult(
+              Math.toIntExact(recordNumber), null, null, BulkItemStatus.ValidationFailed, error));
+    }
+
+    int size() {
+      return incidents.size() + parseErrors.size();
+    }
+  }
+}
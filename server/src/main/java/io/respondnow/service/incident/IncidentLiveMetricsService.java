@@ -0,0 +1,7 @@
+package io.respondnow.service.incident;
+
+import java.util.Map;
+
+public interface IncidentLiveMetricsService {
+  Map<String, Map<String, Long>> getOpenIncidentCounts();
+}
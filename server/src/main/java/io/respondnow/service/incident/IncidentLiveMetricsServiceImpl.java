@@ -0,0 +1,325 @@
+package io.respondnow.service.incident;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.respondnow.model.incident.Incident;
+import io.respondnow.model.incident.Service;
+import io.respondnow.model.incident.Stage;
+import io.respondnow.model.incident.Status;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PostConstruct;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.util.CloseableIterator;
+
+/**
+ * Keeps live counts of the open incidents by severity, status, type and service, and records how
+ * long incidents spend in each status, for wallboards to poll through the actuator metrics.
+ *
+ * <p>The counts are seeded from the open incidents whenever the change stream is opened without
+ * resuming, including when it is first opened at startup, off the startup thread. After that they
+ * are updated from the incident change stream. So they cover the writes of every replica and never
+ * query the database, whatever the scrape rate. When change streams are disabled or not supported,
+ * e.g. by a standalone mongod, the counts are seeded once and then go stale; this is logged, and
+ * {@code incident.open.live} reports whether the counts are currently kept up to date. The last
+ * known state of every open incident is kept, to tell what a change moved from. A gauge is removed
+ * once its count drops to zero, so only combinations and services with open incidents are exported,
+ * however many distinct values incidents are created with.
+ *
+ * <p>Exported meters:
+ *
+ * <ul>
+ *   <li>{@code incident.open{severity,status,type}}: the open incidents per combination.
+ *   <li>{@code incident.open.service{service}}: the open incidents affecting a service.
+ *   <li>{@code incident.status.duration{status}}: time spent in a status, with percentiles.
+ *   <li>{@code incident.open.live}: 1 while the counts follow the change stream, 0 while they may
+ *       be stale.
+ * </ul>
+ */
+@org.springframework.stereotype.Service
+public class IncidentLiveMetricsServiceImpl
+    implements IncidentLiveMetricsService, IncidentChangeListener {
+
+  private static final Logger logger =
+      LoggerFactory.getLogger(IncidentLiveMetricsServiceImpl.class);
+
+  private static final String NONE = "none";
+
+  @Autowired private MongoTemplate mongoTemplate;
+  @Autowired private MeterRegistry meterRegistry;
+  @Autowired private IncidentChangeStreamService incidentChangeStreamService;
+
+  /** The last known state of every open incident, by id. */
+  private final Map<String, OpenIncident> openIncidents = new HashMap<>();
+
+  private final Map<List<String>, OpenGauge> openCounts = new HashMap<>();
+  private final Map<String, OpenGauge> openByService = new HashMap<>();
+  private final Map<Status, Timer> statusDurations = new EnumMap<>(Status.class);
+
+  private boolean seeded;
+
+  @PostConstruct
+  public void init() {
+    for (Status status : Status.values()) {
+      statusDurations.put(
+          status,
+          Timer.builder("incident.status.duration")
+              .description("Time incidents spend in a status")
+              .tag("status", status.toString())
+              .publishPercentiles(0.5, 0.9, 0.99)
+              .publishPercentileHistogram()
+              .minimumExpectedValue(Duration.ofSeconds(1))
+              .maximumExpectedValue(Duration.ofDays(30))
+              .register(meterRegistry));
+    }
+    Gauge.builder(
+            "incident.open.live",
+            incidentChangeStreamService,
+            stream -> stream.isWatching() ? 1 : 0)
+        .description("Whether the open incident counts follow the incident change stream")
+        .register(meterRegistry);
+    incidentChangeStreamService.addListener(this);
+  }
+
+  /** Returns the open incident counts by severity, status, type and service. */
+  public synchronized Map<String, Map<String, Long>> getOpenIncidentCounts() {
+    Map<String, Long> bySeverity = new TreeMap<>();
+    Map<String, Long> byStatus = new TreeMap<>();
+    Map<String, Long> byType = new TreeMap<>();
+    Map<String, Long> byService = new TreeMap<>();
+    for (OpenIncident incident : openIncidents.values()) {
+      bySeverity.merge(incident.severity, 1L, Long::sum);
+      byStatus.merge(incident.status.toString(), 1L, Long::sum);
+      byType.merge(incident.type, 1L, Long::sum);
+      incident.services.forEach(service -> byService.merge(service, 1L, Long::sum));
+    }
+    Map<String, Map<String, Long>> counts = new TreeMap<>();
+    counts.put("severity", bySeverity);
+    counts.put("status", byStatus);
+    counts.put("type", byType);
+    counts.put("service", byService);
+    return counts;
+  }
+
+  public void onChange(ChangeStreamDocument<Document> change) {
+    OperationType operationType = change.getOperationType();
+    if (operationType == OperationType.DELETE) {
+      BsonValue id = change.getDocumentKey() != null ? change.getDocumentKey().get("_id") : null;
+      if (id != null && id.isObjectId()) {
+        remove(id.asObjectId().getValue().toHexString());
+      }
+      return;
+    }
+    if (operationType != OperationType.INSERT
+        && operationType != OperationType.UPDATE
+        && operationType != OperationType.REPLACE) {
+      seed();
+      return;
+    }
+    if (change.getFullDocument() != null) {
+      apply(mongoTemplate.getConverter().read(Incident.class, change.getFullDocument()));
+    }
+  }
+
+  public void onReset() {
+    seed();
+  }
+
+  public synchronized void onUnavailable() {
+    if (seeded) {
+      return;
+    }
+    logger.warn(
+        "The incident change stream is unavailable, live incident counts are seeded once and are"
+            + " not updated");
+    seed();
+  }
+
+  /** Rebuilds the counts from the open incidents in the database. */
+  private synchronized void seed() {
+    seeded = true;
+    openIncidents.values().forEach(incident -> count(incident, -1));
+    openIncidents.clear();
+
+    Query query =
+        new Query(
+            Criteria.where("status")
+                .ne(Status.Resolved)
+                .and("active")
+                .ne(false)
+                .and("removed")
+                .ne(true));
+    query
+        .fields()
+        .include(
+            "severity",
+            "status",
+            "type",
+            "services.serviceName",
+            "createdAt",
+            "stages.type",
+            "stages.createdAt",
+            "active",
+            "removed");
+    long now = Instant.now().getEpochSecond();
+    try (CloseableIterator<Incident> incidents = mongoTemplate.stream(query, Incident.class)) {
+      while (incidents.hasNext()) {
+        Incident incident = incidents.next();
+        if (!isOpen(incident)) {
+          continue;
+        }
+        OpenIncident open = new OpenIncident(incident, statusSince(incident, now));
+        openIncidents.put(incident.getId(), open);
+        count(open, 1);
+      }
+    } catch (RuntimeException e) {
+      logger.warn("Failed to seed live incident counts: {}", e.getMessage());
+    }
+    logger.info("Seeded live incident counts with {} open incidents", openIncidents.size());
+  }
+
+  /** Moves an incident from its last known state to its current one. */
+  private synchronized void apply(Incident incident) {
+    long changedAt =
+        incident.getUpdatedAt() != null ? incident.getUpdatedAt() : Instant.now().getEpochSecond();
+    OpenIncident previous = openIncidents.remove(incident.getId());
+    if (previous != null && (previous.status != incident.getStatus() || !isOpen(incident))) {
+      statusDurations
+          .get(previous.status)
+          .record(Math.max(0, changedAt - previous.statusSince), TimeUnit.SECONDS);
+    }
+    if (isOpen(incident)) {
+      long statusSince =
+          previous != null && previous.status == incident.getStatus()
+              ? previous.statusSince
+              : changedAt;
+      OpenIncident current = new OpenIncident(incident, statusSince);
+      openIncidents.put(incident.getId(), current);
+      count(current, 1);
+    }
+    // Counted down last, so an unchanged combination never drops to zero and loses its gauge
+    if (previous != null) {
+      count(previous, -1);
+    }
+  }
+
+  private synchronized void remove(String id) {
+    OpenIncident previous = openIncidents.remove(id);
+    if (previous != null) {
+      count(previous, -1);
+    }
+  }
+
+  private void count(OpenIncident incident, int delta) {
+    List<String> combination =
+        List.of(incident.severity, incident.status.toString(), incident.type);
+    add(
+        openCounts,
+        combination,
+        "incident.open",
+        Tags.of(
+            "severity",
+            combination.get(0),
+            "status",
+            combination.get(1),
+            "type",
+            combination.get(2)),
+        delta);
+    for (String service : incident.services) {
+      add(openByService, service, "incident.open.service", Tags.of("service", service), delta);
+    }
+  }
+
+  /** Adds to the gauge of a key, registering it on first use and removing it again at zero. */
+  private <K> void add(Map<K, OpenGauge> gauges, K key, String name, Tags tags, int delta) {
+    OpenGauge gauge =
+        gauges.computeIfAbsent(
+            key,
+            k -> {
+              AtomicLong value = new AtomicLong();
+              return new OpenGauge(
+                  value,
+                  Gauge.builder(name, value, AtomicLong::get).tags(tags).register(meterRegistry));
+            });
+    if (gauge.value.addAndGet(delta) <= 0) {
+      gauges.remove(key);
+      meterRegistry.remove(gauge.gauge);
+    }
+  }
+
+  private static boolean isOpen(Incident incident) {
+    return incident.getStatus() != null
+        && incident.getStatus() != Status.Resolved
+        && !Boolean.FALSE.equals(incident.getActive())
+        && !Boolean.TRUE.equals(incident.getRemoved());
+  }
+
+  /**
+   * Returns when an incident entered its current status, from the latest stage of that status,
+   * falling back to its creation time.
+   */
+  private static long statusSince(Incident incident, long now) {
+    long since = incident.getCreatedAt() != null ? incident.getCreatedAt() : now;
+    if (incident.getStages() != null) {
+      for (Stage stage : incident.getStages()) {
+        if (stage.getType() == incident.getStatus() && stage.getCreatedAt() != null) {
+          since = Math.max(since, stage.getCreatedAt());
+        }
+      }
+    }
+    return since;
+  }
+
+  private static class OpenGauge {
+    private final AtomicLong value;
+    private final Gauge gauge;
+
+    OpenGauge(AtomicLong value, Gauge gauge) {
+      this.value = value;
+      this.gauge = gauge;
+    }
+  }
+
+  /** The state of an open incident the counts are derived from. */
+  private static class OpenIncident {
+    private final String severity;
+    private final Status status;
+    private final String type;
+    private final Set<String> services = new LinkedHashSet<>();
+    private final long statusSince;
+
+    OpenIncident(Incident incident, long statusSince) {
+      this.severity = incident.getSeverity() != null ? incident.getSeverity().toString() : NONE;
+      this.status = incident.getStatus();
+      this.type = incident.getType() != null ? incident.getType().toString() : NONE;
+      if (incident.getServices() != null) {
+        for (Service service : incident.getServices()) {
+          if (service != null && service.getServiceName() != null) {
+            services.add(service.getServiceName());
+          }
+        }
+      }
+      this.statusSince = statusSince;
+    }
+  }
+}
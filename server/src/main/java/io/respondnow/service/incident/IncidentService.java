@@ -1,9 +1,12 @@
 package io.respondnow.service.incident;
 
 import io.respondnow.dto.incident.CreateRequest;
+import io.respondnow.model.api.ChangePage;
+import io.respondnow.model.api.CursorPage;
 import io.respondnow.model.incident.*;
 import io.respondnow.model.user.UserDetails;
 import java.util.List;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 
 public interface IncidentService {
@@ -13,11 +16,20 @@ public interface IncidentService {
 
   Incident getIncidentByIdentifier(String id);
 
+  Incident getIncidentVersion(String id);
+
   List<Incident> listIncidents(Query query);
 
-  long countIncidents(Query query);
+  CursorPage<Incident> listIncidentsPage(Criteria criteria, String cursor, long skip, int limit);
+
+  CursorPage<Incident> listIncidentsPageWithCount(
+      Criteria criteria, String cursor, long skip, int limit, boolean withFacets);
 
-  Incident updateIncidentById(String id, Incident incident);
+  ChangePage<Incident> listIncidentChanges(Criteria criteria, String since, int limit);
+
+  List<IncidentStage> listSlowestStages(Criteria scope, Status type, Status nextType, int limit);
+
+  long countIncidents(Query query);
 
   Incident updateIncidentRoles(
       String incidentID, List<Role> roleUserDetails, UserDetails currentUser) throws Exception;
@@ -25,7 +37,7 @@ public interface IncidentService {
   Incident updateIncidentSeverity(String incidentID, Severity newSeverity, UserDetails currentUser)
       throws Exception;
 
-  void bulkProcessIncidents(List<Incident> createList, List<Incident> updateList);
+  BulkResult bulkProcessIncidents(List<Incident> createList, List<Incident> updateList);
 
   void validateIncident(Incident incident);
 
@@ -37,7 +49,7 @@ public interface IncidentService {
 
   List<Status> getIncidentStatuses();
 
-  String generateIncidentIdentifier(long createdAt);
+  String generateIncidentIdentifier();
 
   Incident updateSummary(String incidentID, String newSummary, UserDetails currentUser)
       throws Exception;
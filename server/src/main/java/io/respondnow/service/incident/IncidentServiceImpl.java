@@ -1,35 +1,105 @@
 package io.respondnow.service.incident;
 
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.respondnow.dto.incident.CreateRequest;
+import io.respondnow.exception.BadRequestException;
 import io.respondnow.exception.IncidentNotFoundException;
+import io.respondnow.exception.IncidentVersionConflictException;
 import io.respondnow.exception.InvalidIncidentException;
 import io.respondnow.exception.RoleUpdateException;
+import io.respondnow.model.api.ChangePage;
+import io.respondnow.model.api.CursorPage;
 import io.respondnow.model.incident.*;
 import io.respondnow.model.user.UserDetails;
 import io.respondnow.repository.IncidentRepository;
+import io.respondnow.service.analytics.IncidentAnalyticsService;
+import io.respondnow.service.id.IdService;
+import io.respondnow.util.CursorUtil;
 import java.time.Instant;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.FacetOperation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.support.RetryTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class IncidentServiceImpl implements IncidentService {
 
   private static final Logger logger = LoggerFactory.getLogger(IncidentServiceImpl.class);
+
+  /** Stable newest-first order of incident lists, shared by offset and cursor paging. */
+  private static final Sort INCIDENT_LIST_SORT =
+      Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "_id"));
+
+  private static final List<String> INCIDENT_FACET_FIELDS = List.of("status", "severity", "type");
+
+  private static final int DUPLICATE_KEY_ERROR_CODE = 11000;
+
+  private static final int MAX_CHANGES_LIMIT = 1000;
+
+  private static final int MAX_STAGES_LIMIT = 1000;
+
+  /**
+   * Largest page returned by the {@code $facet} aggregation, whose whole result is a single
+   * document and so must stay well below the 16 MB BSON limit.
+   */
+  private static final int MAX_FACET_PAGE_LIMIT = 100;
+
+  /** Prefix of the per account sequences incident numbers are drawn from. */
+  private static final String INCIDENT_NUMBER_SEQUENCE = "incidentNumber:";
+
   @Autowired private IncidentRepository incidentRepository;
   @Autowired private MongoTemplate mongoTemplate;
+  @Autowired private TimelineService timelineService;
+  @Autowired private IncidentCacheService incidentCacheService;
+  @Autowired private IdService idService;
+  @Autowired private IncidentAnalyticsService incidentAnalyticsService;
+
+  @Autowired private MeterRegistry meterRegistry;
+
+  @Value("${incident.update.maxAttempts:5}")
+  private int maxUpdateAttempts;
+
+  @Value("${incident.update.minBackoffMillis:10}")
+  private long minUpdateBackoffMillis;
+
+  @Value("${incident.update.maxBackoffMillis:100}")
+  private long maxUpdateBackoffMillis;
+
+  private RetryTemplate updateRetryTemplate;
+
+  @Value("${incident.bulk.batchSize:1000}")
+  private int bulkBatchSize;
+
+  @Value("${incident.numbering.enabled:true}")
+  private boolean numberingEnabled;
+
+  @Value("${incident.changes.settleSeconds:2}")
+  private long changesSettleSeconds;
 
   @Value("${hierarchy.defaultAccount.id:default_account_id}")
   private String defaultAccountId;
@@ -76,9 +146,20 @@ public class IncidentServiceImpl implements IncidentService {
     return slackChannelTimeline;
   }
 
+  @PostConstruct
+  public void initUpdateRetryTemplate() {
+    // Randomised backoff keeps concurrent responders from colliding again on the next attempt
+    updateRetryTemplate =
+        RetryTemplate.builder()
+            .maxAttempts(maxUpdateAttempts)
+            .uniformRandomBackoff(minUpdateBackoffMillis, maxUpdateBackoffMillis)
+            .retryOn(IncidentVersionConflictException.class)
+            .build();
+  }
+
   public Incident createIncident(CreateRequest request, UserDetails currentUser) {
     long createdAt = Instant.now().getEpochSecond();
-    String incidentId = generateIncidentIdentifier(createdAt);
+    String incidentId = generateIncidentIdentifier();
 
     // Set default status if not provided
     if (request.getStatus() == null) {
@@ -91,6 +172,9 @@ public class IncidentServiceImpl implements IncidentService {
     newIncident.setOrgIdentifier(defaultOrgId);
     newIncident.setProjectIdentifier(defaultProjectId);
     newIncident.setIdentifier(incidentId);
+    if (numberingEnabled) {
+      newIncident.setNumber(idService.nextSequence(INCIDENT_NUMBER_SEQUENCE + defaultAccountId));
+    }
     newIncident.setName(request.getName());
     newIncident.setDescription(request.getDescription());
     newIncident.setType(request.getType());
@@ -108,9 +192,14 @@ public class IncidentServiceImpl implements IncidentService {
     newIncident.setCreatedAt(createdAt);
     newIncident.setUpdatedAt(createdAt);
     newIncident.setRoles(request.getRoles());
+    newIncident.setTimelinesBucketed(true);
+    newIncident.setStages(
+        new ArrayList<>(List.of(openStage(request.getStatus(), currentUser, createdAt))));
+    incidentAnalyticsService.markRolledUp(newIncident);
 
     // Create the INCIDENT_CREATED timeline entry
     Timeline incidentCreatedTimeline = new Timeline();
+    incidentCreatedTimeline.setId(idService.nextId());
     incidentCreatedTimeline.setType(ChangeType.Incident_Created);
     incidentCreatedTimeline.setCreatedAt(createdAt);
     incidentCreatedTimeline.setUpdatedAt(createdAt);
@@ -127,410 +216,1026 @@ public class IncidentServiceImpl implements IncidentService {
     if (request.getIncidentChannel() != null
         && request.getIncidentChannel().getSlack().getChannelId() != null) {
       Timeline slackChannelTimeline = getTimeline(request, currentUser, createdAt);
+      slackChannelTimeline.setId(idService.nextId());
       newIncident.addTimeline(slackChannelTimeline);
     }
 
-    // Save and return the new Incident
-    return incidentRepository.save(newIncident);
+    // Save the new Incident and record its initial timeline entries in the bucket collection
+    Incident savedIncident = incidentRepository.save(newIncident);
+    savedIncident
+        .getTimelines()
+        .forEach(timeline -> timelineService.appendTimeline(incidentId, timeline));
+    incidentAnalyticsService.recordCreated(List.of(savedIncident));
+    return savedIncident;
   }
 
   public Incident updateSummary(String incidentID, String newSummary, UserDetails currentUser)
       throws Exception {
-    // Step 1: Retrieve the existing incident by its ID
-    Optional<Incident> existingIncident = incidentRepository.findByIdentifier(incidentID);
-    if (existingIncident.isEmpty()) {
-      throw new Exception("Incident not found with ID: " + incidentID);
-    }
-
-    Incident incident = existingIncident.get();
-    // Step 2: Get the old summary and prepare the new timeline entry
-    String oldSummary = incident.getSummary();
-
-    // Get the current timestamp (in Unix time)
-    long ts = Instant.now().getEpochSecond();
-
-    // Update the audit details with the current user and timestamp
-    incident.setUpdatedBy(currentUser);
-    incident.setUpdatedAt(ts);
-    incident.setUpdatedAt(ts);
-
-    // Step 3: Create a new timeline entry for the change
-    Timeline timeline = new Timeline();
-    timeline.setId(String.valueOf(ts));
-    timeline.setType(ChangeType.Summary);
-    timeline.setCreatedAt(ts);
-    timeline.setUpdatedAt(ts);
-    timeline.setUserDetails(currentUser);
-    timeline.setPreviousState(oldSummary);
-    timeline.setCurrentState(newSummary);
-
-    // Add the timeline entry to the incident's timeline
-    incident.getTimelines().add(timeline);
-
-    // Step 4: Update the incident's summary and description
-    incident.setSummary(newSummary);
-    incident.setDescription(newSummary);
-
-    // Step 5: Update the incident in the database
-    Incident updated = updateIncidentById(incident.getId(), incident);
-    if (updated == null) {
-      throw new Exception("Failed to update incident summary.");
-    }
-
-    return updated;
+    return updateWithRetry(
+        "summary",
+        context -> {
+          // Step 1: Retrieve the existing incident by its ID (without its timeline history)
+          Incident incident = findIncidentForUpdate(incidentID);
+          if (incident == null) {
+            throw new Exception("Incident not found with ID: " + incidentID);
+          }
+
+          // Step 2: Get the old summary and prepare the new timeline entry
+          String oldSummary = incident.getSummary();
+
+          // Get the current timestamp (in Unix time)
+          long ts = Instant.now().getEpochSecond();
+
+          // Step 3: Create a new timeline entry for the change
+          Timeline timeline = new Timeline();
+          timeline.setId(idService.nextId());
+          timeline.setType(ChangeType.Summary);
+          timeline.setCreatedAt(ts);
+          timeline.setUpdatedAt(ts);
+          timeline.setUserDetails(currentUser);
+          timeline.setPreviousState(oldSummary);
+          timeline.setCurrentState(newSummary);
+
+          // Step 4: Update the incident's summary and description
+          Update update = new Update().set("summary", newSummary).set("description", newSummary);
+
+          // Step 5: Apply the changed fields and append the timeline entry atomically
+          return applyIncidentUpdate(incident, update, timeline, currentUser, ts);
+        });
   }
 
-  @Transactional
   public Incident updateIncidentRoles(
       String incidentID, List<Role> newRoleAssignments, UserDetails currentUser)
       throws RoleUpdateException, IncidentNotFoundException {
+    return updateWithRetry(
+        "roles",
+        context -> {
+          logger.info("Starting role update for incident ID: {}", incidentID);
+
+          // Step 1: Retrieve the existing incident by its ID (without its timeline history)
+          Incident incident = findIncidentForUpdate(incidentID);
+          if (incident == null) {
+            logger.error("Incident not found with ID: {}", incidentID);
+            throw new IncidentNotFoundException("Incident not found with ID: " + incidentID);
+          }
+
+          List<Role> existingRoles =
+              incident.getRoles() != null ? incident.getRoles() : new ArrayList<>();
+
+          // Step 2: Create maps for existing roles
+          Map<RoleType, Role> roleTypeToRoleMap =
+              existingRoles.stream()
+                  .filter(role -> role.getRoleType() != null) // Filter out roles with null RoleType
+                  .collect(
+                      Collectors.toMap(
+                          Role::getRoleType,
+                          Function.identity(),
+                          (existing, replacement) -> existing));
+
+          Map<String, List<RoleType>> userIdToRoleTypesMap =
+              existingRoles.stream()
+                  .filter(
+                      role ->
+                          role.getUserDetails() != null
+                              && role.getUserDetails().getUserId()
+                                  != null) // Filter out roles with null userDetails or userId
+                  .collect(
+                      Collectors.groupingBy(
+                          role -> role.getUserDetails().getUserId(),
+                          Collectors.mapping(Role::getRoleType, Collectors.toList())));
+
+          // Initialize lists to track changes for the timeline
+          List<String> previousStates = new ArrayList<>();
+          List<String> currentStates = new ArrayList<>();
+          Set<String> affectedUsers = new HashSet<>();
+
+          // Keep a copy of existing roles before modifications for previousState
+          List<Role> previousRoleSnapshot = new ArrayList<>(existingRoles);
+
+          // Step 3: Process each new role assignment
+          for (Role newRole : newRoleAssignments) {
+            RoleType newRoleType = newRole.getRoleType();
+            UserDetails newUser = newRole.getUserDetails();
+            String newUserId = newUser != null ? newUser.getUserId() : null;
+
+            if (newRoleType == null || newUserId == null) {
+              logger.warn("Skipping invalid role assignment: RoleType or UserId is null");
+              continue; // Skip if role type or user id is null
+            }
+
+            // If the RoleType is already assigned, we need to replace the existing user
+            if (roleTypeToRoleMap.containsKey(newRoleType)) {
+              Role existingRole = roleTypeToRoleMap.get(newRoleType);
+              String existingUserId = existingRole.getUserDetails().getUserId();
+
+              if (!existingUserId.equals(newUserId)) {
+                // Remove the existing user for this role
+                existingRoles.remove(existingRole);
+                previousStates.add(existingRole.toString());
+                affectedUsers.add(existingUserId);
+                logger.info("Removed role '{}' from user '{}'", newRoleType, existingUserId);
+              }
+            }
+
+            // If the new role assignment is not already present, assign the new role
+            if (!userIdToRoleTypesMap.containsKey(newUserId)
+                || !userIdToRoleTypesMap.get(newUserId).contains(newRoleType)) {
+              existingRoles.add(newRole);
+              currentStates.add(newRole.toString());
+              affectedUsers.add(newUserId);
+              logger.info("Assigned role '{}' to user '{}'", newRoleType, newUserId);
+            } else {
+              logger.info(
+                  "User '{}' already has role '{}' - skipping assignment.", newUserId, newRoleType);
+            }
+          }
+
+          if (currentStates.isEmpty() && previousStates.isEmpty()) {
+            logger.warn("No roles were updated for incident ID: {}", incidentID);
+            throw new RoleUpdateException("No roles were updated. Please provide different roles.");
+          }
+
+          // Step 4: Get the current timestamp (in Unix time)
+          long ts = Instant.now().getEpochSecond();
+
+          // Step 5: Create a new timeline entry for the change
+          Timeline timeline = new Timeline();
+          timeline.setId(idService.nextId());
+          timeline.setType(ChangeType.Roles);
+          timeline.setCreatedAt(ts);
+          timeline.setUpdatedAt(ts);
+          timeline.setUserDetails(currentUser);
+
+          Map<String, Object> roleDetailsMap = new HashMap<>();
+          roleDetailsMap.put("previousState", previousRoleSnapshot);
+          roleDetailsMap.put("currentState", existingRoles);
+          timeline.setAdditionalDetails(roleDetailsMap);
+
+          timeline.setPreviousState(String.join(" | ", previousStates));
+          timeline.setCurrentState(String.join(" | ", currentStates));
+
+          logger.info("Updated roles: {}", existingRoles);
+
+          Update update = new Update().set("roles", existingRoles);
+          return applyIncidentUpdate(incident, update, timeline, currentUser, ts);
+        });
+  }
 
-    logger.info("Starting role update for incident ID: {}", incidentID);
-
-    // Step 1: Retrieve the existing incident by its ID
-    Optional<Incident> existingIncidentOpt = incidentRepository.findByIdentifier(incidentID);
-    if (existingIncidentOpt.isEmpty()) {
-      logger.error("Incident not found with ID: {}", incidentID);
-      throw new IncidentNotFoundException("Incident not found with ID: " + incidentID);
-    }
-
-    Incident incident = existingIncidentOpt.get();
-    List<Role> existingRoles = incident.getRoles();
-
-    // Step 2: Create maps for existing roles
-    Map<RoleType, Role> roleTypeToRoleMap =
-        existingRoles.stream()
-            .filter(role -> role.getRoleType() != null) // Filter out roles with null RoleType
-            .collect(
-                Collectors.toMap(
-                    Role::getRoleType, Function.identity(), (existing, replacement) -> existing));
-
-    Map<String, List<RoleType>> userIdToRoleTypesMap =
-        existingRoles.stream()
-            .filter(
-                role ->
-                    role.getUserDetails() != null
-                        && role.getUserDetails().getUserId()
-                            != null) // Filter out roles with null userDetails or userId
-            .collect(
-                Collectors.groupingBy(
-                    role -> role.getUserDetails().getUserId(),
-                    Collectors.mapping(Role::getRoleType, Collectors.toList())));
-
-    // Initialize lists to track changes for the timeline
-    List<String> previousStates = new ArrayList<>();
-    List<String> currentStates = new ArrayList<>();
-    Set<String> affectedUsers = new HashSet<>();
-
-    // Keep a copy of existing roles before modifications for previousState
-    List<Role> previousRoleSnapshot = new ArrayList<>(existingRoles);
-
-    // Step 3: Process each new role assignment
-    for (Role newRole : newRoleAssignments) {
-      RoleType newRoleType = newRole.getRoleType();
-      UserDetails newUser = newRole.getUserDetails();
-      String newUserId = newUser != null ? newUser.getUserId() : null;
-
-      if (newRoleType == null || newUserId == null) {
-        logger.warn("Skipping invalid role assignment: RoleType or UserId is null");
-        continue; // Skip if role type or user id is null
-      }
+  public Incident updateIncidentSeverity(
+      String incidentID, Severity newSeverity, UserDetails currentUser) throws Exception {
+    return updateWithRetry(
+        "severity",
+        context -> {
+          // Step 1: Retrieve the existing incident by its ID (without its timeline history)
+          Incident incident = findIncidentForUpdate(incidentID);
+          if (incident == null) {
+            throw new Exception("Incident not found with ID: " + incidentID);
+          }
+
+          // Step 2: Get the old role and prepare the new timeline entry
+          Severity oldSeverity = incident.getSeverity();
+
+          // Get the current timestamp (in Unix time)
+          long ts = Instant.now().getEpochSecond();
+
+          // Step 3: Create a new timeline entry for the change
+          Timeline timeline = new Timeline();
+          timeline.setId(idService.nextId());
+          timeline.setType(ChangeType.Severity);
+          timeline.setCreatedAt(ts);
+          timeline.setUpdatedAt(ts);
+          timeline.setUserDetails(currentUser);
+          timeline.setPreviousState(oldSeverity.toString());
+          timeline.setCurrentState(newSeverity.toString());
+
+          // Step 4: Update the incident's severity
+          Update update = new Update().set("severity", newSeverity);
+
+          // Step 5: Apply the changed fields and append the timeline entry atomically
+          return applyIncidentUpdate(incident, update, timeline, currentUser, ts);
+        });
+  }
 
-      // If the RoleType is already assigned, we need to replace the existing user
-      if (roleTypeToRoleMap.containsKey(newRoleType)) {
-        Role existingRole = roleTypeToRoleMap.get(newRoleType);
-        String existingUserId = existingRole.getUserDetails().getUserId();
-
-        if (!existingUserId.equals(newUserId)) {
-          // Remove the existing user for this role
-          existingRoles.remove(existingRole);
-          previousStates.add(existingRole.toString());
-          affectedUsers.add(existingUserId);
-          logger.info("Removed role '{}' from user '{}'", newRoleType, existingUserId);
-        }
-      }
+  public Incident addComment(String incidentID, String comment, UserDetails currentUser)
+      throws Exception {
+    return updateWithRetry(
+        "comment",
+        context -> {
+          // Step 1: Retrieve the existing incident by its ID (without its timeline history)
+          Incident incident = findIncidentForUpdate(incidentID);
+          if (incident == null) {
+            throw new Exception("Incident not found with ID: " + incidentID);
+          }
+
+          // Get the current timestamp (in Unix time)
+          long ts = Instant.now().getEpochSecond();
+
+          // Step 2: Create a new timeline entry for the change
+          Timeline timeline = new Timeline();
+          timeline.setId(idService.nextId());
+          timeline.setType(ChangeType.Comment);
+          timeline.setCreatedAt(ts);
+          timeline.setUpdatedAt(ts);
+          timeline.setUserDetails(currentUser);
+          timeline.setPreviousState(comment);
+          timeline.setCurrentState(comment);
+
+          // Step 3: Append the comment instead of rewriting the whole comment list
+          Update update = new Update().push("comment", comment);
+
+          // Step 4: Apply the changed fields and append the timeline entry atomically
+          return applyIncidentUpdate(incident, update, timeline, currentUser, ts);
+        });
+  }
 
-      // If the new role assignment is not already present, assign the new role
-      if (!userIdToRoleTypesMap.containsKey(newUserId)
-          || !userIdToRoleTypesMap.get(newUserId).contains(newRoleType)) {
-        existingRoles.add(newRole);
-        currentStates.add(newRole.toString());
-        affectedUsers.add(newUserId);
-        logger.info("Assigned role '{}' to user '{}'", newRoleType, newUserId);
-      } else {
-        logger.info(
-            "User '{}' already has role '{}' - skipping assignment.", newUserId, newRoleType);
+  public Incident updateStatus(String incidentID, Status newStatus, UserDetails currentUser)
+      throws Exception {
+    return updateWithRetry(
+        "status",
+        context -> {
+          Incident incident = findIncidentForUpdate(incidentID);
+          if (incident == null) {
+            throw new Exception("Incident not found with ID: " + incidentID);
+          }
+
+          Status oldStatus = incident.getStatus();
+
+          // Get the current timestamp (in Unix time)
+          long ts = Instant.now().getEpochSecond();
+
+          // Step 3: Create a new timeline entry for the change
+          Timeline timeline = new Timeline();
+          timeline.setId(idService.nextId());
+          timeline.setType(ChangeType.Status);
+          timeline.setCreatedAt(ts);
+          timeline.setUpdatedAt(ts);
+          timeline.setUserDetails(currentUser);
+          timeline.setPreviousState(oldStatus.toString());
+          timeline.setCurrentState(newStatus.toString());
+
+          // Step 4: Update the incident's status, closing its current stage and opening the next
+          Update update = new Update().set("status", newStatus);
+          // Only the first acknowledgement and resolution count; the rollup backfill counts
+          // incidents not flagged as rolled up from their stages instead
+          boolean rolledUp = Boolean.TRUE.equals(incident.getRolledUp());
+          boolean acknowledged =
+              rolledUp
+                  && incident.getAcknowledgedAt() == null
+                  && oldStatus == Status.Started
+                  && newStatus != Status.Started;
+          boolean resolved =
+              rolledUp
+                  && incident.getResolvedAt() == null
+                  && oldStatus != Status.Resolved
+                  && newStatus == Status.Resolved;
+          if (acknowledged) {
+            update.set("acknowledgedAt", ts);
+          }
+          if (resolved) {
+            update.set("resolvedAt", ts);
+          }
+          Stage closedStage = null;
+          if (newStatus != oldStatus) {
+            List<Stage> stages =
+                incident.getStages() != null
+                    ? new ArrayList<>(incident.getStages())
+                    : new ArrayList<>();
+            closedStage = closeCurrentStage(incident, stages, ts);
+            stages.add(openStage(newStatus, currentUser, ts));
+            update.set("stages", stages);
+          }
+
+          // Step 5: Apply the changed fields and append the timeline entry atomically
+          Incident updated = applyIncidentUpdate(incident, update, timeline, currentUser, ts);
+          if (closedStage != null) {
+            recordCompletedStage(updated, closedStage, newStatus);
+          }
+          incidentAnalyticsService.recordStatusChange(updated, acknowledged, resolved, ts);
+          return updated;
+        });
+  }
+
+  private Stage openStage(Status status, UserDetails currentUser, long ts) {
+    Stage stage = new Stage();
+    stage.setStageId(idService.nextId());
+    stage.setType(status);
+    stage.setCreatedAt(ts);
+    stage.setUpdatedAt(ts);
+    stage.setUserDetails(currentUser);
+    return stage;
+  }
+
+  /**
+   * Sets the duration of the open stage, the last one, of an incident. Incidents created before
+   * stages were recorded have none; their Started stage is known to begin at creation and is added,
+   * any later status has an unknown start and is left out.
+   *
+   * @return The closed stage, or null if the start of the current stage is unknown.
+   */
+  private Stage closeCurrentStage(Incident incident, List<Stage> stages, long ts) {
+    Stage current = stages.isEmpty() ? null : stages.get(stages.size() - 1);
+    if (current == null
+        || current.getDuration() != null
+        || current.getType() != incident.getStatus()) {
+      if (incident.getStatus() != Status.Started || incident.getCreatedAt() == null) {
+        return null;
       }
+      current = new Stage();
+      current.setStageId(idService.nextId());
+      current.setType(Status.Started);
+      current.setCreatedAt(incident.getCreatedAt());
+      current.setUserDetails(incident.getCreatedBy());
+      stages.add(current);
     }
+    current.setDuration(Math.max(0, ts - current.getCreatedAt()));
+    current.setUpdatedAt(ts);
+    return current;
+  }
 
-    if (currentStates.isEmpty() && previousStates.isEmpty()) {
-      logger.warn("No roles were updated for incident ID: {}", incidentID);
-      throw new RoleUpdateException("No roles were updated. Please provide different roles.");
+  /**
+   * Copies a completed stage to the stage collection. Like the timeline bucket, the copy is written
+   * after the incident; a failure is logged and only affects stage queries.
+   */
+  private void recordCompletedStage(Incident incident, Stage stage, Status nextStatus) {
+    IncidentStage completed = new IncidentStage();
+    completed.setStageId(stage.getStageId());
+    completed.setIncidentId(incident.getId());
+    completed.setIncidentIdentifier(incident.getIdentifier());
+    completed.setAccountIdentifier(incident.getAccountIdentifier());
+    completed.setOrgIdentifier(incident.getOrgIdentifier());
+    completed.setProjectIdentifier(incident.getProjectIdentifier());
+    completed.setType(stage.getType());
+    completed.setNextType(nextStatus);
+    completed.setStartedAt(stage.getCreatedAt());
+    completed.setEndedAt(stage.getUpdatedAt());
+    completed.setDuration(stage.getDuration());
+    try {
+      mongoTemplate.insert(completed);
+    } catch (DataAccessException e) {
+      logger.warn(
+          "Failed to record stage {} of incident {}: {}",
+          stage.getStageId(),
+          incident.getIdentifier(),
+          e.getMessage());
     }
+  }
 
-    // Step 4: Get the current timestamp (in Unix time)
-    long ts = Instant.now().getEpochSecond();
-
-    // Update the audit details with the current user and timestamp
-    incident.setUpdatedBy(currentUser);
-    incident.setUpdatedAt(ts);
-
-    // Step 5: Create a new timeline entry for the change
-    Timeline timeline = new Timeline();
-    timeline.setId(String.valueOf(ts));
-    timeline.setType(ChangeType.Roles);
-    timeline.setCreatedAt(ts);
-    timeline.setUpdatedAt(ts);
-    timeline.setUserDetails(currentUser);
-
-    Map<String, Object> roleDetailsMap = new HashMap<>();
-    roleDetailsMap.put("previousState", previousRoleSnapshot);
-    roleDetailsMap.put("currentState", existingRoles);
-    timeline.setAdditionalDetails(roleDetailsMap);
-
-    timeline.setPreviousState(String.join(" | ", previousStates));
-    timeline.setCurrentState(String.join(" | ", currentStates));
+  /**
+   * Lists the longest completed stages of a status, longest first, optionally only those that ended
+   * in a given next status, e.g. Investigating stages that moved straight to Mitigated.
+   */
+  public List<IncidentStage> listSlowestStages(
+      Criteria scope, Status type, Status nextType, int limit) {
+    Criteria criteria = new Criteria().andOperator(scope, Criteria.where("type").is(type));
+    if (nextType != null) {
+      criteria = new Criteria().andOperator(criteria, Criteria.where("nextType").is(nextType));
+    }
+    Query query =
+        new Query(criteria)
+            .with(Sort.by(Sort.Direction.DESC, "duration"))
+            .limit(Math.max(1, Math.min(limit, MAX_STAGES_LIMIT)));
+    return mongoTemplate.find(query, IncidentStage.class);
+  }
 
-    logger.info("Updated roles: {}", existingRoles);
+  /**
+   * Runs a read-modify-write of an incident, retrying it with a fresh read whenever the
+   * version-checked write loses against a concurrent update.
+   *
+   * @param operation The name of the mutation, used to tag the conflict metrics.
+   * @param callback The mutation, re-executed from scratch on every attempt.
+   * @return The updated incident.
+   */
+  private <E extends Throwable> Incident updateWithRetry(
+      String operation, RetryCallback<Incident, E> callback) throws E {
+    try {
+      return updateRetryTemplate.execute(
+          context -> {
+            if (context.getRetryCount() > 0) {
+              meterRegistry.counter("incident.update.retries", "operation", operation).increment();
+            }
+            try {
+              return callback.doWithRetry(context);
+            } catch (IncidentVersionConflictException e) {
+              meterRegistry
+                  .counter("incident.update.conflicts", "operation", operation)
+                  .increment();
+              throw e;
+            }
+          });
+    } catch (IncidentVersionConflictException e) {
+      meterRegistry.counter("incident.update.exhausted", "operation", operation).increment();
+      logger.warn(
+          "Giving up {} update after {} conflicting attempts", operation, maxUpdateAttempts);
+      throw e;
+    }
+  }
 
-    incident.addTimeline(timeline);
-    incident.setRoles(existingRoles);
-    return incidentRepository.save(incident);
+  /**
+   * Loads an incident for a single-field mutation. The timeline history is excluded from the
+   * projection since mutations only ever append to it.
+   *
+   * @param identifier The incident identifier.
+   * @return The incident without its timelines, or null if it does not exist.
+   */
+  private Incident findIncidentForUpdate(String identifier) {
+    Query query = new Query(Criteria.where("identifier").is(identifier));
+    query.fields().exclude("timelines");
+    Incident incident = mongoTemplate.findOne(query, Incident.class);
+    if (incident != null && !Boolean.TRUE.equals(incident.getTimelinesBucketed())) {
+      // Moving the legacy timeline history bumps the version, so read the incident again
+      timelineService.ensureBucketed(incident);
+      incident = mongoTemplate.findOne(query, Incident.class);
+    }
+    return incident;
   }
 
-  public Incident updateIncidentSeverity(
-      String incidentID, Severity newSeverity, UserDetails currentUser) throws Exception {
-    // Step 1: Retrieve the existing incident by its ID
-    Optional<Incident> existingIncident = incidentRepository.findByIdentifier(incidentID);
-    if (existingIncident.isEmpty()) {
-      throw new Exception("Incident not found with ID: " + incidentID);
-    }
-
-    Incident incident = existingIncident.get();
-    // Step 2: Get the old role and prepare the new timeline entry
-    Severity oldSeverity = incident.getSeverity();
-
-    // Get the current timestamp (in Unix time)
-    long ts = Instant.now().getEpochSecond();
-
-    // Update the audit details with the current user and timestamp
-    incident.setUpdatedBy(currentUser);
-    incident.setUpdatedAt(ts);
-    incident.setUpdatedAt(ts);
-
-    // Step 3: Create a new timeline entry for the change
-    Timeline timeline = new Timeline();
-    timeline.setId(String.valueOf(ts));
-    timeline.setType(ChangeType.Severity);
-    timeline.setCreatedAt(ts);
-    timeline.setUpdatedAt(ts);
-    timeline.setUserDetails(currentUser);
-    timeline.setPreviousState(oldSeverity.toString());
-    timeline.setCurrentState(newSeverity.toString());
-
-    // Add the timeline entry to the incident's timeline
-    incident.getTimelines().add(timeline);
-
-    // Step 4: Update the incident's summary and description
-    incident.setSeverity(newSeverity);
-
-    // Step 5: Update the incident in the database
-    Incident updated = updateIncidentById(incident.getId(), incident);
+  /**
+   * Applies the changed fields of an incident together with an atomic {@code $push} of the new
+   * timeline entry, so the size of the write does not depend on the length of the timeline. The
+   * write only succeeds if the incident still has the version it was read with. The entry is then
+   * recorded in the timeline buckets and the incident only keeps the latest entries as a preview.
+   *
+   * @param incident The incident as loaded by {@link #findIncidentForUpdate(String)}.
+   * @param update The changed fields of the incident.
+   * @param timeline The timeline entry describing the change.
+   * @param currentUser The user performing the change.
+   * @param ts The timestamp of the change (in Unix time).
+   * @return The updated incident without its timelines.
+   * @throws IncidentVersionConflictException If the incident was modified since it was read.
+   */
+  private Incident applyIncidentUpdate(
+      Incident incident, Update update, Timeline timeline, UserDetails currentUser, long ts) {
+    Query query =
+        new Query(
+            Criteria.where("_id")
+                .is(new ObjectId(incident.getId()))
+                .and("version")
+                .is(incident.getVersion()));
+    query.fields().exclude("timelines");
+
+    update
+        .set("updatedAt", ts)
+        .set("updatedBy", currentUser)
+        .inc("version", 1)
+        .push("timelines")
+        .slice(-timelineService.getPreviewSize())
+        .each(timeline);
+
+    Incident updated =
+        mongoTemplate.findAndModify(
+            query, update, FindAndModifyOptions.options().returnNew(true), Incident.class);
     if (updated == null) {
-      throw new Exception("Failed to update incident summary.");
+      throw new IncidentVersionConflictException(
+          "Incident " + incident.getIdentifier() + " was modified concurrently");
     }
 
+    incidentCacheService.invalidate(updated.getId());
+    timelineService.appendTimeline(incident.getIdentifier(), timeline);
     return updated;
   }
 
-  public Incident addComment(String incidentID, String comment, UserDetails currentUser)
-      throws Exception {
-    // Step 1: Retrieve the existing incident by its ID
-    Optional<Incident> existingIncident = incidentRepository.findByIdentifier(incidentID);
-    if (existingIncident.isEmpty()) {
-      throw new Exception("Incident not found with ID: " + incidentID);
-    }
-
-    Incident incident = existingIncident.get();
-    // Step 2: Get the old comment and prepare the new timeline entry
-    List<String> comments = incident.getComment();
-    if (comments == null) {
-      comments = new ArrayList<>();
-    }
-
-    // Get the current timestamp (in Unix time)
-    long ts = Instant.now().getEpochSecond();
-
-    // Update the audit details with the current user and timestamp
-    incident.setUpdatedBy(currentUser);
-    incident.setUpdatedAt(ts);
-    incident.setUpdatedAt(ts);
-
-    // Step 3: Create a new timeline entry for the change
-    Timeline timeline = new Timeline();
-    timeline.setId(String.valueOf(ts));
-    timeline.setType(ChangeType.Comment);
-    timeline.setCreatedAt(ts);
-    timeline.setUpdatedAt(ts);
-    timeline.setUserDetails(currentUser);
-    timeline.setPreviousState(comment);
-    timeline.setCurrentState(comment);
-
-    // Add the timeline entry to the incident's timeline
-    incident.getTimelines().add(timeline);
-
-    // Step 4: Update the incident's summary and description
-    comments.add(comment);
-    incident.setComment(comments);
-
-    // Step 5: Update the incident in the database
-    Incident updated = updateIncidentById(incident.getId(), incident);
-    if (updated == null) {
-      throw new Exception("Failed to add a new incident comment.");
+  public Incident getIncidentById(String id) {
+    Incident incident = incidentCacheService.getById(id);
+    if (incident == null) {
+      throw new InvalidIncidentException("Incident not found for ID: " + id);
     }
-
-    return updated;
+    return incident;
   }
 
-  public Incident updateStatus(String incidentID, Status newStatus, UserDetails currentUser)
-      throws Exception {
-    Optional<Incident> existingIncident = incidentRepository.findByIdentifier(incidentID);
-    if (existingIncident.isEmpty()) {
-      throw new Exception("Incident not found with ID: " + incidentID);
+  /**
+   * Returns the version, updatedAt and scope of an incident without mapping the rest of it, from
+   * the cache when the incident is cached and otherwise from a projected {@code _id} lookup. The
+   * scope lets callers check access before answering from the version.
+   *
+   * @param id The incident ObjectId.
+   * @return An incident with only its id, version, updatedAt and scope identifiers set.
+   */
+  public Incident getIncidentVersion(String id) {
+    Incident cached = incidentCacheService.getCachedVersion(id);
+    if (cached != null) {
+      return cached;
     }
 
-    Incident incident = existingIncident.get();
-    Status oldStatus = incident.getStatus();
+    Query query = new Query(Criteria.where("_id").is(new ObjectId(id)));
+    query
+        .fields()
+        .include("version")
+        .include("updatedAt")
+        .include("accountIdentifier")
+        .include("orgIdentifier")
+        .include("projectIdentifier");
+    Incident incident = mongoTemplate.findOne(query, Incident.class);
+    if (incident == null) {
+      throw new InvalidIncidentException("Incident not found for ID: " + id);
+    }
+    return incident;
+  }
 
-    // Get the current timestamp (in Unix time)
-    long ts = Instant.now().getEpochSecond();
+  public Incident getIncidentByIdentifier(String identifier) {
+    return incidentCacheService.getByIdentifier(identifier);
+  }
 
-    // Update the audit details with the current user and timestamp
-    incident.setUpdatedBy(currentUser);
-    incident.setUpdatedAt(ts);
-    incident.setUpdatedAt(ts);
+  public List<Incident> listIncidents(Query query) {
+    return mongoTemplate.find(query, Incident.class);
+  }
 
-    // Step 3: Create a new timeline entry for the change
-    Timeline timeline = new Timeline();
-    timeline.setId(String.valueOf(ts));
-    timeline.setType(ChangeType.Status);
-    timeline.setCreatedAt(ts);
-    timeline.setUpdatedAt(ts);
-    timeline.setUserDetails(currentUser);
-    timeline.setPreviousState(oldStatus.toString());
-    timeline.setCurrentState(newStatus.toString());
+  /**
+   * Lists one page of incidents, newest first. The sort on {@code (createdAt, _id)} is stable, so a
+   * cursor taken from the last incident of a page seeks directly to the next page instead of
+   * skipping over all the previous ones.
+   *
+   * @param criteria The filters of the list.
+   * @param cursor The cursor returned with the previous page; when set, {@code skip} is ignored.
+   * @param skip The number of incidents to skip when paging by offset.
+   * @param limit The maximum number of incidents to return.
+   * @return A page of incidents with the cursor of the next page.
+   */
+  public CursorPage<Incident> listIncidentsPage(
+      Criteria criteria, String cursor, long skip, int limit) {
+    if (limit <= 0) {
+      throw new BadRequestException("limit must be greater than 0");
+    }
 
-    // Add the timeline entry to the incident's timeline
-    incident.getTimelines().add(timeline);
+    boolean keyset = cursor != null && !cursor.isEmpty();
+    Query query =
+        new Query(keyset ? new Criteria().andOperator(criteria, afterCursor(cursor)) : criteria)
+            .with(INCIDENT_LIST_SORT)
+            .limit(limit + 1);
+    if (!keyset && skip > 0) {
+      query.skip(skip);
+    }
 
-    // Step 4: Update the incident's summary and description
-    incident.setStatus(newStatus);
+    return toIncidentPage(mongoTemplate.find(query, Incident.class), limit);
+  }
 
-    // Step 5: Update the incident in the database
-    Incident updated = updateIncidentById(incident.getId(), incident);
-    if (updated == null) {
-      throw new Exception("Failed to update incident summary.");
+  /**
+   * Lists one page of incidents together with the exact number of matching incidents and their
+   * counts by status, severity and type, all computed by a single {@code $facet} aggregation. The
+   * filter and sort run ahead of the {@code $facet} so they can use the list indexes; only the page
+   * bounds and the counts run inside it. Pages larger than {@value #MAX_FACET_PAGE_LIMIT} are
+   * fetched and counted separately instead, as the whole aggregation result is a single document.
+   *
+   * @param criteria The filters of the list.
+   * @param cursor The cursor returned with the previous page; when set, {@code skip} is ignored.
+   * @param skip The number of incidents to skip when paging by offset.
+   * @param limit The maximum number of incidents to return.
+   * @param withFacets Whether to compute the counts by status, severity and type.
+   * @return A page of incidents with its total, facet counts and the cursor of the next page.
+   */
+  public CursorPage<Incident> listIncidentsPageWithCount(
+      Criteria criteria, String cursor, long skip, int limit, boolean withFacets) {
+    if (limit <= 0) {
+      throw new BadRequestException("limit must be greater than 0");
+    }
+    if (limit > MAX_FACET_PAGE_LIMIT) {
+      if (withFacets) {
+        throw new BadRequestException(
+            "limit must be between 1 and " + MAX_FACET_PAGE_LIMIT + " when facets are requested");
+      }
+      CursorPage<Incident> page = listIncidentsPage(criteria, cursor, skip, limit);
+      page.setTotalItems(countIncidents(new Query(criteria)));
+      return page;
     }
 
-    return updated;
+    // The page is narrowed down inside its own facet so the counts still cover the whole filter
+    List<AggregationOperation> pageOperations = new ArrayList<>();
+    boolean keyset = cursor != null && !cursor.isEmpty();
+    if (keyset) {
+      pageOperations.add(Aggregation.match(afterCursor(cursor)));
+    }
+    if (!keyset && skip > 0) {
+      pageOperations.add(Aggregation.skip(skip));
+    }
+    pageOperations.add(Aggregation.limit(limit + 1L));
+
+    FacetOperation facets =
+        Aggregation.facet(pageOperations.toArray(new AggregationOperation[0]))
+            .as("content")
+            .and(Aggregation.count().as("count"))
+            .as("total");
+    if (withFacets) {
+      for (String field : INCIDENT_FACET_FIELDS) {
+        facets = facets.and(Aggregation.group(field).count().as("count")).as(field);
+      }
+    }
+
+    // Sub-pipelines of $facet cannot use indexes, so the sort has to come before it
+    TypedAggregation<Incident> aggregation =
+        Aggregation.newAggregation(
+            Incident.class,
+            Aggregation.match(criteria),
+            Aggregation.sort(INCIDENT_LIST_SORT),
+            facets);
+    Document result = mongoTemplate.aggregate(aggregation, Document.class).getUniqueMappedResult();
+    if (result == null) {
+      result = new Document();
+    }
+
+    List<Incident> incidents = new ArrayList<>();
+    for (Document content : result.getList("content", Document.class, List.of())) {
+      incidents.add(mongoTemplate.getConverter().read(Incident.class, content));
+    }
+    CursorPage<Incident> page = toIncidentPage(incidents, limit);
+
+    List<Document> total = result.getList("total", Document.class, List.of());
+    page.setTotalItems(total.isEmpty() ? 0L : total.get(0).get("count", Number.class).longValue());
+
+    if (withFacets) {
+      Map<String, Map<String, Long>> facetCounts = new LinkedHashMap<>();
+      for (String field : INCIDENT_FACET_FIELDS) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Document bucket : result.getList(field, Document.class, List.of())) {
+          counts.put(
+              String.valueOf(bucket.get("_id")), bucket.get("count", Number.class).longValue());
+        }
+        facetCounts.put(field, counts);
+      }
+      page.setFacets(facetCounts);
+    }
+
+    return page;
   }
 
-  public Incident getIncidentById(String id) {
-    return incidentRepository
-        .findById(String.valueOf(new ObjectId(id)))
-        .orElseThrow(() -> new InvalidIncidentException("Incident not found for ID: " + id));
+  /** Matches the incidents that sort after the given cursor in the incident list order. */
+  private Criteria afterCursor(String cursor) {
+    String[] parts = CursorUtil.decode(cursor, 2);
+    long createdAt;
+    try {
+      createdAt = Long.parseLong(parts[0]);
+    } catch (NumberFormatException e) {
+      throw new BadRequestException("Invalid cursor: " + cursor);
+    }
+    if (!ObjectId.isValid(parts[1])) {
+      throw new BadRequestException("Invalid cursor: " + cursor);
+    }
+
+    return new Criteria()
+        .orOperator(
+            Criteria.where("createdAt").lt(createdAt),
+            Criteria.where("createdAt").is(createdAt).and("_id").lt(new ObjectId(parts[1])));
   }
 
-  public Incident getIncidentByIdentifier(String identifier) {
-    Criteria criteria = Criteria.where("identifier").is(identifier);
-    Query query = new Query(criteria);
-    return mongoTemplate.findOne(query, Incident.class);
+  /**
+   * Trims a list fetched with one extra incident down to the page, deriving the next cursor from
+   * whether the extra incident was there.
+   */
+  private static CursorPage<Incident> toIncidentPage(List<Incident> incidents, int limit) {
+    String nextCursor = null;
+    if (incidents.size() > limit) {
+      incidents = new ArrayList<>(incidents.subList(0, limit));
+      Incident last = incidents.get(limit - 1);
+      nextCursor = CursorUtil.encode(last.getCreatedAt(), last.getId());
+    }
+
+    return CursorPage.<Incident>builder()
+        .content(incidents)
+        .limit(limit)
+        .nextCursor(nextCursor)
+        .build();
   }
 
-  public List<Incident> listIncidents(Query query) {
-    return mongoTemplate.find(query, Incident.class);
+  /**
+   * Lists the incidents created, updated or removed after a watermark, oldest change first. The
+   * watermark is the {@code (updatedAt, _id)} of the last incident returned, so incidents sharing a
+   * second are neither skipped nor repeated. Changes from the last {@code
+   * incident.changes.settleSeconds} are held back until the next call, as a write that took its
+   * updatedAt just before a call may only commit after it.
+   *
+   * @param criteria The scope of the changes.
+   * @param since The watermark returned by the previous call, or an epoch second to start from.
+   * @param limit The maximum number of incidents to return.
+   * @return The changed incidents with the watermark to continue from.
+   */
+  public ChangePage<Incident> listIncidentChanges(Criteria criteria, String since, int limit) {
+    if (limit <= 0 || limit > MAX_CHANGES_LIMIT) {
+      throw new BadRequestException("limit must be between 1 and " + MAX_CHANGES_LIMIT);
+    }
+
+    long sinceUpdatedAt;
+    ObjectId sinceId;
+    try {
+      sinceUpdatedAt = Long.parseLong(since);
+      // A plain timestamp excludes everything updated within that second
+      sinceId = new ObjectId("ffffffffffffffffffffffff");
+    } catch (NumberFormatException notATimestamp) {
+      String[] parts = CursorUtil.decode(since, 2);
+      try {
+        sinceUpdatedAt = Long.parseLong(parts[0]);
+      } catch (NumberFormatException e) {
+        throw new BadRequestException("Invalid watermark: " + since);
+      }
+      if (!ObjectId.isValid(parts[1])) {
+        throw new BadRequestException("Invalid watermark: " + since);
+      }
+      sinceId = new ObjectId(parts[1]);
+    }
+
+    long settledUntil = Instant.now().getEpochSecond() - changesSettleSeconds;
+    Criteria changed =
+        new Criteria()
+            .andOperator(
+                criteria,
+                Criteria.where("updatedAt").lte(settledUntil),
+                new Criteria()
+                    .orOperator(
+                        Criteria.where("updatedAt").gt(sinceUpdatedAt),
+                        Criteria.where("updatedAt").is(sinceUpdatedAt).and("_id").gt(sinceId)));
+    Query query =
+        new Query(changed)
+            .with(Sort.by(Sort.Direction.ASC, "updatedAt").and(Sort.by(Sort.Direction.ASC, "_id")))
+            .limit(limit + 1);
+    List<Incident> incidents = mongoTemplate.find(query, Incident.class);
+
+    boolean hasMore = incidents.size() > limit;
+    if (hasMore) {
+      incidents = new ArrayList<>(incidents.subList(0, limit));
+    }
+    String watermark =
+        incidents.isEmpty()
+            ? CursorUtil.encode(sinceUpdatedAt, sinceId.toHexString())
+            : CursorUtil.encode(
+                incidents.get(incidents.size() - 1).getUpdatedAt(),
+                incidents.get(incidents.size() - 1).getId());
+
+    return ChangePage.<Incident>builder()
+        .content(incidents)
+        .watermark(watermark)
+        .hasMore(hasMore)
+        .build();
   }
 
   public long countIncidents(Query query) {
     return mongoTemplate.count(query, Incident.class);
   }
 
-  @Transactional
-  public Incident updateIncidentById(String id, Incident incident) {
-    validateIncident(incident);
+  /**
+   * Creates and updates incidents in unordered bulk writes of up to {@code incident.bulk.batchSize}
+   * operations each. Every incident is validated first; invalid ones are reported and skipped
+   * without failing the rest. Creates keep their createdAt when set, but their updatedAt is always
+   * the time of the write, so imported incidents sort after every existing change watermark and are
+   * picked up by {@code /incident/changes}. Like incidents created one at a time, they are numbered
+   * per account, and their timeline is written into buckets with only the latest entries kept on
+   * the incident. Creates whose identifier already exists are reported as duplicates. Updates
+   * replace the incident fields but leave the timeline alone, as timeline entries are only ever
+   * appended.
+   *
+   * @param createList The incidents to create.
+   * @param updateList The incidents to update, matched by id.
+   * @return The outcome of every submitted incident.
+   */
+  public BulkResult bulkProcessIncidents(List<Incident> createList, List<Incident> updateList) {
     long now = Instant.now().getEpochSecond();
+    BulkResult result = new BulkResult();
+    List<BulkWrite> batch = new ArrayList<>(bulkBatchSize);
+
+    for (int i = 0; i < createList.size(); i++) {
+      BulkWrite write = new BulkWrite(i, true, createList.get(i));
+      if (validateBulkItem(write, result)) {
+        prepareBulkCreate(write, now);
+        batch.add(write);
+        if (batch.size() == bulkBatchSize) {
+          executeBulkBatch(batch, now, result);
+        }
+      }
+    }
+
+    for (int i = 0; i < updateList.size(); i++) {
+      Incident incident = updateList.get(i);
+      incident.setUpdatedAt(now);
+      BulkWrite write = new BulkWrite(i, false, incident);
+      if (validateBulkItem(write, result)) {
+        batch.add(write);
+        if (batch.size() == bulkBatchSize) {
+          executeBulkBatch(batch, now, result);
+        }
+      }
+    }
+
+    if (!batch.isEmpty()) {
+      executeBulkBatch(batch, now, result);
+    }
+
+    logger.info(
+        "Bulk processed incidents: {} created, {} updated, {} duplicates, {} invalid, {} failed",
+        result.getCreated(),
+        result.getUpdated(),
+        result.getDuplicates(),
+        result.getValidationFailed(),
+        result.getWriteFailed());
+    return result;
+  }
+
+  /**
+   * Sets up a validated incident for insertion the way {@link #createIncident} does. Its number is
+   * drawn from the sequence of its account unless it has one, and an incident without stages that
+   * is still Started gets its open stage, as the stage is known to begin at creation. The timeline
+   * is held back to be written into buckets once the incident is inserted.
+   */
+  private void prepareBulkCreate(BulkWrite write, long now) {
+    Incident incident = write.incident;
+    incident.setId(new ObjectId().toHexString());
+    incident.setVersion(0L);
+    if (incident.getCreatedAt() == null) {
+      incident.setCreatedAt(now);
+    }
     incident.setUpdatedAt(now);
+    if (numberingEnabled && incident.getNumber() == null) {
+      incident.setNumber(
+          idService.nextSequence(INCIDENT_NUMBER_SEQUENCE + incident.getAccountIdentifier()));
+    }
 
-    Query query = new Query(Criteria.where("_id").is(new ObjectId(id)));
-    Update update =
-        new Update()
-            .set("name", incident.getName())
-            .set("description", incident.getDescription())
-            .set("tags", incident.getTags())
-            .set("severity", incident.getSeverity())
-            .set("status", incident.getStatus())
-            .set("active", incident.getActive())
-            .set("summary", incident.getSummary())
-            .set("comment", incident.getComment())
-            .set("services", incident.getServices())
-            .set("environments", incident.getEnvironments())
-            .set("functionalities", incident.getFunctionalities())
-            .set("roles", incident.getRoles())
-            .set("stages", incident.getStages())
-            .set("timelines", incident.getTimelines())
-            .set("channels", incident.getChannels())
-            .set("conferenceDetails", incident.getConferenceDetails())
-            .set("attachments", incident.getAttachments())
-            .set("updatedAt", now)
-            .set("updatedBy", incident.getUpdatedBy());
-
-    mongoTemplate.updateFirst(query, update, Incident.class);
-
-    return getIncidentById(id);
-  }
-
-  @Transactional
-  public void bulkProcessIncidents(List<Incident> createList, List<Incident> updateList) {
-    long now = Instant.now().getEpochSecond();
+    List<Timeline> timelines =
+        incident.getTimelines() != null ? incident.getTimelines() : List.of();
+    for (Timeline timeline : timelines) {
+      if (timeline.getId() == null) {
+        timeline.setId(idService.nextId());
+      }
+    }
+    // Milestones are derived from the submitted history only, before a stage is added
+    incidentAnalyticsService.markRolledUp(incident);
+
+    if ((incident.getStages() == null || incident.getStages().isEmpty())
+        && incident.getStatus() == Status.Started) {
+      incident.setStages(
+          new ArrayList<>(
+              List.of(
+                  openStage(Status.Started, incident.getCreatedBy(), incident.getCreatedAt()))));
+    }
 
-    createList.forEach(
-        incident -> {
-          incident.setId(null);
-          incident.setCreatedAt(now);
-          validateIncident(incident);
-        });
+    write.timelines = timelines;
+    int previewSize = timelineService.getPreviewSize();
+    incident.setTimelines(
+        new ArrayList<>(
+            timelines.subList(Math.max(0, timelines.size() - previewSize), timelines.size())));
+    incident.setTimelinesBucketed(true);
+  }
 
-    updateList.forEach(
-        incident -> {
-          incident.setUpdatedAt(now);
-          validateIncident(incident);
-
-          Query query = new Query(Criteria.where("_id").is(incident.getId()));
-          Update update =
-              new Update()
-                  .set("name", incident.getName())
-                  .set("description", incident.getDescription())
-                  .set("tags", incident.getTags())
-                  .set("severity", incident.getSeverity())
-                  .set("status", incident.getStatus())
-                  .set("active", incident.getActive())
-                  .set("summary", incident.getSummary())
-                  .set("comment", incident.getComment())
-                  .set("services", incident.getServices())
-                  .set("environments", incident.getEnvironments())
-                  .set("functionalities", incident.getFunctionalities())
-                  .set("roles", incident.getRoles())
-                  .set("stages", incident.getStages())
-                  .set("timelines", incident.getTimelines())
-                  .set("channels", incident.getChannels())
-                  .set("conferenceDetails", incident.getConferenceDetails())
-                  .set("attachments", incident.getAttachments())
-                  .set("updatedAt", now);
-
-          mongoTemplate.updateFirst(query, update, Incident.class);
-        });
+  private boolean validateBulkItem(BulkWrite write, BulkResult result) {
+    try {
+      if (!write.create
+          && (write.incident.getId() == null || !ObjectId.isValid(write.incident.getId()))) {
+        throw new InvalidIncidentException("Missing or invalid incident ID");
+      }
+      validateIncident(write.incident);
+      return true;
+    } catch (InvalidIncidentException e) {
+      result.addItem(write.toResult(BulkItemStatus.ValidationFailed, e.getMessage()), write.create);
+      return false;
+    }
+  }
 
-    incidentRepository.saveAll(createList);
+  /**
+   * Executes one unordered bulk write and records the outcome of each of its operations. The batch
+   * is cleared afterwards.
+   */
+  private void executeBulkBatch(List<BulkWrite> batch, long now, BulkResult result) {
+    BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Incident.class);
+    for (BulkWrite write : batch) {
+      if (write.create) {
+        ops.insert(write.incident);
+      } else {
+        ops.updateOne(
+            new Query(Criteria.where("_id").is(new ObjectId(write.incident.getId()))),
+            toBulkUpdate(write.incident, now));
+      }
+    }
+
+    // Operations of an unordered bulk write fail independently, errors refer to them by position
+    Map<Integer, String> errors = new HashMap<>();
+    Set<Integer> duplicates = new HashSet<>();
+    BulkWriteResult writeResult = null;
+    try {
+      writeResult = ops.execute();
+    } catch (BulkOperationException e) {
+      writeResult = e.getResult();
+      for (BulkWriteError error : e.getErrors()) {
+        errors.put(error.getIndex(), error.getMessage());
+        if (error.getCode() == DUPLICATE_KEY_ERROR_CODE) {
+          duplicates.add(error.getIndex());
+        }
+      }
+    } catch (DataAccessException e) {
+      logger.error("Bulk write of {} incidents failed: {}", batch.size(), e.getMessage());
+      for (int i = 0; i < batch.size(); i++) {
+        errors.put(i, e.getMessage());
+      }
+    }
+
+    Set<String> missing = findMissingUpdates(batch, errors, writeResult);
+    List<Incident> created = new ArrayList<>();
+    Map<String, List<Timeline>> createdTimelines = new LinkedHashMap<>();
+    for (int i = 0; i < batch.size(); i++) {
+      BulkWrite write = batch.get(i);
+      if (!write.create) {
+        incidentCacheService.invalidate(write.incident.getId());
+      }
+      BulkItemResult item;
+      if (duplicates.contains(i)) {
+        item = write.toResult(BulkItemStatus.Duplicate, errors.get(i));
+      } else if (errors.containsKey(i)) {
+        item = write.toResult(BulkItemStatus.WriteFailed, errors.get(i));
+      } else if (!write.create && missing.contains(write.incident.getId())) {
+        item = write.toResult(BulkItemStatus.WriteFailed, "Incident not found");
+      } else {
+        item = write.toResult(write.create ? BulkItemStatus.Created : BulkItemStatus.Updated, null);
+        if (write.create) {
+          created.add(write.incident);
+          if (!write.timelines.isEmpty()) {
+            createdTimelines.put(write.incident.getIdentifier(), write.timelines);
+          }
+        }
+      }
+      result.addItem(item, write.create);
+    }
+    incidentAnalyticsService.recordCreated(created);
+    writeTimelines(createdTimelines);
+    batch.clear();
+  }
+
+  /** Writes the timelines held back from the incidents created by a batch into buckets. */
+  private void writeTimelines(Map<String, List<Timeline>> timelines) {
+    try {
+      timelineService.insertTimelines(timelines);
+    } catch (DataAccessException e) {
+      logger.error(
+          "Failed to write the timelines of {} created incidents: {}",
+          timelines.size(),
+          e.getMessage());
+    }
+  }
+
+  /**
+   * Returns the ids of the updates in the batch that matched no incident. The bulk write result
+   * only carries the total matched count, so the ids are looked up only when that count falls
+   * short.
+   */
+  private Set<String> findMissingUpdates(
+      List<BulkWrite> batch, Map<Integer, String> errors, BulkWriteResult writeResult) {
+    if (writeResult == null) {
+      return Set.of();
+    }
+    List<ObjectId> updatedIds = new ArrayList<>();
+    for (int i = 0; i < batch.size(); i++) {
+      if (!batch.get(i).create && !errors.containsKey(i)) {
+        updatedIds.add(new ObjectId(batch.get(i).incident.getId()));
+      }
+    }
+    if (writeResult.getMatchedCount() >= updatedIds.size()) {
+      return Set.of();
+    }
+
+    Query query = new Query(Criteria.where("_id").in(updatedIds));
+    query.fields().include("_id");
+    Set<String> found =
+        mongoTemplate.find(query, Incident.class).stream()
+            .map(Incident::getId)
+            .collect(Collectors.toSet());
+    return updatedIds.stream()
+        .map(ObjectId::toHexString)
+        .filter(id -> !found.contains(id))
+        .collect(Collectors.toSet());
+  }
+
+  private static Update toBulkUpdate(Incident incident, long now) {
+    return new Update()
+        .set("name", incident.getName())
+        .set("description", incident.getDescription())
+        .set("tags", incident.getTags())
+        .set("severity", incident.getSeverity())
+        .set("status", incident.getStatus())
+        .set("active", incident.getActive())
+        .set("summary", incident.getSummary())
+        .set("comment", incident.getComment())
+        .set("services", incident.getServices())
+        .set("environments", incident.getEnvironments())
+        .set("functionalities", incident.getFunctionalities())
+        .set("roles", incident.getRoles())
+        .set("stages", incident.getStages())
+        .set("channels", incident.getChannels())
+        .set("conferenceDetails", incident.getConferenceDetails())
+        .set("attachments", incident.getAttachments())
+        .set("updatedAt", now)
+        .inc("version", 1);
+  }
+
+  /** An incident queued for a bulk write, with its position in the submitted list. */
+  private static class BulkWrite {
+    private final int index;
+    private final boolean create;
+    private final Incident incident;
+
+    /** The full timeline of a create, written into buckets after the insert. */
+    private List<Timeline> timelines = List.of();
+
+    BulkWrite(int index, boolean create, Incident incident) {
+      this.index = index;
+      this.create = create;
+      this.incident = incident;
+    }
+
+    BulkItemResult toResult(BulkItemStatus status, String error) {
+      return new BulkItemResult(index, incident.getId(), incident.getIdentifier(), status, error);
+    }
   }
 
   public void validateIncident(Incident incident) {
@@ -580,8 +1285,8 @@ public class IncidentServiceImpl implements IncidentService {
         Status.Resolved);
   }
 
-  public String generateIncidentIdentifier(long createdAt) {
-    // Convert createdAt (long) to String and concatenate with a new UUID
-    return createdAt + "-" + UUID.randomUUID();
+  /** Returns a compact, time ordered identifier for a new incident. */
+  public String generateIncidentIdentifier() {
+    return idService.nextId();
   }
 }
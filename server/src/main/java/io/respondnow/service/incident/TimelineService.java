@@ -0,0 +1,19 @@
+package io.respondnow.service.incident;
+
+import io.respondnow.model.api.CursorPage;
+import io.respondnow.model.incident.Incident;
+import io.respondnow.model.incident.Timeline;
+import java.util.List;
+import java.util.Map;
+
+public interface TimelineService {
+  int getPreviewSize();
+
+  void appendTimeline(String incidentIdentifier, Timeline timeline);
+
+  void ensureBucketed(Incident incident);
+
+  void insertTimelines(Map<String, List<Timeline>> timelines);
+
+  CursorPage<Timeline> listTimeline(String incidentId, String cursor, int limit);
+}
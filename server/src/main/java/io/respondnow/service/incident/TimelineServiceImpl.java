@@ -0,0 +1,306 @@
+package io.respondnow.service.incident;
+
+import com.mongodb.client.result.UpdateResult;
+import io.respondnow.exception.BadRequestException;
+import io.respondnow.exception.InvalidIncidentException;
+import io.respondnow.model.api.CursorPage;
+import io.respondnow.model.incident.Incident;
+import io.respondnow.model.incident.Timeline;
+import io.respondnow.model.incident.TimelineBucket;
+import io.respondnow.util.CursorUtil;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+@Service
+public class TimelineServiceImpl implements TimelineService {
+
+  private static final Logger logger = LoggerFactory.getLogger(TimelineServiceImpl.class);
+  private static final int MAX_PAGE_LIMIT = 100;
+
+  /** Every lost race opens or fills a bucket, so a handful of attempts always suffice. */
+  private static final int MAX_APPEND_ATTEMPTS = 5;
+
+  @Autowired private MongoTemplate mongoTemplate;
+  @Autowired private IncidentCacheService incidentCacheService;
+
+  @Value("${incident.timeline.bucketSize:100}")
+  private int bucketSize;
+
+  @Value("${incident.timeline.previewSize:20}")
+  private int previewSize;
+
+  public int getPreviewSize() {
+    return previewSize;
+  }
+
+  /**
+   * Appends a timeline entry to the newest bucket of the incident, starting the next bucket when
+   * the newest one is full.
+   *
+   * <p>The upsert only matches the bucket at the expected position while it has room. When that
+   * bucket is full, or a concurrent append has just started it, the insert fails on the unique
+   * {@code (incidentIdentifier, seq)} index and the position is read again, so two appends can
+   * never open two buckets for the same incident.
+   *
+   * @param incidentIdentifier The incident identifier.
+   * @param timeline The timeline entry to append.
+   */
+  public void appendTimeline(String incidentIdentifier, Timeline timeline) {
+    long at =
+        timeline.getCreatedAt() != null ? timeline.getCreatedAt() : Instant.now().getEpochSecond();
+    Update update =
+        new Update().push("entries", timeline).inc("count", 1).min("startAt", at).max("endAt", at);
+
+    for (int attempt = 1; ; attempt++) {
+      Query query =
+          new Query(
+              Criteria.where("incidentIdentifier")
+                  .is(incidentIdentifier)
+                  .and("seq")
+                  .is(openSeq(incidentIdentifier))
+                  .and("count")
+                  .lt(bucketSize));
+      try {
+        mongoTemplate.upsert(query, update, TimelineBucket.class);
+        return;
+      } catch (DuplicateKeyException e) {
+        if (attempt == MAX_APPEND_ATTEMPTS) {
+          throw e;
+        }
+      }
+    }
+  }
+
+  /** Returns the position of the bucket the next entry of an incident belongs in. */
+  private int openSeq(String incidentIdentifier) {
+    Query query =
+        new Query(Criteria.where("incidentIdentifier").is(incidentIdentifier))
+            .with(Sort.by(Sort.Direction.DESC, "seq"));
+    query.fields().include("seq").include("count");
+    TimelineBucket newest = mongoTemplate.findOne(query, TimelineBucket.class);
+    if (newest == null) {
+      return 0;
+    }
+    return newest.getCount() < bucketSize ? newest.getSeq() : newest.getSeq() + 1;
+  }
+
+  /**
+   * Moves the embedded timeline history of an incident created before timelines were bucketed into
+   * the bucket collection, leaving only the latest entries on the incident as a preview.
+   *
+   * <p>The copy is idempotent: every bucket has an {@code _id} derived from the incident and its
+   * position in the history and is only inserted if it does not exist yet. Entries are only ever
+   * appended once the incident is flagged, so the copied buckets take the first positions. The
+   * incident is flagged and its history trimmed only after all buckets are written, so a copy
+   * interrupted at any point is simply repeated by the next caller.
+   *
+   * @param incident The incident; only its id and bucketing flag are required.
+   */
+  public void ensureBucketed(Incident incident) {
+    if (Boolean.TRUE.equals(incident.getTimelinesBucketed())) {
+      return;
+    }
+
+    Query query =
+        new Query(
+            Criteria.where("_id")
+                .is(new ObjectId(incident.getId()))
+                .and("timelinesBucketed")
+                .ne(true));
+    query.fields().include("identifier").include("timelines");
+    Incident legacy = mongoTemplate.findOne(query, Incident.class);
+    if (legacy == null) {
+      return;
+    }
+
+    List<Timeline> timelines = legacy.getTimelines() != null ? legacy.getTimelines() : List.of();
+    for (int from = 0; from < timelines.size(); from += bucketSize) {
+      List<Timeline> entries =
+          new ArrayList<>(timelines.subList(from, Math.min(from + bucketSize, timelines.size())));
+
+      // Never replaces an existing bucket, which may already have received new entries
+      Update update =
+          new Update()
+              .setOnInsert("incidentIdentifier", legacy.getIdentifier())
+              .setOnInsert("seq", from / bucketSize)
+              .setOnInsert("entries", entries)
+              .setOnInsert("count", entries.size())
+              .setOnInsert("startAt", entries.get(0).getCreatedAt())
+              .setOnInsert("endAt", entries.get(entries.size() - 1).getCreatedAt());
+      mongoTemplate.upsert(
+          new Query(Criteria.where("_id").is(legacyBucketId(legacy.getId(), from / bucketSize))),
+          update,
+          TimelineBucket.class);
+    }
+
+    // Trim the embedded history down to the preview without overwriting concurrent appends
+    UpdateResult result =
+        mongoTemplate.updateFirst(
+            query,
+            new Update()
+                .set("timelinesBucketed", true)
+                .inc("version", 1)
+                .push("timelines")
+                .slice(-previewSize)
+                .each(),
+            Incident.class);
+    incidentCacheService.invalidate(incident.getId());
+
+    if (result.getModifiedCount() > 0) {
+      logger.info(
+          "Moved {} timeline entries of incident {} into buckets",
+          timelines.size(),
+          legacy.getIdentifier());
+    }
+  }
+
+  /**
+   * Writes the timeline history of newly created incidents into buckets with one bulk insert. The
+   * incidents must not have any bucket yet, their history takes the first positions.
+   *
+   * @param timelines The timeline entries of every incident, oldest first, by incident identifier.
+   */
+  public void insertTimelines(Map<String, List<Timeline>> timelines) {
+    List<TimelineBucket> buckets = new ArrayList<>();
+    timelines.forEach(
+        (incidentIdentifier, entries) -> {
+          for (int from = 0; from < entries.size(); from += bucketSize) {
+            List<Timeline> chunk =
+                new ArrayList<>(entries.subList(from, Math.min(from + bucketSize, entries.size())));
+            TimelineBucket bucket = new TimelineBucket();
+            bucket.setIncidentIdentifier(incidentIdentifier);
+            bucket.setSeq(from / bucketSize);
+            bucket.setEntries(chunk);
+            bucket.setCount(chunk.size());
+            bucket.setStartAt(chunk.get(0).getCreatedAt());
+            bucket.setEndAt(chunk.get(chunk.size() - 1).getCreatedAt());
+            buckets.add(bucket);
+          }
+        });
+    if (!buckets.isEmpty()) {
+      mongoTemplate.insert(buckets, TimelineBucket.class);
+    }
+  }
+
+  /**
+   * Derives the id of the bucket holding the {@code index}-th chunk of the legacy timeline history
+   * of an incident, so repeated copies of the same history address the same buckets.
+   */
+  private static ObjectId legacyBucketId(String incidentId, int index) {
+    try {
+      byte[] digest =
+          MessageDigest.getInstance("SHA-256")
+              .digest((incidentId + "/" + index).getBytes(StandardCharsets.UTF_8));
+      return new ObjectId(Arrays.copyOf(digest, 12));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  /**
+   * Lists the timeline of an incident, newest entries first.
+   *
+   * @param incidentId The incident ObjectId.
+   * @param cursor The cursor returned with the previous page, or null for the first page.
+   * @param limit The maximum number of entries to return.
+   * @return A page of timeline entries with the cursor of the next page.
+   */
+  public CursorPage<Timeline> listTimeline(String incidentId, String cursor, int limit) {
+    if (limit <= 0 || limit > MAX_PAGE_LIMIT) {
+      throw new BadRequestException("limit must be between 1 and " + MAX_PAGE_LIMIT);
+    }
+
+    Query incidentQuery = new Query(Criteria.where("_id").is(new ObjectId(incidentId)));
+    incidentQuery.fields().include("identifier").include("timelinesBucketed");
+    Incident incident = mongoTemplate.findOne(incidentQuery, Incident.class);
+    if (incident == null) {
+      throw new InvalidIncidentException("Incident not found for ID: " + incidentId);
+    }
+    ensureBucketed(incident);
+
+    Criteria criteria = Criteria.where("incidentIdentifier").is(incident.getIdentifier());
+    Integer cursorSeq = null;
+    int cursorOffset = 0;
+    if (cursor != null && !cursor.isEmpty()) {
+      String[] parts = CursorUtil.decode(cursor, 2);
+      try {
+        cursorSeq = Integer.parseInt(parts[0]);
+        cursorOffset = Integer.parseInt(parts[1]);
+      } catch (NumberFormatException e) {
+        throw new BadRequestException("Invalid cursor: " + cursor);
+      }
+      criteria.and("seq").lte(cursorSeq);
+    }
+
+    // Only as many buckets as can possibly be needed to fill the page
+    int bucketLimit = limit / bucketSize + 2;
+    Query query = new Query(criteria).with(Sort.by(Sort.Direction.DESC, "seq")).limit(bucketLimit);
+    List<TimelineBucket> buckets = mongoTemplate.find(query, TimelineBucket.class);
+    return page(buckets, cursorSeq, cursorOffset, limit, buckets.size() == bucketLimit);
+  }
+
+  /**
+   * Collects a page of entries, newest first, from buckets sorted by descending position.
+   *
+   * @param buckets The buckets at or before the cursor, newest first.
+   * @param cursorSeq The position of the bucket the cursor points into, or null for the first page.
+   * @param cursorOffset The number of entries of that bucket not yet returned.
+   * @param limit The maximum number of entries to return.
+   * @param moreBuckets Whether further buckets exist beyond the ones given.
+   * @return A page of entries with the cursor of the next page.
+   */
+  static CursorPage<Timeline> page(
+      List<TimelineBucket> buckets,
+      Integer cursorSeq,
+      int cursorOffset,
+      int limit,
+      boolean moreBuckets) {
+    List<Timeline> content = new ArrayList<>();
+    TimelineBucket lastBucket = null;
+    int lastIndex = 0;
+    for (TimelineBucket bucket : buckets) {
+      List<Timeline> entries = bucket.getEntries() != null ? bucket.getEntries() : List.of();
+      int from =
+          bucket.getSeq().equals(cursorSeq)
+              ? Math.min(cursorOffset, entries.size())
+              : entries.size();
+      for (int i = from - 1; i >= 0 && content.size() < limit; i--) {
+        content.add(entries.get(i));
+        lastBucket = bucket;
+        lastIndex = i;
+      }
+      if (content.size() == limit) {
+        break;
+      }
+    }
+
+    String nextCursor = null;
+    if (lastBucket != null && (content.size() == limit || moreBuckets)) {
+      nextCursor = CursorUtil.encode(lastBucket.getSeq(), lastIndex);
+    }
+
+    return CursorPage.<Timeline>builder()
+        .content(content)
+        .limit(limit)
+        .nextCursor(nextCursor)
+        .build();
+  }
+}
@@ -0,0 +1,16 @@
+package io.respondnow.service.index;
+
+import io.respondnow.dto.admin.QueryPlanResponseDTO.QueryPlan;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.mongodb.core.index.Index;
+
+public interface IndexService {
+  void startProcess();
+
+  Map<String, List<Index>> getDeclaredIndexes();
+
+  void reconcileIndexes();
+
+  List<QueryPlan> explainCanonicalQueries();
+}
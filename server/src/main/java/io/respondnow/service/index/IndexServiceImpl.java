@@ -0,0 +1,395 @@
+package io.respondnow.service.index;
+
+import io.respondnow.dto.admin.QueryPlanResponseDTO.QueryPlan;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+
+@Service
+public class IndexServiceImpl implements IndexService {
+
+  private static final Logger logger = LoggerFactory.getLogger(IndexServiceImpl.class);
+
+  /** Prefix of every index owned by this service; other indexes are never touched. */
+  private static final String MANAGED_PREFIX = "rn_";
+
+  private static final String PLACEHOLDER = "?";
+
+  @Autowired private MongoTemplate mongoTemplate;
+
+  @Value("${mongo.indexes.reconcileOnStartup:true}")
+  private boolean reconcileOnStartup;
+
+  @PostConstruct
+  public void startProcess() {
+    if (!reconcileOnStartup) {
+      logger.info("Index reconciliation on startup is disabled.");
+      return;
+    }
+    logger.info("Reconciling MongoDB indexes...");
+    reconcileIndexes();
+    logger.info("MongoDB indexes reconciled!");
+  }
+
+  /**
+   * The indexes every collection is expected to have, keyed by collection name. The compound
+   * incident indexes all lead with the tenant scope. Lists of an account, an org or a project are
+   * returned in the stable {@code (createdAt, _id)} list order straight from an index. Filters on
+   * status, severity and the like are applied while walking the scope index, which keeps the number
+   * of indexes every incident write has to maintain small.
+   */
+  public Map<String, List<Index>> getDeclaredIndexes() {
+    Map<String, List<Index>> indexes = new LinkedHashMap<>();
+
+    indexes.put(
+        "incidents",
+        List.of(
+            new Index("identifier", Sort.Direction.ASC).named("rn_identifier").unique(),
+            new Index("accountIdentifier", Sort.Direction.ASC)
+                .on("number", Sort.Direction.ASC)
+                .named("rn_account_number")
+                .unique()
+                .partial(PartialIndexFilter.of(Criteria.where("number").exists(true))),
+            new Index("accountIdentifier", Sort.Direction.ASC)
+                .on("createdAt", Sort.Direction.DESC)
+                .on("_id", Sort.Direction.DESC)
+                .named("rn_account_createdAt"),
+            new Index("accountIdentifier", Sort.Direction.ASC)
+                .on("orgIdentifier", Sort.Direction.ASC)
+                .on("createdAt", Sort.Direction.DESC)
+                .on("_id", Sort.Direction.DESC)
+                .named("rn_account_org_createdAt"),
+            new Index("accountIdentifier", Sort.Direction.ASC)
+                .on("orgIdentifier", Sort.Direction.ASC)
+                .on("projectIdentifier", Sort.Direction.ASC)
+                .on("createdAt", Sort.Direction.DESC)
+                .on("_id", Sort.Direction.DESC)
+                .named("rn_scope_createdAt"),
+            new Index("status", Sort.Direction.ASC)
+                .on("createdAt", Sort.Direction.DESC)
+                .named("rn_status_createdAt"),
+            new Index("accountIdentifier", Sort.Direction.ASC)
+                .on("updatedAt", Sort.Direction.ASC)
+                .on("_id", Sort.Direction.ASC)
+                .named("rn_account_updatedAt")));
+
+    indexes.put(
+        "incidentTimelines",
+        List.of(
+            // Unique, so concurrent appends can never open two buckets at the same position
+            new Index("incidentIdentifier", Sort.Direction.ASC)
+                .on("seq", Sort.Direction.DESC)
+                .unique()
+                .named("rn_incident_seq")));
+
+    indexes.put(
+        "incidentStages",
+        List.of(
+            new Index("accountIdentifier", Sort.Direction.ASC)
+                .on("type", Sort.Direction.ASC)
+                .on("duration", Sort.Direction.DESC)
+                .named("rn_account_type_duration"),
+            new Index("accountIdentifier", Sort.Direction.ASC)
+                .on("type", Sort.Direction.ASC)
+                .on("nextType", Sort.Direction.ASC)
+                .on("duration", Sort.Direction.DESC)
+                .named("rn_account_type_nextType_duration")));
+
+    indexes.put(
+        "incidentRollups",
+        List.of(
+            new Index("accountIdentifier", Sort.Direction.ASC)
+                .on("day", Sort.Direction.ASC)
+                .named("rn_account_day")));
+
+    indexes.put(
+        "users",
+        List.of(
+            new Index("email", Sort.Direction.ASC).named("rn_email").unique(),
+            new Index("userId", Sort.Direction.ASC).named("rn_userId")));
+
+    indexes.put(
+        "userMappings",
+        List.of(
+            new Index("userId", Sort.Direction.ASC)
+                .on("accountIdentifier", Sort.Direction.ASC)
+                .on("orgIdentifier", Sort.Direction.ASC)
+                .on("projectIdentifier", Sort.Direction.ASC)
+                .named("rn_userId_scope")
+                .unique()));
+
+    indexes.put(
+        "accounts",
+        List.of(
+            new Index("accountIdentifier", Sort.Direction.ASC)
+                .named("rn_accountIdentifier")
+                .unique()));
+
+    indexes.put(
+        "organizations",
+        List.of(
+            new Index("orgIdentifier", Sort.Direction.ASC).named("rn_orgIdentifier").unique(),
+            new Index("accountIdentifier", Sort.Direction.ASC).named("rn_accountIdentifier")));
+
+    indexes.put(
+        "projects",
+        List.of(
+            new Index("projectIdentifier", Sort.Direction.ASC)
+                .named("rn_projectIdentifier")
+                .unique(),
+            new Index("accountIdentifier", Sort.Direction.ASC)
+                .on("orgIdentifier", Sort.Direction.ASC)
+                .named("rn_account_org")));
+
+    return indexes;
+  }
+
+  /**
+   * Creates missing indexes, recreates managed indexes whose definition changed and drops managed
+   * indexes that are no longer declared. A failure on one index is logged and does not stop the
+   * others, e.g. when existing duplicates prevent a unique index from being built.
+   */
+  public void reconcileIndexes() {
+    getDeclaredIndexes().forEach(this::reconcileCollection);
+  }
+
+  private void reconcileCollection(String collection, List<Index> declared) {
+    IndexOperations indexOps = mongoTemplate.indexOps(collection);
+    Map<String, IndexInfo> existing =
+        indexOps.getIndexInfo().stream()
+            .collect(Collectors.toMap(IndexInfo::getName, info -> info, (a, b) -> a));
+
+    for (Index index : declared) {
+      String name = index.getIndexOptions().getString("name");
+      try {
+        IndexInfo current = existing.get(name);
+        if (current != null && signature(current).equals(signature(index))) {
+          continue;
+        }
+        if (current != null) {
+          logger.info("Index {}.{} changed, recreating it", collection, name);
+          indexOps.dropIndex(name);
+        }
+        indexOps.ensureIndex(index);
+        logger.info("Created index {}.{} on {}", collection, name, index.getIndexKeys());
+      } catch (Exception e) {
+        logger.error("Failed to reconcile index {}.{}: {}", collection, name, e.getMessage());
+      }
+    }
+
+    Set<String> declaredNames =
+        declared.stream()
+            .map(index -> index.getIndexOptions().getString("name"))
+            .collect(Collectors.toSet());
+    for (String name : existing.keySet()) {
+      if (name.startsWith(MANAGED_PREFIX) && !declaredNames.contains(name)) {
+        try {
+          indexOps.dropIndex(name);
+          logger.info("Dropped index {}.{} as it is no longer declared", collection, name);
+        } catch (Exception e) {
+          logger.error("Failed to drop index {}.{}: {}", collection, name, e.getMessage());
+        }
+      }
+    }
+  }
+
+  /**
+   * Runs {@code explain} on the canonical queries issued by the application and reports the winning
+   * plan of each, flagging the ones that fall back to a collection scan.
+   */
+  public List<QueryPlan> explainCanonicalQueries() {
+    List<QueryPlan> plans = new ArrayList<>();
+    Document byCreatedAt = new Document("createdAt", -1).append("_id", -1);
+    Document scope =
+        new Document("accountIdentifier", PLACEHOLDER)
+            .append("orgIdentifier", PLACEHOLDER)
+            .append("projectIdentifier", PLACEHOLDER);
+
+    plans.add(
+        explain(
+            "incident.list.account",
+            "incidents",
+            new Document("accountIdentifier", PLACEHOLDER),
+            byCreatedAt));
+    plans.add(
+        explain(
+            "incident.list.org",
+            "incidents",
+            new Document("accountIdentifier", PLACEHOLDER).append("orgIdentifier", PLACEHOLDER),
+            byCreatedAt));
+    plans.add(explain("incident.list", "incidents", scope, byCreatedAt));
+    plans.add(
+        explain(
+            "incident.list.status",
+            "incidents",
+            new Document(scope).append("status", "Started"),
+            byCreatedAt));
+    plans.add(
+        explain(
+            "incident.list.severity",
+            "incidents",
+            new Document(scope).append("severity", "SEV0"),
+            byCreatedAt));
+    plans.add(
+        explain(
+            "incident.list.type",
+            "incidents",
+            new Document(scope).append("type", "Availability"),
+            byCreatedAt));
+    plans.add(
+        explain(
+            "incident.list.active",
+            "incidents",
+            new Document(scope).append("active", true),
+            byCreatedAt));
+    plans.add(
+        explain(
+            "incident.list.channelType",
+            "incidents",
+            new Document(scope).append("incidentChannel.type", "slack"),
+            byCreatedAt));
+    plans.add(
+        explain(
+            "incident.changes",
+            "incidents",
+            new Document("accountIdentifier", PLACEHOLDER)
+                .append("updatedAt", new Document("$gt", 0L)),
+            new Document("updatedAt", 1).append("_id", 1)));
+    plans.add(
+        explain(
+            "incident.byIdentifier", "incidents", new Document("identifier", PLACEHOLDER), null));
+    plans.add(
+        explain(
+            "slack.openIncidents",
+            "incidents",
+            new Document("status", new Document("$ne", "Resolved")),
+            null));
+    plans.add(
+        explain("slack.closedIncidents", "incidents", new Document("status", "Resolved"), null));
+    plans.add(
+        explain(
+            "incident.timeline",
+            "incidentTimelines",
+            new Document("incidentIdentifier", PLACEHOLDER),
+            new Document("seq", -1)));
+    plans.add(explain("user.byEmail", "users", new Document("email", PLACEHOLDER), null));
+    plans.add(
+        explain("userMapping.byUserId", "userMappings", new Document("userId", PLACEHOLDER), null));
+    plans.add(
+        explain(
+            "account.byIdentifier",
+            "accounts",
+            new Document("accountIdentifier", PLACEHOLDER),
+            null));
+    plans.add(
+        explain(
+            "organization.byIdentifier",
+            "organizations",
+            new Document("orgIdentifier", PLACEHOLDER),
+            null));
+    plans.add(
+        explain(
+            "project.byIdentifier",
+            "projects",
+            new Document("projectIdentifier", PLACEHOLDER),
+            null));
+
+    plans.stream()
+        .filter(QueryPlan::isCollectionScan)
+        .forEach(
+            plan ->
+                logger.warn(
+                    "Query {} on {} uses a collection scan: {}",
+                    plan.getName(),
+                    plan.getCollection(),
+                    plan.getStages()));
+    return plans;
+  }
+
+  private QueryPlan explain(String name, String collection, Document filter, Document sort) {
+    Document find = new Document("find", collection).append("filter", filter);
+    if (sort != null) {
+      find.append("sort", sort);
+    }
+    Document command = new Document("explain", find).append("verbosity", "queryPlanner");
+
+    QueryPlan plan = new QueryPlan();
+    plan.setName(name);
+    plan.setCollection(collection);
+    plan.setFilter(filter.toJson());
+    try {
+      Document result = mongoTemplate.getDb().runCommand(command);
+      Document queryPlanner = result.get("queryPlanner", Document.class);
+      List<String> stages = new ArrayList<>();
+      collectStages(queryPlanner.get("winningPlan", Document.class), stages);
+      plan.setStages(stages);
+      plan.setCollectionScan(stages.contains("COLLSCAN"));
+    } catch (Exception e) {
+      logger.error("Failed to explain query {} on {}: {}", name, collection, e.getMessage());
+      plan.setError(e.getMessage());
+    }
+    return plan;
+  }
+
+  /** Flattens a winning plan into its stage names, outermost stage first. */
+  private static void collectStages(Document stage, List<String> stages) {
+    if (stage == null) {
+      return;
+    }
+    // Slot-based engine plans nest the classic plan under queryPlan
+    if (stage.containsKey("queryPlan")) {
+      collectStages(stage.get("queryPlan", Document.class), stages);
+      return;
+    }
+    String name = stage.getString("stage");
+    if (name != null) {
+      String indexName = stage.getString("indexName");
+      stages.add(indexName != null ? name + "(" + indexName + ")" : name);
+    }
+    collectStages(stage.get("inputStage", Document.class), stages);
+    List<Document> inputStages = stage.getList("inputStages", Document.class);
+    if (inputStages != null) {
+      inputStages.forEach(input -> collectStages(input, stages));
+    }
+  }
+
+  private static String signature(Index index) {
+    Document partialFilter = index.getIndexOptions().get("partialFilterExpression", Document.class);
+    return index.getIndexKeys().toJson()
+        + "|"
+        + index.getIndexOptions().containsKey("unique")
+        + "|"
+        + (partialFilter != null ? partialFilter.toJson() : "");
+  }
+
+  private static String signature(IndexInfo info) {
+    Document keys = new Document();
+    for (IndexField field : info.getIndexFields()) {
+      keys.append(field.getKey(), field.getDirection() == Sort.Direction.DESC ? -1 : 1);
+    }
+    String partialFilter = info.getPartialFilterExpression();
+    return keys.toJson()
+        + "|"
+        + info.isUnique()
+        + "|"
+        + (partialFilter != null ? Document.parse(partialFilter).toJson() : "");
+  }
+}
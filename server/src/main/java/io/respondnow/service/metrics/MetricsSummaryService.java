@@ -0,0 +1,7 @@
+package io.respondnow.service.metrics;
+
+import io.respondnow.model.metrics.MetricsSummary;
+
+public interface MetricsSummaryService {
+  MetricsSummary getSummary();
+}
@@ -0,0 +1,59 @@
+package io.respondnow.service.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.respondnow.model.metrics.MetricsSummary;
+import io.respondnow.model.metrics.TimerSummary;
+import io.respondnow.service.incident.IncidentLiveMetricsService;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/** Summarises the application timers from the meter registry, without touching the database. */
+@Service
+public class MetricsSummaryServiceImpl implements MetricsSummaryService {
+
+  @Autowired private MeterRegistry meterRegistry;
+  @Autowired private IncidentLiveMetricsService incidentLiveMetricsService;
+
+  public MetricsSummary getSummary() {
+    MetricsSummary summary = new MetricsSummary();
+    summary.setGeneratedAt(Instant.now().getEpochSecond());
+    summary.setOpenIncidents(incidentLiveMetricsService.getOpenIncidentCounts());
+    summary.setServiceCalls(summarise("service.calls"));
+    summary.setSlackApiRequests(summarise("slack.api.requests"));
+    summary.setSlackInteractions(summarise("slack.interactions"));
+    summary.setStatusDurations(summarise("incident.status.duration"));
+    return summary;
+  }
+
+  private List<TimerSummary> summarise(String name) {
+    return meterRegistry.find(name).timers().stream()
+        .filter(timer -> timer.count() > 0)
+        .map(this::summarise)
+        .sorted(Comparator.comparingDouble(TimerSummary::getTotalMillis).reversed())
+        .collect(Collectors.toList());
+  }
+
+  private TimerSummary summarise(Timer timer) {
+    Map<String, String> tags = new TreeMap<>();
+    for (Tag tag : timer.getId().getTags()) {
+      tags.put(tag.getKey(), tag.getValue());
+    }
+    TimerSummary summary = new TimerSummary();
+    summary.setName(timer.getId().getName());
+    summary.setTags(tags);
+    summary.setCount(timer.count());
+    summary.setTotalMillis(timer.totalTime(TimeUnit.MILLISECONDS));
+    summary.setMeanMillis(timer.mean(TimeUnit.MILLISECONDS));
+    summary.setMaxMillis(timer.max(TimeUnit.MILLISECONDS));
+    return summary;
+  }
+}
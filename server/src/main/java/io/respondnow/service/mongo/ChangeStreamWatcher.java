@@ -0,0 +1,148 @@
+package io.respondnow.service.mongo;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import java.util.function.Supplier;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Follows a change stream on a background thread and hands every change to a {@link Handler}. After
+ * a failure the stream is resumed from the last seen resume token, so no change is skipped; when
+ * the server rejects the token the stream is opened afresh and the handler is reset. On a
+ * deployment without change streams, i.e. a standalone instance, the watcher stops and tells the
+ * handler.
+ */
+public class ChangeStreamWatcher {
+
+  private static final Logger logger = LoggerFactory.getLogger(ChangeStreamWatcher.class);
+
+  /** Returned by servers that do not support change streams, i.e. standalone instances. */
+  private static final int CHANGE_STREAMS_UNSUPPORTED_ERROR_CODE = 40573;
+
+  /** Receives the changes of a watched stream, on the thread of the watcher. */
+  public interface Handler {
+    void onChange(ChangeStreamDocument<Document> change);
+
+    /**
+     * Called whenever the stream is (re)opened without resuming, after which changes made in the
+     * meantime are not delivered.
+     */
+    void onReset();
+
+    /** Called once when the deployment does not support change streams. */
+    void onUnavailable();
+  }
+
+  private final String name;
+  private final Supplier<ChangeStreamIterable<Document>> stream;
+  private final long retryDelayMillis;
+  private final Handler handler;
+
+  private volatile boolean running;
+  private volatile boolean watching;
+  private Thread watcher;
+
+  /**
+   * @param name Names the watcher thread and its log lines, e.g. {@code incident}.
+   * @param stream Creates the stream to watch; it is resumed or opened by the watcher.
+   */
+  public ChangeStreamWatcher(
+      String name,
+      Supplier<ChangeStreamIterable<Document>> stream,
+      long retryDelayMillis,
+      Handler handler) {
+    this.name = name;
+    this.stream = stream;
+    this.retryDelayMillis = retryDelayMillis;
+    this.handler = handler;
+  }
+
+  public void start() {
+    running = true;
+    watcher = new Thread(this::watch, name + "-change-stream");
+    watcher.setDaemon(true);
+    watcher.start();
+  }
+
+  public void stop() {
+    running = false;
+    if (watcher != null) {
+      watcher.interrupt();
+    }
+  }
+
+  /** Whether the stream is currently open, i.e. whether the handler receives every change. */
+  public boolean isWatching() {
+    return watching;
+  }
+
+  private void watch() {
+    BsonDocument resumeToken = null;
+    while (running) {
+      try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor =
+          openCursor(resumeToken)) {
+        if (resumeToken == null) {
+          handler.onReset();
+        }
+        watching = true;
+        logger.info("Watching {} changes (resumed: {})", name, resumeToken != null);
+
+        while (running) {
+          ChangeStreamDocument<Document> change = cursor.tryNext();
+          if (change != null) {
+            dispatch(change);
+          }
+          if (cursor.getResumeToken() != null) {
+            resumeToken = cursor.getResumeToken();
+          }
+        }
+      } catch (MongoCommandException e) {
+        watching = false;
+        if (e.getErrorCode() == CHANGE_STREAMS_UNSUPPORTED_ERROR_CODE) {
+          logger.warn("Change streams are not supported by this MongoDB deployment, stopping.");
+          running = false;
+          handler.onUnavailable();
+          break;
+        }
+        logger.warn("The {} change stream failed: {}", name, e.getMessage());
+        resumeToken = null;
+      } catch (RuntimeException e) {
+        watching = false;
+        logger.warn("The {} change stream failed: {}", name, e.getMessage());
+      }
+      sleepBeforeRetry();
+    }
+    watching = false;
+  }
+
+  private MongoChangeStreamCursor<ChangeStreamDocument<Document>> openCursor(
+      BsonDocument resumeToken) {
+    ChangeStreamIterable<Document> iterable = stream.get();
+    if (resumeToken != null) {
+      iterable = iterable.resumeAfter(resumeToken);
+    }
+    return iterable.cursor();
+  }
+
+  private void dispatch(ChangeStreamDocument<Document> change) {
+    try {
+      handler.onChange(change);
+    } catch (RuntimeException e) {
+      logger.error("The {} change handler failed: {}", name, e.getMessage());
+    }
+  }
+
+  private void sleepBeforeRetry() {
+    try {
+      Thread.sleep(retryDelayMillis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      running = false;
+    }
+  }
+}
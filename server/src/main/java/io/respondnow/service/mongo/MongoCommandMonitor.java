@@ -0,0 +1,10 @@
+package io.respondnow.service.mongo;
+
+import io.respondnow.model.mongo.SlowCommand;
+import java.util.List;
+
+public interface MongoCommandMonitor {
+  List<SlowCommand> getRecentSlowCommands();
+
+  long getSlowThresholdMillis();
+}
@@ -0,0 +1,328 @@
+package io.respondnow.service.mongo;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.respondnow.model.mongo.SlowCommand;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Listens to every command the MongoDB driver sends. Each command is timed per collection and
+ * command name, as {@code mongo.commands{collection,command,outcome}}, and the size of its reply is
+ * recorded as {@code mongo.command.reply.size{collection,command}}. Commands slower than {@code
+ * mongo.commands.slowThresholdMillis} are logged with their shape and kept in a ring buffer of the
+ * most recent ones.
+ *
+ * <p>The shape has to be taken when a command starts, because the driver may release the command
+ * document once the callback returns, so every command pays for it, not only the slow ones: the
+ * fields in {@link #SHAPE_FIELDS} are looked up in the command buffer and decoded, and a normalised
+ * copy of at most {@link #MAX_SHAPE_VALUES} values is built. Other fields, such as inserted
+ * documents, are skipped without being decoded, but the statement list of a bulk update or delete
+ * is decoded in full even though only its first statement is kept. The shape is only rendered as
+ * JSON once a command turns out to be slow.
+ *
+ * <p>The reply size is read from the raw BSON the driver decodes replies into, without a copy.
+ *
+ * <p>Commands that never complete, e.g. because their connection was closed, are dropped after
+ * {@code mongo.commands.abandonAfterSeconds} and counted as {@code mongo.commands.abandoned}.
+ */
+@Service
+public class MongoCommandMonitorImpl implements MongoCommandMonitor, CommandListener {
+
+  private static final Logger logger = LoggerFactory.getLogger(MongoCommandMonitorImpl.class);
+
+  private static final BsonString PLACEHOLDER = new BsonString("?");
+
+  /** Fields of a command that describe what it reads or writes, see {@link #shape}. */
+  private static final List<String> SHAPE_FIELDS =
+      List.of(
+          "filter",
+          "query",
+          "sort",
+          "projection",
+          "fields",
+          "hint",
+          "pipeline",
+          "update",
+          "limit",
+          "skip",
+          "upsert",
+          "updates",
+          "deletes",
+          "q",
+          "u",
+          "multi");
+
+  /** Sort orders, projections and index hints are structural, their values are kept. */
+  private static final Set<String> STRUCTURAL_FIELDS =
+      Set.of("sort", "projection", "fields", "hint");
+
+  private static final int MAX_SHAPE_DEPTH = 6;
+  private static final int MAX_SHAPE_FIELDS = 32;
+
+  /** Upper bound of the values normalised per command, across all of its shape fields. */
+  private static final int MAX_SHAPE_VALUES = 256;
+
+  private static final long SWEEP_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+  @Autowired private MeterRegistry meterRegistry;
+
+  @Value("${mongo.commands.slowThresholdMillis:100}")
+  private long slowThresholdMillis;
+
+  @Value("${mongo.commands.slowLogSize:200}")
+  private int slowLogSize;
+
+  @Value("${mongo.commands.abandonAfterSeconds:600}")
+  private long abandonAfterSeconds;
+
+  private final Map<Integer, StartedCommand> inFlight = new ConcurrentHashMap<>();
+
+  private SlowCommand[] slowLog;
+  private int slowLogNext;
+  private Counter abandoned;
+  private volatile long lastSweepNanos = System.nanoTime();
+
+  @PostConstruct
+  public void init() {
+    slowLog = new SlowCommand[slowLogSize];
+    abandoned = meterRegistry.counter("mongo.commands.abandoned");
+  }
+
+  public void commandStarted(CommandStartedEvent event) {
+    long now = System.nanoTime();
+    inFlight.put(
+        event.getRequestId(),
+        new StartedCommand(
+            event.getDatabaseName(), event.getCommandName(), event.getCommand(), now));
+    if (now - lastSweepNanos > SWEEP_INTERVAL_NANOS) {
+      lastSweepNanos = now;
+      sweep(now);
+    }
+  }
+
+  public void commandSucceeded(CommandSucceededEvent event) {
+    StartedCommand started = inFlight.remove(event.getRequestId());
+    if (started == null) {
+      return;
+    }
+    long replyBytes = replySize(event.getResponse());
+    if (replyBytes >= 0) {
+      DistributionSummary.builder("mongo.command.reply.size")
+          .baseUnit("bytes")
+          .tag("collection", started.collection)
+          .tag("command", event.getCommandName())
+          .publishPercentileHistogram()
+          .register(meterRegistry)
+          .record(replyBytes);
+    }
+    complete(
+        event.getCommandName(),
+        started,
+        event.getElapsedTime(TimeUnit.NANOSECONDS),
+        replyBytes,
+        null);
+  }
+
+  public void commandFailed(CommandFailedEvent event) {
+    StartedCommand started = inFlight.remove(event.getRequestId());
+    if (started == null) {
+      return;
+    }
+    complete(
+        event.getCommandName(),
+        started,
+        event.getElapsedTime(TimeUnit.NANOSECONDS),
+        -1,
+        event.getThrowable().getMessage());
+  }
+
+  /** Returns the recent slow commands, most recent first. */
+  public synchronized List<SlowCommand> getRecentSlowCommands() {
+    List<SlowCommand> commands = new ArrayList<>(slowLog.length);
+    for (int i = 1; i <= slowLog.length; i++) {
+      SlowCommand command = slowLog[Math.floorMod(slowLogNext - i, slowLog.length)];
+      if (command == null) {
+        break;
+      }
+      commands.add(command);
+    }
+    return commands;
+  }
+
+  public long getSlowThresholdMillis() {
+    return slowThresholdMillis;
+  }
+
+  /** Drops the commands started longer than {@code mongo.commands.abandonAfterSeconds} ago. */
+  private void sweep(long now) {
+    long abandonAfterNanos = TimeUnit.SECONDS.toNanos(abandonAfterSeconds);
+    inFlight
+        .values()
+        .removeIf(
+            started -> {
+              boolean abandon = now - started.startedNanos > abandonAfterNanos;
+              if (abandon) {
+                abandoned.increment();
+              }
+              return abandon;
+            });
+  }
+
+  private void complete(
+      String commandName,
+      StartedCommand started,
+      long elapsedNanos,
+      long replyBytes,
+      String error) {
+    Timer.builder("mongo.commands")
+        .tag("collection", started.collection)
+        .tag("command", commandName)
+        .tag("outcome", error == null ? "success" : "error")
+        .publishPercentileHistogram()
+        .register(meterRegistry)
+        .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+    double millis = elapsedNanos / 1_000_000.0;
+    if (millis < slowThresholdMillis || started.awaiting) {
+      return;
+    }
+    SlowCommand slow = new SlowCommand();
+    slow.setCompletedAt(System.currentTimeMillis());
+    slow.setDatabase(started.database);
+    slow.setCollection(started.collection);
+    slow.setCommand(commandName);
+    slow.setDurationMillis(millis);
+    slow.setReplyBytes(replyBytes >= 0 ? replyBytes : null);
+    slow.setShape(started.shape.toJson());
+    slow.setError(error);
+    logger.warn(
+        "Slow MongoDB command {} on {}.{} took {} ms, reply {} bytes: {}",
+        commandName,
+        started.database,
+        started.collection,
+        Math.round(millis),
+        replyBytes,
+        slow.getShape());
+    synchronized (this) {
+      slowLog[slowLogNext] = slow;
+      slowLogNext = (slowLogNext + 1) % slowLog.length;
+    }
+  }
+
+  private static String collection(String commandName, BsonDocument command) {
+    BsonValue target = command.get(commandName);
+    if ("getMore".equals(commandName)) {
+      target = command.get("collection");
+    }
+    return target != null && target.isString() ? target.asString().getValue() : "none";
+  }
+
+  /**
+   * Returns the command name and target with the normalised {@link #SHAPE_FIELDS}. The fields are
+   * looked up one by one, as iterating a command backed by the driver's buffer would decode all of
+   * it.
+   */
+  private static BsonDocument shape(String commandName, BsonDocument command) {
+    BsonDocument shape = new BsonDocument();
+    BsonValue target = command.get(commandName);
+    if (target != null) {
+      shape.put(commandName, target.isString() || target.isNumber() ? target : PLACEHOLDER);
+    }
+    int[] budget = {MAX_SHAPE_VALUES};
+    for (String field : SHAPE_FIELDS) {
+      BsonValue value = command.get(field);
+      if (value != null) {
+        shape.put(field, normalise(field, value, 0, budget));
+      }
+    }
+    return shape;
+  }
+
+  /**
+   * Replaces every value with {@code "?"}, keeping field names and operators. Arrays are reduced to
+   * their first element, so {@code $in} lists and bulk updates of any length share one shape.
+   *
+   * @param budget The number of values left to normalise for the command, shared by all calls.
+   */
+  private static BsonValue normalise(String key, BsonValue value, int depth, int[] budget) {
+    if (STRUCTURAL_FIELDS.contains(key) && depth == 0) {
+      return value;
+    }
+    if (depth >= MAX_SHAPE_DEPTH || --budget[0] < 0) {
+      return PLACEHOLDER;
+    }
+    if (value.isDocument()) {
+      BsonDocument normalised = new BsonDocument();
+      int fields = 0;
+      for (Map.Entry<String, BsonValue> field : value.asDocument().entrySet()) {
+        if (++fields > MAX_SHAPE_FIELDS) {
+          normalised.put("...", PLACEHOLDER);
+          break;
+        }
+        normalised.put(
+            field.getKey(), normalise(field.getKey(), field.getValue(), depth + 1, budget));
+      }
+      return normalised;
+    }
+    if (value.isArray()) {
+      BsonArray array = value.asArray();
+      BsonArray normalised = new BsonArray();
+      if (!array.isEmpty()) {
+        normalised.add(normalise(key, array.get(0), depth + 1, budget));
+      }
+      return normalised;
+    }
+    return PLACEHOLDER;
+  }
+
+  /**
+   * Returns the size of a reply in bytes. The driver decodes replies for listeners into raw BSON,
+   * whose size is read without a copy; -1 for any other document, rather than cloning it.
+   */
+  private static long replySize(BsonDocument response) {
+    return response instanceof RawBsonDocument
+        ? ((RawBsonDocument) response).getByteBuffer().remaining()
+        : -1;
+  }
+
+  /** What is kept of a command between its start and its completion. */
+  private static class StartedCommand {
+    private final String database;
+    private final String collection;
+    private final BsonDocument shape;
+    private final long startedNanos;
+
+    /** Awaiting getMores of tailable cursors, e.g. change streams, are slow by design. */
+    private final boolean awaiting;
+
+    StartedCommand(String database, String commandName, BsonDocument command, long startedNanos) {
+      this.database = database;
+      this.collection = collection(commandName, command);
+      this.shape = shape(commandName, command);
+      this.awaiting = "getMore".equals(commandName) && command.containsKey("maxTimeMS");
+      this.startedNanos = startedNanos;
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package io.respondnow.service.slack;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import com.slack.api.util.http.listener.HttpResponseListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Response;
+
+/**
+ * Times every Slack Web API call as {@code slack.api.requests{method,outcome,error}}, where the
+ * error is the Slack error code of a failed call or the HTTP status of a rejected one.
+ */
+public class SlackApiMetricsListener extends HttpResponseListener {
+
+  public static final String SLACK_API_REQUESTS = "slack.api.requests";
+
+  private final MeterRegistry meterRegistry;
+
+  public SlackApiMetricsListener(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public void accept(State state) {
+    Response response = state.getResponse();
+    String path = response.request().url().encodedPath();
+    String error =
+        response.isSuccessful()
+            ? slackError(state.getParsedResponseBody())
+            : "http_" + response.code();
+    Timer.builder(SLACK_API_REQUESTS)
+        .tag("method", path.substring(path.lastIndexOf('/') + 1))
+        .tag("outcome", error == null ? "success" : "error")
+        .tag("error", error == null ? "none" : error)
+        .register(meterRegistry)
+        .record(
+            Math.max(0, response.receivedResponseAtMillis() - response.sentRequestAtMillis()),
+            TimeUnit.MILLISECONDS);
+  }
+
+  /** Returns the error code of a response with {@code "ok": false}, otherwise null. */
+  private static String slackError(String body) {
+    if (body == null || !body.startsWith("{")) {
+      return null;
+    }
+    try {
+      JsonObject json = JsonParser.parseString(body).getAsJsonObject();
+      JsonElement ok = json.get("ok");
+      if (ok == null || ok.getAsBoolean()) {
+        return null;
+      }
+      JsonElement error = json.get("error");
+      return error != null ? error.getAsString() : "unknown";
+    } catch (JsonSyntaxException | IllegalStateException e) {
+      return null;
+    }
+  }
+}
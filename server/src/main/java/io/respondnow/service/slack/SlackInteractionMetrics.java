@@ -0,0 +1,66 @@
+package io.respondnow.service.slack;
+
+import com.slack.api.bolt.middleware.Middleware;
+import com.slack.api.bolt.middleware.MiddlewareChain;
+import com.slack.api.bolt.request.Request;
+import com.slack.api.bolt.request.builtin.BlockActionRequest;
+import com.slack.api.bolt.request.builtin.EventRequest;
+import com.slack.api.bolt.request.builtin.GlobalShortcutRequest;
+import com.slack.api.bolt.request.builtin.ViewSubmissionRequest;
+import com.slack.api.bolt.response.Response;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Bolt middleware timing every Slack interaction as {@code
+ * slack.interactions{type,handler,outcome}}. The handler is the callback id of a view submission or
+ * shortcut, the action id of a block action and the type of an event.
+ */
+public class SlackInteractionMetrics implements Middleware {
+
+  public static final String SLACK_INTERACTIONS = "slack.interactions";
+
+  private final MeterRegistry meterRegistry;
+
+  public SlackInteractionMetrics(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public Response apply(Request req, Response resp, MiddlewareChain chain) throws Exception {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    String outcome = "error";
+    try {
+      Response response = chain.next(req);
+      if (response != null && response.getStatusCode() < 400) {
+        outcome = "success";
+      }
+      return response;
+    } finally {
+      sample.stop(
+          Timer.builder(SLACK_INTERACTIONS)
+              .tag("type", String.valueOf(req.getRequestType()))
+              .tag("handler", handler(req))
+              .tag("outcome", outcome)
+              .register(meterRegistry));
+    }
+  }
+
+  private static String handler(Request<?> req) {
+    String handler = null;
+    if (req instanceof ViewSubmissionRequest) {
+      handler = ((ViewSubmissionRequest) req).getPayload().getView().getCallbackId();
+    } else if (req instanceof BlockActionRequest) {
+      BlockActionRequest blockAction = (BlockActionRequest) req;
+      if (blockAction.getPayload().getActions() != null
+          && !blockAction.getPayload().getActions().isEmpty()) {
+        handler = blockAction.getPayload().getActions().get(0).getActionId();
+      }
+    } else if (req instanceof GlobalShortcutRequest) {
+      handler = ((GlobalShortcutRequest) req).getPayload().getCallbackId();
+    } else if (req instanceof EventRequest) {
+      handler = ((EventRequest) req).getEventType();
+    }
+    return handler != null ? handler : "none";
+  }
+}
@@ -3,6 +3,7 @@ package io.respondnow.service.slack;
 import static io.respondnow.model.incident.ChannelStatus.Operational;
 
 import com.slack.api.Slack;
+import com.slack.api.SlackConfig;
 import com.slack.api.app_backend.views.payload.ViewSubmissionPayload;
 import com.slack.api.bolt.App;
 import com.slack.api.bolt.AppConfig;
@@ -39,6 +40,7 @@ import com.slack.api.model.event.AppMentionEvent;
 import com.slack.api.model.event.MemberJoinedChannelEvent;
 import com.slack.api.model.view.*;
 import com.slack.api.socket_mode.SocketModeClient;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.respondnow.dto.incident.CreateRequest;
 import io.respondnow.exception.RoleUpdateException;
 import io.respondnow.model.incident.*;
@@ -88,7 +90,8 @@ public class SlackServiceImpl implements SlackService {
   public SlackServiceImpl(
       @Value("${slack.botToken}") String botToken,
       @Value("${slack.appToken}") String appToken,
-      @Value("${slack.incidentChannelID}") String incidentChannelID)
+      @Value("${slack.incidentChannelID}") String incidentChannelID,
+      MeterRegistry meterRegistry)
       throws Exception {
     if (botToken == null || appToken == null || incidentChannelID == null) {
       throw new IllegalArgumentException(
@@ -98,11 +101,17 @@ public class SlackServiceImpl implements SlackService {
     this.appToken = appToken;
     this.incidentChannelID = incidentChannelID;
 
-    AppConfig appConfig = AppConfig.builder().singleTeamBotToken(botToken).build();
+    // Every Web API call made through the client, including by Bolt, is timed per method
+    SlackConfig slackConfig = new SlackConfig();
+    slackConfig.getHttpClientResponseHandlers().add(new SlackApiMetricsListener(meterRegistry));
+    this.slackClient = Slack.getInstance(slackConfig);
+
+    AppConfig appConfig =
+        AppConfig.builder().singleTeamBotToken(botToken).slack(this.slackClient).build();
     this.slackApp = new App(appConfig);
+    this.slackApp.use(new SlackInteractionMetrics(meterRegistry));
     this.socketModeApp = new SocketModeApp(this.appToken, this.slackApp);
     this.socketModeApp.getClient();
-    this.slackClient = Slack.getInstance();
     this.socketModeSlackClient = socketModeApp.getClient();
     this.executorService = Executors.newCachedThreadPool();
 
@@ -1291,7 +1300,7 @@ public class SlackServiceImpl implements SlackService {
       logger.info("Creating incident with the provided details.");
 
       long createdAt = Instant.now().getEpochSecond();
-      String incidentId = incidentService.generateIncidentIdentifier(createdAt);
+      String incidentId = incidentService.generateIncidentIdentifier();
 
       Slack slackClient = getSlackClient();
       // Create Slack channel using conversations.create
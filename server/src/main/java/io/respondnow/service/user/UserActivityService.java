@@ -0,0 +1,7 @@
+package io.respondnow.service.user;
+
+public interface UserActivityService {
+  void recordLogin(String id, long loggedInAt);
+
+  void flush();
+}
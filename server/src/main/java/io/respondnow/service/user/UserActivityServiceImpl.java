@@ -0,0 +1,124 @@
+package io.respondnow.service.user;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.respondnow.model.user.User;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * Write-behind buffer of user bookkeeping. Logins only record their time in memory, coalesced per
+ * user, and a background thread writes them every {@code user.activity.flushIntervalMillis} in one
+ * unordered bulk write that touches nothing but {@code lastLoginAt}. Pending times are written on
+ * shutdown; a failed write is retried with the next flush.
+ */
+@Service
+public class UserActivityServiceImpl implements UserActivityService {
+
+  private static final Logger logger = LoggerFactory.getLogger(UserActivityServiceImpl.class);
+
+  @Autowired private MongoTemplate mongoTemplate;
+  @Autowired private MeterRegistry meterRegistry;
+
+  @Value("${user.activity.flushIntervalMillis:5000}")
+  private long flushIntervalMillis;
+
+  @Value("${user.activity.maxPending:10000}")
+  private int maxPending;
+
+  /** The latest login time of every user with a login not written yet, by user _id. */
+  private final Map<String, Long> pendingLogins = new ConcurrentHashMap<>();
+
+  private final AtomicBoolean earlyFlushQueued = new AtomicBoolean();
+
+  private ScheduledExecutorService flusher;
+  private Counter flushed;
+  private Counter failures;
+
+  @PostConstruct
+  public void init() {
+    flushed = meterRegistry.counter("user.activity.flushed");
+    failures = meterRegistry.counter("user.activity.flush.failures");
+    meterRegistry.gaugeMapSize("user.activity.pending", List.of(), pendingLogins);
+
+    flusher =
+        Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("user-activity-"));
+    flusher.scheduleWithFixedDelay(
+        this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    flusher.shutdown();
+    flusher.awaitTermination(flushIntervalMillis, TimeUnit.MILLISECONDS);
+    flush();
+  }
+
+  public void recordLogin(String id, long loggedInAt) {
+    pendingLogins.merge(id, loggedInAt, Math::max);
+    if (pendingLogins.size() >= maxPending && earlyFlushQueued.compareAndSet(false, true)) {
+      // Write early rather than let a login burst grow the buffer
+      try {
+        flusher.execute(
+            () -> {
+              earlyFlushQueued.set(false);
+              flush();
+            });
+      } catch (RejectedExecutionException e) {
+        // Shutting down, the pending logins are written by the final flush
+        earlyFlushQueued.set(false);
+      }
+    }
+  }
+
+  /** Writes the pending login times, keeping them for the next flush if the write fails. */
+  public synchronized void flush() {
+    if (pendingLogins.isEmpty()) {
+      return;
+    }
+    List<Map.Entry<String, Long>> logins = new ArrayList<>(pendingLogins.size());
+    for (String id : pendingLogins.keySet()) {
+      Long loggedInAt = pendingLogins.remove(id);
+      if (loggedInAt != null) {
+        logins.add(Map.entry(id, loggedInAt));
+      }
+    }
+
+    BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+    for (Map.Entry<String, Long> login : logins) {
+      // $max, so a late flush from another node never moves lastLoginAt back
+      ops.updateOne(
+          new Query(Criteria.where("_id").is(login.getKey())),
+          new Update().max("lastLoginAt", login.getValue()));
+    }
+    try {
+      ops.execute();
+      flushed.increment(logins.size());
+    } catch (RuntimeException e) {
+      // Also keeps an unexpected failure from cancelling the scheduled flushes
+      failures.increment();
+      logger.warn("Failed to write the login times of {} users: {}", logins.size(), e.getMessage());
+      logins.forEach(login -> pendingLogins.merge(login.getKey(), login.getValue(), Math::max));
+    }
+  }
+}
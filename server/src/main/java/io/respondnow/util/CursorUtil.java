@@ -0,0 +1,40 @@
+package io.respondnow.util;
+
+import io.respondnow.exception.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/** Encodes and decodes the opaque cursors handed out by cursor-paginated APIs. */
+public final class CursorUtil {
+  private static final String SEPARATOR = ":";
+
+  private CursorUtil() {
+    throw new UnsupportedOperationException("Utility class cannot be instantiated.");
+  }
+
+  public static String encode(Object... parts) {
+    StringBuilder raw = new StringBuilder();
+    for (int i = 0; i < parts.length; i++) {
+      if (i > 0) {
+        raw.append(SEPARATOR);
+      }
+      raw.append(parts[i]);
+    }
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static String[] decode(String cursor, int expectedParts) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      String[] parts = raw.split(SEPARATOR, -1);
+      if (parts.length != expectedParts) {
+        throw new BadRequestException("Invalid cursor: " + cursor);
+      }
+      return parts;
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException("Invalid cursor: " + cursor);
+    }
+  }
+}
@@ -0,0 +1,72 @@
+package io.respondnow.util;
+
+import io.respondnow.model.incident.Incident;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Builds the entity tags of incident resources and evaluates {@code If-None-Match} against them.
+ */
+public final class ETagUtil {
+
+  private ETagUtil() {
+    throw new UnsupportedOperationException("Utility class cannot be instantiated.");
+  }
+
+  /**
+   * Returns the strong entity tag of an incident. Every write bumps the version and sets updatedAt,
+   * so the tag changes whenever the stored incident does.
+   */
+  public static String forIncident(Incident incident) {
+    return "\""
+        + (incident.getVersion() != null ? incident.getVersion() : 0)
+        + "-"
+        + (incident.getUpdatedAt() != null ? incident.getUpdatedAt() : 0)
+        + "\"";
+  }
+
+  /**
+   * Returns the strong entity tag of a list of incidents, derived from the tags of the incidents
+   * and any other state of the response such as totals and cursors.
+   */
+  public static String forIncidents(List<Incident> incidents, Object... state) {
+    StringBuilder raw = new StringBuilder();
+    for (Incident incident : incidents) {
+      raw.append(incident.getId()).append(forIncident(incident)).append(',');
+    }
+    for (Object part : state) {
+      raw.append('|').append(part);
+    }
+    try {
+      byte[] digest =
+          MessageDigest.getInstance("SHA-256")
+              .digest(raw.toString().getBytes(StandardCharsets.UTF_8));
+      return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  /** Whether an {@code If-None-Match} header matches an entity tag, using weak comparison. */
+  public static boolean matches(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null || etag == null) {
+      return false;
+    }
+    for (String candidate : ifNoneMatch.split(",")) {
+      String tag = candidate.trim();
+      if (tag.equals("*")) {
+        return true;
+      }
+      if (tag.startsWith("W/")) {
+        tag = tag.substring(2);
+      }
+      if (tag.equals(etag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -1,27 +1,60 @@
 package io.respondnow.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.nio.charset.StandardCharsets;
-import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import javax.annotation.PostConstruct;
 import javax.crypto.SecretKey;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+/**
+ * Issues and verifies JWTs. Verified claims are cached by the SHA-256 digest of their token until
+ * the token expires, so a token presented on every request is only parsed and HMAC-verified once;
+ * the least recently used tokens are evicted once {@code jwt.cache.maxSize} is reached.
+ */
 @Component
 public class JWTUtil {
 
+  @Autowired private MeterRegistry meterRegistry;
+
   @Value("${jwt.secret}")
   private String secretKey;
 
   @Value("${jwt.expiration:86400}")
   private long expirationTime;
 
-  private Key getSigningKey() {
-    return Keys.hmacShaKeyFor(secretKey.getBytes());
+  @Value("${jwt.cache.maxSize:10000}")
+  private int cacheMaxSize;
+
+  private SecretKey signingKey;
+  private JwtParser parser;
+
+  private final LinkedHashMap<String, Claims> verified = new LinkedHashMap<>(16, 0.75f, true);
+
+  private Counter hits;
+  private Counter misses;
+
+  @PostConstruct
+  public void init() {
+    signingKey = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+    parser = Jwts.parser().verifyWith(signingKey).build();
+    hits = meterRegistry.counter("jwt.cache.requests", "result", "hit");
+    misses = meterRegistry.counter("jwt.cache.requests", "result", "miss");
+    meterRegistry.gauge("jwt.cache.entries", this, util -> util.size());
   }
 
   // Generate JWT Token
@@ -34,14 +67,49 @@ public class JWTUtil {
         .setIssuedAt(new Date())
         .setExpiration(
             new Date(System.currentTimeMillis() + expirationTime * 1000)) // Convert to milliseconds
-        .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+        .signWith(signingKey, SignatureAlgorithm.HS256)
         .compact();
   }
 
+  /**
+   * Verifies a token and returns its claims, from the cache when the token was verified before.
+   *
+   * @param token The compact JWT.
+   * @return The claims of the token, or null when it is malformed, not signed by this server or
+   *     expired.
+   */
+  public Claims verifyToken(String token) {
+    String digest = digest(token);
+    long now = System.currentTimeMillis();
+    synchronized (verified) {
+      Claims cached = verified.get(digest);
+      if (cached != null) {
+        if (cached.getExpiration().getTime() > now) {
+          hits.increment();
+          return cached;
+        }
+        verified.remove(digest);
+      }
+    }
+    misses.increment();
+
+    Claims claims;
+    try {
+      // Also rejects expired tokens
+      claims = parser.parseSignedClaims(token).getPayload();
+    } catch (JwtException | IllegalArgumentException e) {
+      return null;
+    }
+    if (claims.getExpiration() != null && cacheMaxSize > 0) {
+      put(digest, claims);
+    }
+    return claims;
+  }
+
   // Validate JWT Token
   public boolean validateToken(String token, String username) {
-    String usernameFromToken = getUsernameFromToken(token);
-    return (usernameFromToken.equals(username) && !isTokenExpired(token));
+    Claims claims = verifyToken(token);
+    return claims != null && claims.getSubject().equals(username);
   }
 
   // Extract username from JWT token
@@ -58,9 +126,34 @@ public class JWTUtil {
 
   // Extract claims from JWT token
   private Claims getClaimsFromToken(String token) {
-    byte[] keyBytes = secretKey.getBytes(StandardCharsets.UTF_8); // Convert the secret to bytes
-    SecretKey key = Keys.hmacShaKeyFor(keyBytes);
+    return parser.parseSignedClaims(token).getPayload();
+  }
+
+  private void put(String digest, Claims claims) {
+    synchronized (verified) {
+      verified.put(digest, claims);
+      // Expired tokens are not used anymore, so they are the first to become the eldest
+      Iterator<Claims> eldest = verified.values().iterator();
+      while (verified.size() > cacheMaxSize && eldest.hasNext()) {
+        eldest.next();
+        eldest.remove();
+      }
+    }
+  }
+
+  private int size() {
+    synchronized (verified) {
+      return verified.size();
+    }
+  }
 
-    return Jwts.parser().setSigningKey(key).build().parseClaimsJws(token).getBody();
+  private static String digest(String token) {
+    try {
+      MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+      return Base64.getEncoder()
+          .encodeToString(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
   }
 }
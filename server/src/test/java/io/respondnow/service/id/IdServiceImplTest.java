@@ -0,0 +1,170 @@
+package io.respondnow.service.id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.respondnow.model.id.Sequence;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class IdServiceImplTest {
+
+  private static final int BLOCK_SIZE = 100;
+
+  @Mock private MongoTemplate mongoTemplate;
+  @InjectMocks private IdServiceImpl idService;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(idService, "nodeId", 7L);
+    ReflectionTestUtils.setField(idService, "blockSize", BLOCK_SIZE);
+    idService.init();
+  }
+
+  @Test
+  void idsAreThirteenCrockfordCharacters() {
+    assertThat(idService.nextId()).matches("[0-9A-HJKMNP-TV-Z]{13}");
+  }
+
+  @Test
+  void idsIncreaseAsStringsEvenBeyondTheCounterOfAMillisecond() {
+    // More IDs than fit in the 12 bit counter of a single millisecond
+    List<String> ids = new ArrayList<>();
+    for (int i = 0; i < 20_000; i++) {
+      ids.add(idService.nextId());
+    }
+
+    for (int i = 1; i < ids.size(); i++) {
+      assertThat(ids.get(i)).isGreaterThan(ids.get(i - 1));
+    }
+  }
+
+  @Test
+  void idsAreUniqueAcrossThreads() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    Set<String> ids = ConcurrentHashMap.newKeySet();
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < 8; t++) {
+      futures.add(
+          executor.submit(
+              () -> {
+                for (int i = 0; i < 5_000; i++) {
+                  ids.add(idService.nextId());
+                }
+              }));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    executor.shutdown();
+
+    assertThat(ids).hasSize(40_000);
+  }
+
+  @Test
+  void idsOfDifferentNodesDiffer() {
+    IdServiceImpl other = new IdServiceImpl();
+    ReflectionTestUtils.setField(other, "nodeId", 8L);
+    other.init();
+
+    Set<String> ids = new HashSet<>();
+    for (int i = 0; i < 1_000; i++) {
+      ids.add(idService.nextId());
+      ids.add(other.nextId());
+    }
+
+    assertThat(ids).hasSize(2_000);
+  }
+
+  @Test
+  void rejectsANodeIdOutOfRange() {
+    IdServiceImpl invalid = new IdServiceImpl();
+    ReflectionTestUtils.setField(invalid, "nodeId", 1024L);
+
+    assertThatThrownBy(invalid::init).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void sequenceNumbersAreDrawnFromBlocks() {
+    AtomicLong counter = new AtomicLong();
+    when(mongoTemplate.findAndModify(
+            any(Query.class),
+            any(Update.class),
+            any(FindAndModifyOptions.class),
+            eq(Sequence.class)))
+        .thenAnswer(invocation -> sequence(counter.addAndGet(BLOCK_SIZE)));
+
+    List<Long> numbers = new ArrayList<>();
+    for (int i = 0; i < 250; i++) {
+      numbers.add(idService.nextSequence("incidentNumber:account"));
+    }
+
+    for (int i = 0; i < numbers.size(); i++) {
+      assertThat(numbers.get(i)).isEqualTo(i + 1L);
+    }
+    verify(mongoTemplate, times(3))
+        .findAndModify(
+            any(Query.class),
+            any(Update.class),
+            any(FindAndModifyOptions.class),
+            eq(Sequence.class));
+  }
+
+  @Test
+  void sequencesAreIndependent() {
+    when(mongoTemplate.findAndModify(
+            any(Query.class),
+            any(Update.class),
+            any(FindAndModifyOptions.class),
+            eq(Sequence.class)))
+        .thenReturn(sequence(BLOCK_SIZE));
+
+    assertThat(idService.nextSequence("a")).isEqualTo(1);
+    assertThat(idService.nextSequence("b")).isEqualTo(1);
+    assertThat(idService.nextSequence("a")).isEqualTo(2);
+  }
+
+  @Test
+  void sequenceCreatedConcurrentlyIsIncrementedAgain() {
+    when(mongoTemplate.findAndModify(
+            any(Query.class),
+            any(Update.class),
+            any(FindAndModifyOptions.class),
+            eq(Sequence.class)))
+        .thenThrow(new DuplicateKeyException("E11000"))
+        .thenReturn(sequence(2L * BLOCK_SIZE));
+
+    assertThat(idService.nextSequence("incidentNumber:account")).isEqualTo(BLOCK_SIZE + 1L);
+  }
+
+  private static Sequence sequence(long value) {
+    Sequence sequence = new Sequence();
+    sequence.setValue(value);
+    return sequence;
+  }
+}
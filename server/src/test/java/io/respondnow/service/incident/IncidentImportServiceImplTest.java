@@ -0,0 +1,188 @@
+package io.respondnow.service.incident;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.respondnow.model.incident.BulkItemResult;
+import io.respondnow.model.incident.BulkItemStatus;
+import io.respondnow.model.incident.BulkResult;
+import io.respondnow.model.incident.ImportStatus;
+import io.respondnow.model.incident.Incident;
+import io.respondnow.model.incident.IncidentImport;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class IncidentImportServiceImplTest {
+
+  private static final String ACCOUNT = "account";
+
+  @Mock private IncidentService incidentService;
+  @Mock private MongoTemplate mongoTemplate;
+  @Spy private ObjectMapper objectMapper = new ObjectMapper();
+  @InjectMocks private IncidentImportServiceImpl importService;
+
+  /** The checkpoint of every saved progress, in order. */
+  private final List<Long> savedCheckpoints = new ArrayList<>();
+
+  /** The names of the incidents of every written batch, in order. */
+  private final List<List<String>> writtenBatches = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(importService, "batchSize", 2);
+    ReflectionTestUtils.setField(importService, "pipelineDepth", 1);
+    ReflectionTestUtils.setField(importService, "writeThreads", 1);
+    ReflectionTestUtils.setField(importService, "maxReportedErrors", 10);
+    ReflectionTestUtils.setField(importService, "staleAfterSeconds", 300L);
+    importService.init();
+
+    when(mongoTemplate.insert(any(IncidentImport.class)))
+        .thenAnswer(
+            invocation -> {
+              IncidentImport incidentImport = invocation.getArgument(0);
+              incidentImport.setId("import-1");
+              return incidentImport;
+            });
+    doAnswer(
+            invocation -> {
+              savedCheckpoints.add(((IncidentImport) invocation.getArgument(0)).getCheckpoint());
+              return invocation.getArgument(0);
+            })
+        .when(mongoTemplate)
+        .save(any(IncidentImport.class));
+    when(incidentService.bulkProcessIncidents(anyList(), anyList()))
+        .thenAnswer(invocation -> created(invocation.getArgument(0)));
+  }
+
+  @AfterEach
+  void tearDown() {
+    importService.shutdown();
+  }
+
+  @Test
+  void checkpointFollowsEveryWrittenBatch() {
+    IncidentImport result = importService.importIncidents(ACCOUNT, null, input(0, 1, 2, 3, 4));
+
+    assertThat(result.getStatus()).isEqualTo(ImportStatus.Completed);
+    assertThat(result.getCreated()).isEqualTo(5);
+    assertThat(result.getCheckpoint()).isEqualTo(5);
+    assertThat(savedCheckpoints).containsExactly(2L, 4L, 5L, 5L);
+    assertThat(writtenBatches)
+        .containsExactly(List.of("n0", "n1"), List.of("n2", "n3"), List.of("n4"));
+  }
+
+  @Test
+  void blankLinesAreNotRecords() {
+    String ndjson = line(0) + "\n\n" + line(1) + "\n   \n" + line(2) + "\n";
+
+    IncidentImport result = importService.importIncidents(ACCOUNT, null, stream(ndjson));
+
+    assertThat(result.getCheckpoint()).isEqualTo(3);
+    assertThat(savedCheckpoints).containsExactly(2L, 3L, 3L);
+  }
+
+  @Test
+  void invalidRecordsAreReportedWithTheirRecordNumber() {
+    String ndjson = line(0) + "\n{not json\n" + line(2) + "\n";
+
+    IncidentImport result = importService.importIncidents(ACCOUNT, null, stream(ndjson));
+
+    assertThat(result.getCreated()).isEqualTo(2);
+    assertThat(result.getValidationFailed()).isEqualTo(1);
+    assertThat(result.getErrors()).extracting(BulkItemResult::getIndex).containsExactly(1);
+    assertThat(result.getCheckpoint()).isEqualTo(3);
+    assertThat(writtenBatches).containsExactly(List.of("n0"), List.of("n2"));
+  }
+
+  @Test
+  void resumedImportSkipsTheRecordsBeforeItsCheckpoint() {
+    IncidentImport existing = new IncidentImport();
+    existing.setId("import-1");
+    existing.setAccountIdentifier(ACCOUNT);
+    existing.setStatus(ImportStatus.Failed);
+    existing.setCheckpoint(3);
+    existing.setCreated(3);
+    when(mongoTemplate.findById("import-1", IncidentImport.class)).thenReturn(existing);
+    when(mongoTemplate.findAndModify(
+            any(Query.class),
+            any(Update.class),
+            any(FindAndModifyOptions.class),
+            eq(IncidentImport.class)))
+        .thenReturn(existing);
+
+    IncidentImport result =
+        importService.importIncidents(ACCOUNT, "import-1", input(0, 1, 2, 3, 4));
+
+    assertThat(writtenBatches).containsExactly(List.of("n3", "n4"));
+    assertThat(result.getCheckpoint()).isEqualTo(5);
+    assertThat(result.getCreated()).isEqualTo(5);
+  }
+
+  @Test
+  void failedWriteKeepsTheCheckpointBeforeItsBatch() {
+    when(incidentService.bulkProcessIncidents(anyList(), anyList()))
+        .thenAnswer(invocation -> created(invocation.getArgument(0)))
+        .thenThrow(new IllegalStateException("write failed"));
+
+    IncidentImport result = importService.importIncidents(ACCOUNT, null, input(0, 1, 2, 3, 4));
+
+    assertThat(result.getStatus()).isEqualTo(ImportStatus.Failed);
+    assertThat(result.getCheckpoint()).isEqualTo(2);
+    assertThat(result.getCreated()).isEqualTo(2);
+  }
+
+  private BulkResult created(List<Incident> incidents) {
+    synchronized (writtenBatches) {
+      writtenBatches.add(incidents.stream().map(Incident::getName).collect(Collectors.toList()));
+    }
+    BulkResult result = new BulkResult();
+    for (int i = 0; i < incidents.size(); i++) {
+      result.addItem(
+          new BulkItemResult(
+              i, null, incidents.get(i).getIdentifier(), BulkItemStatus.Created, null),
+          true);
+    }
+    return result;
+  }
+
+  private static ByteArrayInputStream input(int... records) {
+    StringBuilder ndjson = new StringBuilder();
+    for (int record : records) {
+      ndjson.append(line(record)).append('\n');
+    }
+    return stream(ndjson.toString());
+  }
+
+  private static String line(int record) {
+    return "{\"name\":\"n" + record + "\",\"identifier\":\"i" + record + "\"}";
+  }
+
+  private static ByteArrayInputStream stream(String ndjson) {
+    return new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8));
+  }
+}
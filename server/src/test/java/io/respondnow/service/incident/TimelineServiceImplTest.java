@@ -0,0 +1,116 @@
+package io.respondnow.service.incident;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.respondnow.model.api.CursorPage;
+import io.respondnow.model.incident.Timeline;
+import io.respondnow.model.incident.TimelineBucket;
+import io.respondnow.util.CursorUtil;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class TimelineServiceImplTest {
+
+  private static final int BUCKET_SIZE = 3;
+
+  @Test
+  void firstPageStartsWithTheNewestEntries() {
+    List<TimelineBucket> buckets = buckets(7);
+
+    CursorPage<Timeline> page = listPage(buckets, null, 2);
+
+    assertThat(ids(page)).containsExactly("e6", "e5");
+    assertThat(page.getNextCursor()).isNotNull();
+  }
+
+  @Test
+  void cursorsWalkEveryEntryOnceAcrossBuckets() {
+    List<TimelineBucket> buckets = buckets(10);
+
+    for (int limit = 1; limit <= 11; limit++) {
+      List<String> seen = new ArrayList<>();
+      String cursor = null;
+      do {
+        CursorPage<Timeline> page = listPage(buckets, cursor, limit);
+        assertThat(page.getContent()).hasSizeLessThanOrEqualTo(limit);
+        seen.addAll(ids(page));
+        cursor = page.getNextCursor();
+      } while (cursor != null);
+
+      assertThat(seen)
+          .as("limit %d", limit)
+          .containsExactly("e9", "e8", "e7", "e6", "e5", "e4", "e3", "e2", "e1", "e0");
+    }
+  }
+
+  @Test
+  void exhaustedTimelineHasNoNextCursor() {
+    CursorPage<Timeline> page = listPage(buckets(2), null, 20);
+
+    assertThat(ids(page)).containsExactly("e1", "e0");
+    assertThat(page.getNextCursor()).isNull();
+  }
+
+  @Test
+  void emptyTimelineHasNoNextCursor() {
+    CursorPage<Timeline> page = listPage(List.of(), null, 20);
+
+    assertThat(page.getContent()).isEmpty();
+    assertThat(page.getNextCursor()).isNull();
+  }
+
+  @Test
+  void cursorAtTheStartOfABucketContinuesInTheOlderOne() {
+    List<TimelineBucket> buckets = buckets(6);
+
+    CursorPage<Timeline> page = listPage(buckets, CursorUtil.encode(1, 0), 2);
+
+    assertThat(ids(page)).containsExactly("e2", "e1");
+  }
+
+  /** Mirrors the bucket query of {@code listTimeline} over an in-memory collection. */
+  private static CursorPage<Timeline> listPage(
+      List<TimelineBucket> buckets, String cursor, int limit) {
+    Integer cursorSeq = null;
+    int cursorOffset = 0;
+    if (cursor != null) {
+      String[] parts = CursorUtil.decode(cursor, 2);
+      cursorSeq = Integer.parseInt(parts[0]);
+      cursorOffset = Integer.parseInt(parts[1]);
+    }
+    Integer maxSeq = cursorSeq;
+    int bucketLimit = limit / BUCKET_SIZE + 2;
+    List<TimelineBucket> matching =
+        buckets.stream()
+            .filter(bucket -> maxSeq == null || bucket.getSeq() <= maxSeq)
+            .sorted(Comparator.comparing(TimelineBucket::getSeq).reversed())
+            .limit(bucketLimit)
+            .collect(Collectors.toList());
+    return TimelineServiceImpl.page(
+        matching, cursorSeq, cursorOffset, limit, matching.size() == bucketLimit);
+  }
+
+  /** Returns {@code entries} timeline entries e0, e1, ... in full buckets of {@code BUCKET_SIZE}. */
+  private static List<TimelineBucket> buckets(int entries) {
+    List<TimelineBucket> buckets = new ArrayList<>();
+    for (int i = 0; i < entries; i++) {
+      if (i % BUCKET_SIZE == 0) {
+        TimelineBucket bucket = new TimelineBucket();
+        bucket.setSeq(i / BUCKET_SIZE);
+        bucket.setEntries(new ArrayList<>());
+        buckets.add(bucket);
+      }
+      Timeline timeline = new Timeline();
+      timeline.setId("e" + i);
+      buckets.get(buckets.size() - 1).getEntries().add(timeline);
+    }
+    return buckets;
+  }
+
+  private static List<String> ids(CursorPage<Timeline> page) {
+    return page.getContent().stream().map(Timeline::getId).collect(Collectors.toList());
+  }
+}
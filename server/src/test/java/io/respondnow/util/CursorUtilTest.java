@@ -0,0 +1,55 @@
+package io.respondnow.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.respondnow.exception.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.junit.jupiter.api.Test;
+
+class CursorUtilTest {
+
+  @Test
+  void decodesTheEncodedParts() {
+    String cursor = CursorUtil.encode(1700000000L, "65a1f0c2e4b0a1b2c3d4e5f6", 7);
+
+    assertThat(CursorUtil.decode(cursor, 3))
+        .containsExactly("1700000000", "65a1f0c2e4b0a1b2c3d4e5f6", "7");
+  }
+
+  @Test
+  void keepsEmptyParts() {
+    assertThat(CursorUtil.decode(CursorUtil.encode("", 3), 2)).containsExactly("", "3");
+  }
+
+  @Test
+  void isUrlSafe() {
+    String cursor = CursorUtil.encode("??>>", "~~~");
+
+    assertThat(cursor).doesNotContain("+", "/", "=");
+  }
+
+  @Test
+  void rejectsAWrongNumberOfParts() {
+    String cursor = CursorUtil.encode(1, 2);
+
+    assertThatThrownBy(() -> CursorUtil.decode(cursor, 3)).isInstanceOf(BadRequestException.class);
+  }
+
+  @Test
+  void rejectsInvalidBase64() {
+    assertThatThrownBy(() -> CursorUtil.decode("not base64!", 2))
+        .isInstanceOf(BadRequestException.class);
+  }
+
+  @Test
+  void rejectsAPartContainingTheSeparator() {
+    String cursor =
+        Base64.getUrlEncoder()
+            .withoutPadding()
+            .encodeToString("1:2:3".getBytes(StandardCharsets.UTF_8));
+
+    assertThatThrownBy(() -> CursorUtil.decode(cursor, 2)).isInstanceOf(BadRequestException.class);
+  }
+}
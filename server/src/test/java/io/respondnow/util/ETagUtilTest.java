@@ -0,0 +1,78 @@
+package io.respondnow.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.respondnow.model.incident.Incident;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ETagUtilTest {
+
+  @Test
+  void incidentTagFollowsVersionAndUpdatedAt() {
+    assertThat(ETagUtil.forIncident(incident("a", 3L, 1700000000L))).isEqualTo("\"3-1700000000\"");
+    assertThat(ETagUtil.forIncident(incident("a", null, null))).isEqualTo("\"0-0\"");
+  }
+
+  @Test
+  void incidentTagChangesWithEveryWrite() {
+    String before = ETagUtil.forIncident(incident("a", 3L, 1700000000L));
+
+    assertThat(ETagUtil.forIncident(incident("a", 4L, 1700000000L))).isNotEqualTo(before);
+    assertThat(ETagUtil.forIncident(incident("a", 3L, 1700000001L))).isNotEqualTo(before);
+  }
+
+  @Test
+  void listTagDependsOnTheIncidentsAndTheirOrder() {
+    Incident a = incident("a", 1L, 10L);
+    Incident b = incident("b", 1L, 10L);
+    String tag = ETagUtil.forIncidents(List.of(a, b), 1, 20);
+
+    assertThat(ETagUtil.forIncidents(List.of(a, b), 1, 20)).isEqualTo(tag);
+    assertThat(ETagUtil.forIncidents(List.of(b, a), 1, 20)).isNotEqualTo(tag);
+    assertThat(ETagUtil.forIncidents(List.of(a, incident("b", 2L, 11L)), 1, 20)).isNotEqualTo(tag);
+  }
+
+  @Test
+  void listTagDependsOnTheResponseState() {
+    List<Incident> incidents = List.of(incident("a", 1L, 10L));
+
+    assertThat(ETagUtil.forIncidents(incidents, 1, 20, 5L))
+        .isNotEqualTo(ETagUtil.forIncidents(incidents, 1, 20, 6L));
+    assertThat(ETagUtil.forIncidents(incidents, 1, 20, null))
+        .isNotEqualTo(ETagUtil.forIncidents(incidents, 1, 20, "cursor"));
+  }
+
+  @Test
+  void listTagIsAQuotedUrlSafeDigest() {
+    assertThat(ETagUtil.forIncidents(List.of(), 1)).matches("\"[A-Za-z0-9_-]{43}\"");
+  }
+
+  @Test
+  void matchesExactWeakAndWildcardTags() {
+    String etag = "\"3-1700000000\"";
+
+    assertThat(ETagUtil.matches("\"3-1700000000\"", etag)).isTrue();
+    assertThat(ETagUtil.matches("W/\"3-1700000000\"", etag)).isTrue();
+    assertThat(ETagUtil.matches("\"1-1\", \"3-1700000000\"", etag)).isTrue();
+    assertThat(ETagUtil.matches("*", etag)).isTrue();
+  }
+
+  @Test
+  void doesNotMatchOtherOrMissingTags() {
+    String etag = "\"3-1700000000\"";
+
+    assertThat(ETagUtil.matches("\"2-1700000000\"", etag)).isFalse();
+    assertThat(ETagUtil.matches("3-1700000000", etag)).isFalse();
+    assertThat(ETagUtil.matches(null, etag)).isFalse();
+    assertThat(ETagUtil.matches("*", null)).isFalse();
+  }
+
+  private static Incident incident(String id, Long version, Long updatedAt) {
+    Incident incident = new Incident();
+    incident.setId(id);
+    incident.setVersion(version);
+    incident.setUpdatedAt(updatedAt);
+    return incident;
+  }
+}